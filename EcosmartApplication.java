@@ -2,8 +2,10 @@ package com.ecosmart.eco;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EcosmartApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,81 @@
+package com.ecosmart.eco;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class HibernateConfig implements HibernatePropertiesCustomizer {
+
+    // Deve ser igual ao allocationSize dos @SequenceGenerator das entidades
+    public static final int TAMANHO_LOTE = 50;
+
+    // Regiões do cache de segundo nível (nomes usados nos @Cache das entidades) e máximo de entradas
+    private static final Map<String, Long> REGIOES = Map.of(
+            "ambiente", 10_000L,
+            "objeto", 50_000L,
+            "usuario", 10_000L,
+            "ambiente.objetos", 10_000L,
+            "ambiente.usuarios", 10_000L,
+            "usuario.ambientes", 10_000L,
+            "default-query-results-region", 10_000L);
+
+    // Guarda o instante da última escrita em cada tabela - não pode expirar nem ser descartada
+    private static final String REGIAO_TIMESTAMPS = "default-update-timestamps-region";
+
+    private static final Duration TEMPO_DE_VIDA = Duration.ofMinutes(10);
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        // Agrupa INSERT/UPDATE em lotes JDBC (só funciona com IDs de sequence, não IDENTITY)
+        hibernateProperties.put("hibernate.jdbc.batch_size", TAMANHO_LOTE);
+        hibernateProperties.put("hibernate.order_inserts", true);
+        hibernateProperties.put("hibernate.order_updates", true);
+
+        // Reserva blocos de IDs com uma ida ao banco por bloco (o valor gravado é o início do próximo bloco)
+        hibernateProperties.put("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+
+        // Cache de segundo nível e de consultas (JCache com Ehcache em memória local)
+        // Consultas em cache são invalidadas quando qualquer tabela envolvida é alterada pelo Hibernate
+        hibernateProperties.put("hibernate.cache.use_second_level_cache", true);
+        hibernateProperties.put("hibernate.cache.use_query_cache", true);
+        hibernateProperties.put("hibernate.cache.region.factory_class", "jcache");
+        hibernateProperties.put("hibernate.javax.cache.cache_manager", cacheManagerHibernate());
+        hibernateProperties.put("hibernate.javax.cache.missing_cache_strategy", "create-warn");
+        // Alterar Objeto.ambiente / Usuario.ambientes invalida também a coleção do outro lado
+        hibernateProperties.put("hibernate.cache.auto_evict_collection_cache", true);
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerHibernate() {
+        CacheManager cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+                .getCacheManager();
+
+        REGIOES.forEach((regiao, entradas) -> criarRegiao(cacheManager, regiao,
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(entradas))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(TEMPO_DE_VIDA))));
+        criarRegiao(cacheManager, REGIAO_TIMESTAMPS,
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(1_000))
+                        .withExpiry(ExpiryPolicyBuilder.noExpiration()));
+        return cacheManager;
+    }
+
+    private static void criarRegiao(CacheManager cacheManager, String regiao,
+                                    CacheConfigurationBuilder<Object, Object> configuracao) {
+        if (cacheManager.getCache(regiao) == null) {
+            cacheManager.createCache(regiao, Eh107Configuration.fromEhcacheCacheConfiguration(configuracao));
+        }
+    }
+}
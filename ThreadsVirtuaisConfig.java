@@ -0,0 +1,99 @@
+package com.ecosmart.eco;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Modo opcional de threads virtuais (JDK 21+): ecosmart.threads-virtuais.habilitado=true
+ *
+ * Cada requisição do Tomcat (e as tarefas assíncronas do MVC) roda em uma thread virtual nova,
+ * então esperar pelo banco não ocupa mais uma thread do pool de 200 do Tomcat. O limite de
+ * concorrência passa a ser o pool de conexões, dimensionado aqui pelo que o banco aguenta
+ * (e não pelo número de threads), com tempo curto de espera por conexão.
+ * Trechos synchronized que fazem I/O prendem a thread virtual à portadora (pinning) -
+ * o MonitorPinning registra as ocorrências. Conhecidos:
+ * - IndiceBuscaService.reconstruir e AuditoriaService.gravarPendentes seguram o monitor
+ *   durante JDBC, mas rodam no agendador e na thread de gravação (threads de plataforma);
+ *   só a chamada do encerramento/inicialização passa pela thread do contexto
+ * - o driver MySQL anterior ao Connector/J 8.0.33 usa synchronized na conexão - com ele,
+ *   toda consulta em thread virtual prende a portadora
+ * O carregamento do buffer de telemetria (TelemetriaService) não usa mais monitor.
+ *
+ * O executor é criado por reflexão: a aplicação continua compilando e rodando em JDK 17 com o
+ * modo desligado; ligado em um JDK sem threads virtuais, a inicialização falha com a explicação.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ecosmart.threads-virtuais.habilitado", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    private static final Logger logger = Logger.getLogger(ThreadsVirtuaisConfig.class.getName());
+
+    // Conexões fixas no pool - ajuste pela capacidade do MySQL, não pela carga esperada
+    private static final int CONEXOES_PADRAO = 20;
+
+    // Espera máxima por uma conexão livre (o padrão do Hikari, 30 s, só acumula requisições num pico)
+    private static final long ESPERA_CONEXAO_PADRAO_MS = 5_000;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> executorTomcatThreadsVirtuais() {
+        return protocolHandler -> protocolHandler.setExecutor(novoExecutorThreadsVirtuais());
+    }
+
+    // Substitui o executor padrão (Callable/DeferredResult do MVC e @Async)
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(novoExecutorThreadsVirtuais());
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() (JDK 21) sem depender dele para compilar
+     */
+    static ExecutorService novoExecutorThreadsVirtuais() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("ecosmart.threads-virtuais.habilitado=true exige JDK 21 ou superior "
+                    + "(JDK atual: " + Runtime.version() + ")", e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais", e);
+        }
+    }
+
+    /**
+     * Pool fixo (mínimo = máximo) para um pico não abrir conexões em rajada
+     * Estático: BeanPostProcessor precisa existir antes dos demais beans da configuração
+     */
+    @Bean
+    public static BeanPostProcessor poolConexoesThreadsVirtuais(Environment ambiente) {
+        int conexoes = ambiente.getProperty("ecosmart.threads-virtuais.conexoes", Integer.class, CONEXOES_PADRAO);
+        long esperaMs = ambiente.getProperty("ecosmart.threads-virtuais.espera-conexao-ms", Long.class,
+                ESPERA_CONEXAO_PADRAO_MS);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                // O pool só é iniciado na primeira conexão - ainda dá para alterar a configuração
+                if (bean instanceof HikariDataSource hikari) {
+                    hikari.setMaximumPoolSize(conexoes);
+                    hikari.setMinimumIdle(conexoes);
+                    hikari.setConnectionTimeout(esperaMs);
+                    logger.info(String.format("Threads virtuais: pool de conexões fixo em %d, espera máxima %d ms",
+                            conexoes, esperaMs));
+                }
+                return bean;
+            }
+        };
+    }
+}
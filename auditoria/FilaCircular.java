@@ -0,0 +1,111 @@
+package com.ecosmart.eco.auditoria;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada e sem lock para vários produtores e consumidores
+ *
+ * Cada posição tem um número de sequência que diz se ela está livre para o produtor da
+ * volta atual ou preenchida para o consumidor - produtores só disputam um CAS na cauda.
+ * Cheia, a inclusão falha na hora em vez de bloquear quem produz.
+ */
+public class FilaCircular<E> {
+
+    private final int mascara;
+    private final AtomicReferenceArray<E> itens;
+    private final AtomicLongArray sequencias;
+    private final AtomicLong cauda = new AtomicLong();
+    private final AtomicLong cabeca = new AtomicLong();
+
+    /**
+     * @param capacidade arredondada para a próxima potência de 2
+     */
+    public FilaCircular(int capacidade) {
+        if (capacidade < 2) {
+            throw new IllegalArgumentException("Capacidade da fila deve ser pelo menos 2");
+        }
+        int tamanho = Integer.highestOneBit(capacidade - 1) << 1;
+        this.mascara = tamanho - 1;
+        this.itens = new AtomicReferenceArray<>(tamanho);
+        this.sequencias = new AtomicLongArray(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            sequencias.set(i, i);
+        }
+    }
+
+    /**
+     * @return false se a fila estiver cheia
+     */
+    public boolean oferecer(E item) {
+        long posicao = cauda.get();
+        while (true) {
+            int indice = (int) (posicao & mascara);
+            long diferenca = sequencias.get(indice) - posicao;
+            if (diferenca == 0) {
+                if (cauda.compareAndSet(posicao, posicao + 1)) {
+                    itens.set(indice, item);
+                    sequencias.set(indice, posicao + 1);
+                    return true;
+                }
+                posicao = cauda.get();
+            } else if (diferenca < 0) {
+                return false;
+            } else {
+                posicao = cauda.get();
+            }
+        }
+    }
+
+    /**
+     * @return o item mais antigo, ou null se a fila estiver vazia
+     */
+    public E retirar() {
+        long posicao = cabeca.get();
+        while (true) {
+            int indice = (int) (posicao & mascara);
+            long diferenca = sequencias.get(indice) - (posicao + 1);
+            if (diferenca == 0) {
+                if (cabeca.compareAndSet(posicao, posicao + 1)) {
+                    E item = itens.get(indice);
+                    itens.set(indice, null);
+                    // Libera a posição para o produtor da próxima volta
+                    sequencias.set(indice, posicao + mascara + 1);
+                    return item;
+                }
+                posicao = cabeca.get();
+            } else if (diferenca < 0) {
+                return null;
+            } else {
+                posicao = cabeca.get();
+            }
+        }
+    }
+
+    /**
+     * Retira até maximo itens para a lista
+     * @return quantidade retirada
+     */
+    public int drenar(List<E> destino, int maximo) {
+        int retirados = 0;
+        E item;
+        while (retirados < maximo && (item = retirar()) != null) {
+            destino.add(item);
+            retirados++;
+        }
+        return retirados;
+    }
+
+    /**
+     * Quantidade aproximada de itens (exata só sem operações concorrentes)
+     */
+    public int tamanho() {
+        return (int) Math.max(0, cauda.get() - cabeca.get());
+    }
+
+    public int capacidade() {
+        return mascara + 1;
+    }
+}
@@ -0,0 +1,220 @@
+package com.ecosmart.eco.benchmark;
+
+import com.ecosmart.eco.dto.AmbienteCompleto;
+import com.ecosmart.eco.dto.AmbienteResumo;
+import com.ecosmart.eco.dto.ObjetoResumo;
+import com.ecosmart.eco.dto.RelatorioResumo;
+import com.ecosmart.eco.dto.UsuarioCompleto;
+import com.ecosmart.eco.dto.UsuarioResumo;
+import com.ecosmart.eco.metricas.Histograma;
+import com.ecosmart.eco.service.AmbienteService;
+import com.ecosmart.eco.service.UsuarioService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Compara a carga do ambiente/usuário completo:
+ * - consulta única com JOIN das coleções (produto cartesiano, como o antigo findByIdComplete)
+ * - uma consulta por coleção (o que /api/ambientes/{id}/completo e /api/usuarios/{id}/completo usam hoje)
+ *
+ * Os dois lados leem as mesmas colunas das projeções (ObjetoResumo, UsuarioResumo, ...) e
+ * montam o mesmo DTO, sem entidades no contexto de persistência - a única diferença é o
+ * produto cartesiano das junções.
+ *
+ * Só roda com o perfil "benchmark", escreve o resultado no log e encerra a aplicação:
+ *   --spring.profiles.active=benchmark --ecosmart.benchmark.ambiente-id=1 --ecosmart.benchmark.usuario-id=1
+ * Use um ambiente/usuário com muitos objetos, usuários e relatórios para ver a diferença.
+ */
+@Component
+@Profile("benchmark")
+public class BenchmarkConsultasCompletas implements ApplicationRunner {
+
+    private static final Logger logger = Logger.getLogger(BenchmarkConsultasCompletas.class.getName());
+
+    // Mesmas junções do antigo findByIdComplete, projetando as colunas de AmbienteCompleto
+    // (o usuário do relatório entra para preencher RelatorioResumo, como em findResumosPorAmbienteId)
+    private static final String AMBIENTE_CONSULTA_UNICA = "SELECT a.idAmbiente, a.nome, a.descricao, " +
+            "o.idObjeto, o.nomeObjeto, o.tipoObjeto, o.potencia, o.tempoUso, o.status, o.ativo, " +
+            "u.id_usuario, u.nome, u.email, r.idRelatorio, ru.id_usuario, ru.nome FROM Ambiente a " +
+            "LEFT JOIN a.objetos o LEFT JOIN a.usuarios u LEFT JOIN a.relatorios r LEFT JOIN r.usuario ru " +
+            "WHERE a.idAmbiente = :id";
+
+    private static final String USUARIO_CONSULTA_UNICA = "SELECT u.id_usuario, u.nome, u.email, " +
+            "a.idAmbiente, a.nome, a.descricao, a.qtdObjetos, a.qtdUsuarios, a.qtdRelatorios, " +
+            "r.idRelatorio, ra.idAmbiente, ra.nome FROM Usuario u " +
+            "LEFT JOIN u.ambientes a LEFT JOIN u.relatorios r LEFT JOIN r.ambiente ra WHERE u.id_usuario = :id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AmbienteService ambienteService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private ConfigurableApplicationContext contexto;
+
+    @Value("${ecosmart.benchmark.ambiente-id:#{null}}")
+    private Integer ambienteId;
+
+    @Value("${ecosmart.benchmark.usuario-id:#{null}}")
+    private Integer usuarioId;
+
+    @Value("${ecosmart.benchmark.aquecimento:10}")
+    private int aquecimento;
+
+    @Value("${ecosmart.benchmark.repeticoes:50}")
+    private int repeticoes;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public BenchmarkConsultasCompletas(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (ambienteId != null) {
+            medir("ambiente " + ambienteId + " - consulta única", () -> ambienteConsultaUnica(ambienteId));
+            medir("ambiente " + ambienteId + " - consulta por coleção", () -> ambienteService.buscarCompleto(ambienteId)
+                    .map(BenchmarkConsultasCompletas::linhas).orElse(0));
+        }
+        if (usuarioId != null) {
+            medir("usuário " + usuarioId + " - consulta única", () -> usuarioConsultaUnica(usuarioId));
+            medir("usuário " + usuarioId + " - consulta por coleção", () -> usuarioService.buscarCompleto(usuarioId)
+                    .map(BenchmarkConsultasCompletas::linhas).orElse(0));
+        }
+        if (ambienteId == null && usuarioId == null) {
+            logger.warning("Informe ecosmart.benchmark.ambiente-id e/ou ecosmart.benchmark.usuario-id");
+        }
+
+        System.exit(SpringApplication.exit(contexto, () -> 0));
+    }
+
+    /**
+     * Executa a carga (cada execução na sua transação, com contexto de persistência novo)
+     * e registra as linhas lidas e a latência
+     */
+    private void medir(String nome, IntSupplier carga) {
+        for (int i = 0; i < aquecimento; i++) {
+            executar(carga);
+        }
+
+        Histograma latencias = new Histograma();
+        int linhas = 0;
+        for (int i = 0; i < repeticoes; i++) {
+            long inicio = System.nanoTime();
+            linhas = executar(carga);
+            latencias.registrar(System.nanoTime() - inicio);
+        }
+
+        Histograma.Resumo resumo = latencias.resumo();
+        logger.info(String.format("%s: %d linhas | p50 %.2f ms | p99 %.2f ms | máx %.2f ms (%d execuções)",
+                nome, linhas, resumo.p50() / 1e6, resumo.p99() / 1e6, resumo.maximo() / 1e6, resumo.contagem()));
+    }
+
+    private int executar(IntSupplier carga) {
+        Integer linhas = transactionTemplate.execute(status -> carga.getAsInt());
+        return linhas != null ? linhas : 0;
+    }
+
+    // Linhas lidas pela consulta única; o DTO é montado como na resposta da API
+    private int ambienteConsultaUnica(Integer id) {
+        List<Object[]> registros = consultar(AMBIENTE_CONSULTA_UNICA, id);
+        return montarAmbiente(id, registros) != null ? registros.size() : 0;
+    }
+
+    private int usuarioConsultaUnica(Integer id) {
+        List<Object[]> registros = consultar(USUARIO_CONSULTA_UNICA, id);
+        return montarUsuario(id, registros) != null ? registros.size() : 0;
+    }
+
+    private List<Object[]> consultar(String consulta, Integer id) {
+        return entityManager.createQuery(consulta, Object[].class)
+                .setParameter("id", id)
+                .getResultList();
+    }
+
+    /**
+     * Monta o AmbienteCompleto a partir do produto cartesiano, descartando as repetições
+     * (null quando o ambiente não existe)
+     */
+    private static AmbienteCompleto montarAmbiente(Integer id, List<Object[]> registros) {
+        if (registros.isEmpty()) {
+            return null;
+        }
+        Map<Integer, ObjetoResumo> objetos = new LinkedHashMap<>();
+        Map<Integer, UsuarioResumo> usuarios = new LinkedHashMap<>();
+        Map<Integer, RelatorioResumo> relatorios = new LinkedHashMap<>();
+        for (Object[] registro : registros) {
+            if (registro[3] != null) {
+                objetos.putIfAbsent((Integer) registro[3], new ObjetoResumo((Integer) registro[3],
+                        (String) registro[4], (String) registro[5], (Integer) registro[6], (Double) registro[7],
+                        (String) registro[8], (Integer) registro[9], id));
+            }
+            if (registro[10] != null) {
+                usuarios.putIfAbsent((Integer) registro[10], new UsuarioResumo((Integer) registro[10],
+                        (String) registro[11], (String) registro[12]));
+            }
+            if (registro[13] != null) {
+                relatorios.putIfAbsent((Integer) registro[13], new RelatorioResumo((Integer) registro[13], id,
+                        (String) registro[1], (Integer) registro[14], (String) registro[15]));
+            }
+        }
+        Object[] primeiro = registros.get(0);
+        return new AmbienteCompleto(id, (String) primeiro[1], (String) primeiro[2],
+                new ArrayList<>(objetos.values()), new ArrayList<>(usuarios.values()),
+                new ArrayList<>(relatorios.values()));
+    }
+
+    private static UsuarioCompleto montarUsuario(Integer id, List<Object[]> registros) {
+        if (registros.isEmpty()) {
+            return null;
+        }
+        Map<Integer, AmbienteResumo> ambientes = new LinkedHashMap<>();
+        Map<Integer, RelatorioResumo> relatorios = new LinkedHashMap<>();
+        for (Object[] registro : registros) {
+            if (registro[3] != null) {
+                ambientes.putIfAbsent((Integer) registro[3], new AmbienteResumo((Integer) registro[3],
+                        (String) registro[4], (String) registro[5], ((Number) registro[6]).intValue(),
+                        ((Number) registro[7]).intValue(), ((Number) registro[8]).intValue()));
+            }
+            if (registro[9] != null) {
+                relatorios.putIfAbsent((Integer) registro[9], new RelatorioResumo((Integer) registro[9],
+                        (Integer) registro[10], (String) registro[11], id, (String) registro[1]));
+            }
+        }
+        Object[] primeiro = registros.get(0);
+        return new UsuarioCompleto(id, (String) primeiro[1], (String) primeiro[2],
+                new ArrayList<>(ambientes.values()), new ArrayList<>(relatorios.values()));
+    }
+
+    // Linhas lidas por consulta por coleção: a linha principal + uma por item de cada coleção
+    private static int linhas(AmbienteCompleto ambiente) {
+        return 1 + ambiente.getObjetos().size() + ambiente.getUsuarios().size() + ambiente.getRelatorios().size();
+    }
+
+    private static int linhas(UsuarioCompleto usuario) {
+        return 1 + usuario.getAmbientes().size() + usuario.getRelatorios().size();
+    }
+}
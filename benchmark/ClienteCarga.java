@@ -0,0 +1,107 @@
+package com.ecosmart.eco.benchmark;
+
+import com.ecosmart.eco.metricas.Histograma;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Gerador de carga HTTP com muitos clientes simultâneos, em um processo separado do servidor
+ * (não é um bean - gerador e servidor na mesma JVM disputam CPU e distorcem a comparação)
+ *
+ * Para comparar os modos, suba a aplicação duas vezes (sem e com
+ * --ecosmart.threads-virtuais.habilitado=true) e rode, de outra máquina de preferência:
+ *   java -cp target/classes com.ecosmart.eco.benchmark.ClienteCarga \
+ *       http://servidor:8080/api/ambientes?limite=20 1000 10 30 30
+ * Argumentos (todos opcionais): url, clientes, aquecimento (s), duração (s), timeout (s).
+ * Cada cliente repete GET até o fim do tempo (carga fechada, sem pausa entre requisições);
+ * as requisições são assíncronas, então poucas threads sustentam milhares de clientes.
+ */
+public class ClienteCarga {
+
+    private static final Logger logger = Logger.getLogger(ClienteCarga.class.getName());
+
+    public static void main(String[] args) throws InterruptedException {
+        URI uri = URI.create(argumento(args, 0, "http://localhost:8080/api/ambientes?limite=20"));
+        int clientes = Integer.parseInt(argumento(args, 1, "1000"));
+        int aquecimentoSegundos = Integer.parseInt(argumento(args, 2, "10"));
+        int duracaoSegundos = Integer.parseInt(argumento(args, 3, "30"));
+        int timeoutSegundos = Integer.parseInt(argumento(args, 4, "30"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            HttpClient cliente = HttpClient.newBuilder()
+                    .executor(executor)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(timeoutSegundos))
+                    .build();
+            HttpRequest requisicao = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(timeoutSegundos))
+                    .GET()
+                    .build();
+
+            logger.info(String.format("Carga em %s: %d clientes, aquecimento %d s, medição %d s",
+                    uri, clientes, aquecimentoSegundos, duracaoSegundos));
+            executar(cliente, requisicao, clientes, aquecimentoSegundos, new Histograma(), new LongAdder());
+
+            Histograma latencias = new Histograma();
+            LongAdder erros = new LongAdder();
+            long inicio = System.nanoTime();
+            executar(cliente, requisicao, clientes, duracaoSegundos, latencias, erros);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            Histograma.Resumo resumo = latencias.resumo();
+            logger.info(String.format("%d clientes: %.0f req/s | p50 %.2f ms | p99 %.2f ms | máx %.2f ms | "
+                            + "%d respostas, %d erros",
+                    clientes, resumo.contagem() / segundos, resumo.p50() / 1e6, resumo.p99() / 1e6,
+                    resumo.maximo() / 1e6, resumo.contagem(), erros.sum()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Inicia os clientes e espera todos terminarem depois do prazo
+     * Só respostas 2xx entram no histograma; falhas e outros status contam como erro
+     */
+    private static void executar(HttpClient cliente, HttpRequest requisicao, int clientes, int segundos,
+                                 Histograma latencias, LongAdder erros) throws InterruptedException {
+        long prazo = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        CountDownLatch fim = new CountDownLatch(clientes);
+        for (int i = 0; i < clientes; i++) {
+            proxima(cliente, requisicao, prazo, latencias, erros, fim);
+        }
+        fim.await();
+    }
+
+    // Cada resposta dispara a próxima requisição do mesmo cliente
+    private static void proxima(HttpClient cliente, HttpRequest requisicao, long prazo,
+                                Histograma latencias, LongAdder erros, CountDownLatch fim) {
+        if (System.nanoTime() - prazo >= 0) {
+            fim.countDown();
+            return;
+        }
+        long inicio = System.nanoTime();
+        cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((resposta, erro) -> {
+                    if (erro == null && resposta.statusCode() / 100 == 2) {
+                        latencias.registrar(System.nanoTime() - inicio);
+                    } else {
+                        erros.increment();
+                    }
+                    proxima(cliente, requisicao, prazo, latencias, erros, fim);
+                });
+    }
+
+    private static String argumento(String[] args, int indice, String padrao) {
+        return args.length > indice ? args[indice] : padrao;
+    }
+}
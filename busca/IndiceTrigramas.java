@@ -0,0 +1,189 @@
+package com.ecosmart.eco.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas para busca "contém" sem LIKE '%x%'
+ *
+ * Cada texto é normalizado (minúsculas, sem acentos - como a collation do MySQL) e
+ * quebrado em trigramas; cada trigrama aponta para os IDs que o contêm. A busca percorre
+ * a menor lista entre os trigramas da consulta e confirma com contains() no texto.
+ * Consultas com menos de 3 caracteres percorrem os textos em memória.
+ *
+ * A reconstrução é feita fora do lock; alterações recebidas durante ela são reaplicadas
+ * no índice novo antes da troca.
+ */
+public class IndiceTrigramas {
+
+    private static final int N = 3;
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+    private static class Estrutura {
+        final Map<Integer, String> textos = new HashMap<>();
+        final Map<String, Set<Integer>> postagens = new HashMap<>();
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Estrutura estrutura = new Estrutura();
+    private Map<Integer, String> alteradosDuranteReconstrucao;
+
+    // ============================================================
+    // ESCRITA
+    // ============================================================
+
+    /**
+     * Indexa (ou reindexa) o texto do ID - texto nulo remove o ID
+     */
+    public void indexar(Integer id, String texto) {
+        lock.writeLock().lock();
+        try {
+            aplicar(estrutura, id, texto);
+            if (alteradosDuranteReconstrucao != null) {
+                alteradosDuranteReconstrucao.put(id, texto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Integer id) {
+        indexar(id, null);
+    }
+
+    /**
+     * Marca o início de uma reconstrução - chamar antes de consultar o banco
+     */
+    public void iniciarReconstrucao() {
+        lock.writeLock().lock();
+        try {
+            alteradosDuranteReconstrucao = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Monta o índice a partir dos textos lidos do banco e substitui o atual
+     */
+    public void concluirReconstrucao(Map<Integer, String> textos) {
+        Estrutura nova = new Estrutura();
+        textos.forEach((id, texto) -> aplicar(nova, id, texto));
+
+        lock.writeLock().lock();
+        try {
+            if (alteradosDuranteReconstrucao != null) {
+                alteradosDuranteReconstrucao.forEach((id, texto) -> aplicar(nova, id, texto));
+            }
+            estrutura = nova;
+            alteradosDuranteReconstrucao = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ============================================================
+    // BUSCA
+    // ============================================================
+
+    /**
+     * IDs cujo texto contém a consulta (ignorando maiúsculas e acentos), em ordem crescente
+     */
+    public List<Integer> buscar(String consulta) {
+        String termo = normalizar(consulta);
+        List<Integer> ids = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (termo.length() < N) {
+                estrutura.textos.forEach((id, texto) -> {
+                    if (texto.contains(termo)) {
+                        ids.add(id);
+                    }
+                });
+            } else {
+                Set<Integer> menor = null;
+                for (String trigrama : trigramas(termo)) {
+                    Set<Integer> postagem = estrutura.postagens.get(trigrama);
+                    if (postagem == null) {
+                        return List.of();
+                    }
+                    if (menor == null || postagem.size() < menor.size()) {
+                        menor = postagem;
+                    }
+                }
+                for (Integer id : menor) {
+                    if (estrutura.textos.get(id).contains(termo)) {
+                        ids.add(id);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Collections.sort(ids);
+        return ids;
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return estrutura.textos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Minúsculas e sem acentos - a mesma comparação usada no índice
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    // ============================================================
+    // AUXILIARES
+    // ============================================================
+
+    private static void aplicar(Estrutura alvo, Integer id, String texto) {
+        String anterior = alvo.textos.remove(id);
+        if (anterior != null) {
+            for (String trigrama : trigramas(anterior)) {
+                Set<Integer> postagem = alvo.postagens.get(trigrama);
+                if (postagem != null && postagem.remove(id) && postagem.isEmpty()) {
+                    alvo.postagens.remove(trigrama);
+                }
+            }
+        }
+
+        if (texto != null) {
+            String normalizado = normalizar(texto);
+            alvo.textos.put(id, normalizado);
+            for (String trigrama : trigramas(normalizado)) {
+                alvo.postagens.computeIfAbsent(trigrama, t -> new HashSet<>()).add(id);
+            }
+        }
+    }
+
+    private static Set<String> trigramas(String texto) {
+        Set<String> resultado = new HashSet<>();
+        for (int i = 0; i + N <= texto.length(); i++) {
+            resultado.add(texto.substring(i, i + N));
+        }
+        return resultado;
+    }
+}
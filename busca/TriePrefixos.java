@@ -0,0 +1,253 @@
+package com.ecosmart.eco.busca;
+
+import com.ecosmart.eco.dto.Sugestao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Árvore de prefixos (trie) para autocompletar
+ *
+ * Os filhos de cada nó ficam em arrays ordenados (busca binária, pouca memória por nó).
+ * As sugestões saem em ordem alfabética do texto normalizado - textos mais curtos com o
+ * mesmo prefixo vêm primeiro - e a descida para assim que o limite é atingido, então o
+ * custo depende do tamanho do prefixo e do limite, não da quantidade de textos.
+ *
+ * Mesma normalização e mesma estratégia de reconstrução do IndiceTrigramas.
+ */
+public class TriePrefixos {
+
+    private static final No[] SEM_FILHOS = new No[0];
+    private static final char[] SEM_CHAVES = new char[0];
+
+    private static class No {
+        char[] chaves = SEM_CHAVES;
+        No[] filhos = SEM_FILHOS;
+        // IDs (ordenados) e texto original de cada entrada que termina neste nó
+        List<Sugestao> entradas;
+
+        No filho(char c) {
+            int i = Arrays.binarySearch(chaves, c);
+            return i >= 0 ? filhos[i] : null;
+        }
+
+        No filhoOuNovo(char c) {
+            int i = Arrays.binarySearch(chaves, c);
+            if (i >= 0) {
+                return filhos[i];
+            }
+            int posicao = -i - 1;
+            char[] novasChaves = new char[chaves.length + 1];
+            No[] novosFilhos = new No[filhos.length + 1];
+            System.arraycopy(chaves, 0, novasChaves, 0, posicao);
+            System.arraycopy(filhos, 0, novosFilhos, 0, posicao);
+            novasChaves[posicao] = c;
+            novosFilhos[posicao] = new No();
+            System.arraycopy(chaves, posicao, novasChaves, posicao + 1, chaves.length - posicao);
+            System.arraycopy(filhos, posicao, novosFilhos, posicao + 1, filhos.length - posicao);
+            chaves = novasChaves;
+            filhos = novosFilhos;
+            return novosFilhos[posicao];
+        }
+
+        void removerFilho(char c) {
+            int i = Arrays.binarySearch(chaves, c);
+            if (i < 0) {
+                return;
+            }
+            if (chaves.length == 1) {
+                chaves = SEM_CHAVES;
+                filhos = SEM_FILHOS;
+                return;
+            }
+            char[] novasChaves = new char[chaves.length - 1];
+            No[] novosFilhos = new No[filhos.length - 1];
+            System.arraycopy(chaves, 0, novasChaves, 0, i);
+            System.arraycopy(filhos, 0, novosFilhos, 0, i);
+            System.arraycopy(chaves, i + 1, novasChaves, i, chaves.length - i - 1);
+            System.arraycopy(filhos, i + 1, novosFilhos, i, filhos.length - i - 1);
+            chaves = novasChaves;
+            filhos = novosFilhos;
+        }
+
+        boolean vazio() {
+            return entradas == null && filhos.length == 0;
+        }
+    }
+
+    private static class Estrutura {
+        final No raiz = new No();
+        // Chave normalizada atual de cada ID (para remover/alterar)
+        final Map<Integer, String> chaves = new HashMap<>();
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Estrutura estrutura = new Estrutura();
+    private Map<Integer, String> alteradosDuranteReconstrucao;
+
+    // ============================================================
+    // ESCRITA
+    // ============================================================
+
+    /**
+     * Insere (ou altera) o texto do ID - texto nulo remove o ID
+     */
+    public void indexar(Integer id, String texto) {
+        lock.writeLock().lock();
+        try {
+            aplicar(estrutura, id, texto);
+            if (alteradosDuranteReconstrucao != null) {
+                alteradosDuranteReconstrucao.put(id, texto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Integer id) {
+        indexar(id, null);
+    }
+
+    public void iniciarReconstrucao() {
+        lock.writeLock().lock();
+        try {
+            alteradosDuranteReconstrucao = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void concluirReconstrucao(Map<Integer, String> textos) {
+        Estrutura nova = new Estrutura();
+        textos.forEach((id, texto) -> aplicar(nova, id, texto));
+
+        lock.writeLock().lock();
+        try {
+            if (alteradosDuranteReconstrucao != null) {
+                alteradosDuranteReconstrucao.forEach((id, texto) -> aplicar(nova, id, texto));
+            }
+            estrutura = nova;
+            alteradosDuranteReconstrucao = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ============================================================
+    // SUGESTÕES
+    // ============================================================
+
+    /**
+     * Até {limite} entradas cujo texto começa com o prefixo (ignorando maiúsculas e acentos)
+     */
+    public List<Sugestao> sugerir(String prefixo, int limite) {
+        return coletar(prefixo, limite, false);
+    }
+
+    /**
+     * Até {limite} textos distintos que começam com o prefixo (ID nulo)
+     */
+    public List<Sugestao> sugerirDistintos(String prefixo, int limite) {
+        return coletar(prefixo, limite, true);
+    }
+
+    private List<Sugestao> coletar(String prefixo, int limite, boolean distintos) {
+        String termo = IndiceTrigramas.normalizar(prefixo);
+        List<Sugestao> resultado = new ArrayList<>(limite);
+
+        lock.readLock().lock();
+        try {
+            No no = estrutura.raiz;
+            for (int i = 0; i < termo.length() && no != null; i++) {
+                no = no.filho(termo.charAt(i));
+            }
+            if (no != null) {
+                coletar(no, limite, distintos, resultado);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resultado;
+    }
+
+    private static void coletar(No no, int limite, boolean distintos, List<Sugestao> resultado) {
+        if (no.entradas != null && !no.entradas.isEmpty()) {
+            if (distintos) {
+                resultado.add(new Sugestao(null, no.entradas.get(0).getTexto()));
+            } else {
+                for (Sugestao entrada : no.entradas) {
+                    if (resultado.size() >= limite) {
+                        return;
+                    }
+                    resultado.add(new Sugestao(entrada.getId(), entrada.getTexto()));
+                }
+            }
+        }
+        for (No filho : no.filhos) {
+            if (resultado.size() >= limite) {
+                return;
+            }
+            coletar(filho, limite, distintos, resultado);
+        }
+    }
+
+    // ============================================================
+    // AUXILIARES
+    // ============================================================
+
+    private static void aplicar(Estrutura alvo, Integer id, String texto) {
+        String anterior = alvo.chaves.remove(id);
+        if (anterior != null) {
+            removerEntrada(alvo.raiz, anterior, id);
+        }
+
+        if (texto != null) {
+            String chave = IndiceTrigramas.normalizar(texto);
+            No no = alvo.raiz;
+            for (int i = 0; i < chave.length(); i++) {
+                no = no.filhoOuNovo(chave.charAt(i));
+            }
+            if (no.entradas == null) {
+                no.entradas = new ArrayList<>(1);
+            }
+            int posicao = 0;
+            while (posicao < no.entradas.size() && no.entradas.get(posicao).getId() < id) {
+                posicao++;
+            }
+            no.entradas.add(posicao, new Sugestao(id, texto));
+            alvo.chaves.put(id, chave);
+        }
+    }
+
+    /**
+     * Remove a entrada do ID e, na volta, os nós que ficaram sem entradas e sem filhos
+     * (sem isso a árvore só cresce com a troca de nomes e a descida visita ramos mortos)
+     */
+    private static void removerEntrada(No raiz, String chave, Integer id) {
+        No[] caminho = new No[chave.length() + 1];
+        caminho[0] = raiz;
+        for (int i = 0; i < chave.length(); i++) {
+            caminho[i + 1] = caminho[i].filho(chave.charAt(i));
+            if (caminho[i + 1] == null) {
+                return;
+            }
+        }
+
+        No no = caminho[chave.length()];
+        if (no.entradas == null) {
+            return;
+        }
+        no.entradas.removeIf(entrada -> entrada.getId().equals(id));
+        if (no.entradas.isEmpty()) {
+            no.entradas = null;
+        }
+
+        for (int i = chave.length(); i > 0 && caminho[i].vazio(); i--) {
+            caminho[i - 1].removerFilho(chave.charAt(i - 1));
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.ecosmart.eco.cache;
+
+import com.ecosmart.eco.dto.UsuarioResumo;
+import com.ecosmart.eco.model.Ambiente;
+import com.ecosmart.eco.service.AposCommit;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Caches de leitura de Objeto, Ambiente e das buscas de Usuario usados pelos services
+ *
+ * Entidades: só existência por ID e por nome, e a cópia de Ambiente para consultas que não
+ * alteram o registro (quem altera busca a entidade gerenciada no repositório). A cópia
+ * guarda só os campos simples (sem coleções LAZY) e uma cópia nova sai a cada leitura.
+ * Toda invalidação é feita na hora e repetida após o commit, para que uma leitura
+ * concorrente não guarde o estado anterior ao commit.
+ */
+@Component
+public class CacheEntidades {
+
+    @Value("${ecosmart.cache.capacidade:10000}")
+    private int capacidade;
+
+    @Value("${ecosmart.cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    private CacheLocal<Integer, Boolean> idsObjeto;
+    private CacheLocal<String, Boolean> nomesObjeto;
+    private CacheLocal<Integer, Optional<Ambiente>> ambientes;
+    private CacheLocal<Integer, Boolean> idsAmbiente;
+    private CacheLocal<String, Boolean> nomesAmbiente;
+
+    // Um cache por estratégia de busca de usuários (critério -> resultado)
+    private final Map<String, CacheLocal<String, List<UsuarioResumo>>> buscasUsuario = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void iniciar() {
+        idsObjeto = new CacheLocal<>("idsObjeto", capacidade, ttlMs);
+        nomesObjeto = new CacheLocal<>("nomesObjeto", capacidade, ttlMs);
+        ambientes = new CacheLocal<>("ambientes", capacidade, ttlMs);
+        idsAmbiente = new CacheLocal<>("idsAmbiente", capacidade, ttlMs);
+        nomesAmbiente = new CacheLocal<>("nomesAmbiente", capacidade, ttlMs);
+    }
+
+    // ============================================================
+    // OBJETO
+    // ============================================================
+
+    /**
+     * Existência por ID sem guardar a entidade (o ID de um objeto criado depois é invalidado no save)
+     */
+    public boolean existeObjeto(Integer id, Function<Integer, Boolean> carregador) {
+        return idsObjeto.obter(id, carregador);
+    }
+
+    public boolean existeNomeObjeto(String nome, Function<String, Boolean> carregador) {
+        return nomesObjeto.obter(nome, carregador);
+    }
+
+    /**
+     * Objeto criado ou alterado - o nome antigo também pode ter deixado de existir
+     */
+    public void invalidarObjeto(Integer id) {
+        aplicar(() -> {
+            if (id != null) {
+                idsObjeto.invalidar(id);
+            }
+            nomesObjeto.limpar();
+        });
+    }
+
+    public void invalidarObjetos(List<Integer> ids) {
+        aplicar(() -> {
+            ids.forEach(idsObjeto::invalidar);
+            nomesObjeto.limpar();
+        });
+    }
+
+    public void invalidarTodosObjetos() {
+        aplicar(() -> {
+            idsObjeto.limpar();
+            nomesObjeto.limpar();
+        });
+    }
+
+    // ============================================================
+    // AMBIENTE
+    // ============================================================
+
+    public Optional<Ambiente> ambiente(Integer id, Function<Integer, Optional<Ambiente>> carregador) {
+        return ambientes.obter(id, chave -> carregador.apply(chave).map(CacheEntidades::copiar))
+                .map(CacheEntidades::copiar);
+    }
+
+    /**
+     * Existência por ID sem guardar a entidade (o ID de um ambiente criado depois é invalidado no save)
+     */
+    public boolean existeAmbiente(Integer id, Function<Integer, Boolean> carregador) {
+        return idsAmbiente.obter(id, carregador);
+    }
+
+    public boolean existeNomeAmbiente(String nome, Function<String, Boolean> carregador) {
+        return nomesAmbiente.obter(nome, carregador);
+    }
+
+    public void invalidarAmbiente(Integer id) {
+        aplicar(() -> {
+            if (id != null) {
+                ambientes.invalidar(id);
+                idsAmbiente.invalidar(id);
+            }
+            nomesAmbiente.limpar();
+        });
+    }
+
+    /**
+     * Ambiente removido - os objetos dele são removidos em cascata
+     */
+    public void removerAmbiente(Integer id) {
+        invalidarAmbiente(id);
+        invalidarTodosObjetos();
+    }
+
+    // ============================================================
+    // USUARIO
+    // ============================================================
+
+    /**
+     * Resultado de uma estratégia de busca de usuários para o critério (projeção, sem a senha)
+     */
+    public List<UsuarioResumo> buscaUsuarios(String estrategia, String criterio,
+                                             Function<String, List<UsuarioResumo>> carregador) {
+        CacheLocal<String, List<UsuarioResumo>> cache = buscasUsuario.computeIfAbsent(estrategia,
+                nome -> new CacheLocal<>("usuarios." + nome, capacidade, ttlMs));
+        return copiar(cache.obter(criterio, chave -> copiar(carregador.apply(chave))));
+    }
+
+    /**
+     * Usuário criado, alterado ou removido - qualquer resultado de busca pode ter mudado
+     */
+    public void invalidarBuscasUsuario() {
+        aplicar(() -> buscasUsuario.values().forEach(CacheLocal::limpar));
+    }
+
+    // ============================================================
+    // ESTATÍSTICAS
+    // ============================================================
+
+    public List<CacheLocal.Estatisticas> estatisticas() {
+        List<CacheLocal.Estatisticas> estatisticas = new ArrayList<>(List.of(
+                idsObjeto.estatisticas(), nomesObjeto.estatisticas(),
+                ambientes.estatisticas(), idsAmbiente.estatisticas(), nomesAmbiente.estatisticas()));
+        buscasUsuario.values().forEach(cache -> estatisticas.add(cache.estatisticas()));
+        return estatisticas;
+    }
+
+    // ============================================================
+    // AUXILIARES
+    // ============================================================
+
+    private static void aplicar(Runnable invalidacao) {
+        invalidacao.run();
+        AposCommit.executar(invalidacao);
+    }
+
+    private static List<UsuarioResumo> copiar(List<UsuarioResumo> origem) {
+        List<UsuarioResumo> copia = new ArrayList<>(origem.size());
+        for (UsuarioResumo usuario : origem) {
+            copia.add(new UsuarioResumo(usuario.getIdUsuario(), usuario.getNome(), usuario.getEmail()));
+        }
+        return copia;
+    }
+
+    private static Ambiente copiar(Ambiente origem) {
+        Ambiente copia = new Ambiente();
+        copia.setIdAmbiente(origem.getIdAmbiente());
+        copia.setNome(origem.getNome());
+        copia.setDescricao(origem.getDescricao());
+        copia.setQtdObjetos(origem.getQtdObjetos());
+        copia.setQtdUsuarios(origem.getQtdUsuarios());
+        copia.setQtdRelatorios(origem.getQtdRelatorios());
+        return copia;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecosmart.eco.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache em memória limitado por tamanho (LRU) e por tempo de vida (TTL)
+ *
+ * Leitura com carga automática: na falha o valor é carregado fora do lock e guardado.
+ * Uma invalidação durante a carga descarta o valor carregado (pode estar desatualizado),
+ * controlado por um contador de geração. Valores nulos não são aceitos - use Optional.
+ */
+public class CacheLocal<K, V> {
+
+    private record Entrada<V>(V valor, long expiraEm) {
+    }
+
+    public record Estatisticas(String nome, int tamanho, long acertos, long falhas, long remocoes,
+                               double taxaAcerto) {
+    }
+
+    private final String nome;
+    private final long ttlNanos;
+    private final Map<K, Entrada<V>> entradas;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+    private final AtomicLong geracao = new AtomicLong();
+
+    public CacheLocal(String nome, int capacidade, long ttlMs) {
+        this.nome = nome;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        // accessOrder = true: a entrada menos usada recentemente é a primeira a sair
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> maisAntiga) {
+                if (size() > capacidade) {
+                    remocoes.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retorna o valor em cache ou carrega, guarda e retorna
+     */
+    public V obter(K chave, Function<K, V> carregador) {
+        long agora = System.nanoTime();
+        synchronized (entradas) {
+            Entrada<V> entrada = entradas.get(chave);
+            if (entrada != null) {
+                if (entrada.expiraEm() - agora > 0) {
+                    acertos.increment();
+                    return entrada.valor();
+                }
+                entradas.remove(chave);
+                remocoes.increment();
+            }
+        }
+
+        falhas.increment();
+        long geracaoInicial = geracao.get();
+        V valor = carregador.apply(chave);
+        synchronized (entradas) {
+            if (geracao.get() == geracaoInicial) {
+                entradas.put(chave, new Entrada<>(valor, System.nanoTime() + ttlNanos));
+            }
+        }
+        return valor;
+    }
+
+    public void invalidar(K chave) {
+        synchronized (entradas) {
+            geracao.incrementAndGet();
+            entradas.remove(chave);
+        }
+    }
+
+    public void limpar() {
+        synchronized (entradas) {
+            geracao.incrementAndGet();
+            entradas.clear();
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        int tamanho;
+        synchronized (entradas) {
+            tamanho = entradas.size();
+        }
+        long totalAcertos = acertos.sum();
+        long total = totalAcertos + falhas.sum();
+        return new Estatisticas(nome, tamanho, totalAcertos, falhas.sum(), remocoes.sum(),
+                total == 0 ? 0.0 : (double) totalAcertos / total);
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
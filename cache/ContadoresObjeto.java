@@ -0,0 +1,199 @@
+package com.ecosmart.eco.cache;
+
+import com.ecosmart.eco.dto.ClassificacaoObjeto;
+import com.ecosmart.eco.repository.ObjetoRepository;
+import com.ecosmart.eco.service.AposCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Contagem de objetos por tipo, status e ativo mantida em memória
+ *
+ * Carregada do banco na inicialização e atualizada a cada inclusão, alteração e remoção
+ * de Objeto, só depois do commit. Os endpoints /api/objetos/count/* leem daqui sem SQL.
+ * Alterações que não passam pelo ObjetoService podem desviar a contagem - a reconciliação
+ * periódica recarrega tudo do banco. Correções e recarga são coordenadas pela TravaCorrecoes,
+ * como no PainelAmbientes: nenhuma se perde nem é aplicada duas vezes durante a recarga.
+ *
+ * Tipo e status são comparados sem diferenciar maiúsculas, como na collation do MySQL.
+ */
+@Component
+public class ContadoresObjeto {
+
+    private static final Logger logger = Logger.getLogger(ContadoresObjeto.class.getName());
+
+    /**
+     * Contagens de um instante - trocada inteira na reconciliação
+     */
+    private static class Contagens {
+        final Map<String, LongAdder> porTipo = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> porStatus = new ConcurrentHashMap<>();
+        final Map<Integer, LongAdder> porAtivo = new ConcurrentHashMap<>();
+    }
+
+    @Autowired
+    private ObjetoRepository objetoRepository;
+
+    @Autowired
+    private TravaCorrecoes travaCorrecoes;
+
+    private volatile Contagens contagens = new Contagens();
+    private volatile boolean carregado;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        reconciliar();
+    }
+
+    // ============================================================
+    // CONSULTA
+    // ============================================================
+
+    /**
+     * @return quantidade de objetos do tipo, ou null se a contagem ainda não foi carregada
+     */
+    public Long contarPorTipo(String tipoObjeto) {
+        return carregado ? valor(contagens.porTipo, chave(tipoObjeto)) : null;
+    }
+
+    public Long contarPorStatus(String status) {
+        return carregado ? valor(contagens.porStatus, chave(status)) : null;
+    }
+
+    public Long contarPorAtivo(Integer ativo) {
+        return carregado ? valor(contagens.porAtivo, ativo) : null;
+    }
+
+    // ============================================================
+    // ATUALIZAÇÃO (APÓS O COMMIT)
+    // ============================================================
+
+    /**
+     * Objeto incluído (anterior = null), alterado ou removido (atual = null), aplicado na hora
+     * Para quem já está em um callback que segura TravaCorrecoes.correcoes()
+     */
+    public void aplicarAlteracao(ClassificacaoObjeto anterior, ClassificacaoObjeto atual) {
+        Contagens alvo = contagens;
+        if (anterior != null) {
+            aplicar(alvo, anterior, -1);
+        }
+        if (atual != null) {
+            aplicar(alvo, atual, 1);
+        }
+    }
+
+    public void registrarInclusoes(Collection<ClassificacaoObjeto> incluidos) {
+        AposCommit.executar(travaCorrecoes.correcoes(), () -> {
+            Contagens alvo = contagens;
+            incluidos.forEach(classificacao -> aplicar(alvo, classificacao, 1));
+        });
+    }
+
+    public void registrarRemocoes(Collection<ClassificacaoObjeto> removidos) {
+        AposCommit.executar(travaCorrecoes.correcoes(), () -> {
+            Contagens alvo = contagens;
+            removidos.forEach(classificacao -> aplicar(alvo, classificacao, -1));
+        });
+    }
+
+    /**
+     * Para alterações em cascata cujo efeito nos objetos não é conhecido
+     * Em outra thread: as consultas agrupadas não atrasam a resposta, e a requisição ainda
+     * segura a trava das próprias correções até o fim do commit
+     */
+    public void reconciliarAposCommit() {
+        AposCommit.executar(() -> CompletableFuture.runAsync(this::reconciliar));
+    }
+
+    // ============================================================
+    // RECONCILIAÇÃO
+    // ============================================================
+
+    /**
+     * Recarrega as contagens do banco (três consultas agrupadas) e substitui as atuais
+     */
+    @Scheduled(fixedDelayString = "${ecosmart.contadores.intervalo-reconciliacao-ms:300000}",
+            initialDelayString = "${ecosmart.contadores.intervalo-reconciliacao-ms:300000}")
+    public void reconciliar() {
+        // Trava em vez de synchronized: com threads virtuais não prende a thread portadora.
+        // Gravações com correção pendente esperam no commit enquanto as consultas rodam
+        travaCorrecoes.recarga().lock();
+        try {
+            Contagens novas = new Contagens();
+            carregar(novas.porTipo, objetoRepository.contarAgrupadoPorTipo(), valor -> chave((String) valor));
+            carregar(novas.porStatus, objetoRepository.contarAgrupadoPorStatus(), valor -> chave((String) valor));
+            carregar(novas.porAtivo, objetoRepository.contarAgrupadoPorAtivo(), valor -> (Integer) valor);
+
+            if (carregado) {
+                registrarDesvio("tipo", contagens.porTipo, novas.porTipo);
+                registrarDesvio("status", contagens.porStatus, novas.porStatus);
+                registrarDesvio("ativo", contagens.porAtivo, novas.porAtivo);
+            }
+            contagens = novas;
+            carregado = true;
+        } finally {
+            travaCorrecoes.recarga().unlock();
+        }
+    }
+
+    // ============================================================
+    // AUXILIARES
+    // ============================================================
+
+    private static void aplicar(Contagens alvo, ClassificacaoObjeto classificacao, int delta) {
+        incrementar(alvo.porTipo, chave(classificacao.getTipoObjeto()), delta);
+        incrementar(alvo.porStatus, chave(classificacao.getStatus()), delta);
+        incrementar(alvo.porAtivo, classificacao.getAtivo(), delta);
+    }
+
+    private static <K> void incrementar(Map<K, LongAdder> mapa, K chave, int delta) {
+        // ConcurrentHashMap não aceita chave nula - valores nulos não são contados (como no COUNT com "= :valor")
+        if (chave != null) {
+            mapa.computeIfAbsent(chave, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    private static <K> long valor(Map<K, LongAdder> mapa, K chave) {
+        LongAdder contador = chave != null ? mapa.get(chave) : null;
+        return contador != null ? Math.max(0, contador.sum()) : 0;
+    }
+
+    private static <K> void carregar(Map<K, LongAdder> mapa, List<Object[]> linhas, Function<Object, K> chave) {
+        for (Object[] linha : linhas) {
+            K valor = chave.apply(linha[0]);
+            if (valor != null) {
+                mapa.computeIfAbsent(valor, k -> new LongAdder()).add((Long) linha[1]);
+            }
+        }
+    }
+
+    private static <K> void registrarDesvio(String campo, Map<K, LongAdder> atual, Map<K, LongAdder> banco) {
+        long desvios = banco.entrySet().stream()
+                .filter(entrada -> valor(atual, entrada.getKey()) != entrada.getValue().sum())
+                .count();
+        desvios += atual.entrySet().stream()
+                .filter(entrada -> !banco.containsKey(entrada.getKey()) && entrada.getValue().sum() != 0)
+                .count();
+        if (desvios > 0) {
+            logger.info(String.format("Contadores por %s corrigidos na reconciliação: %d valores divergentes",
+                    campo, desvios));
+        }
+    }
+
+    private static String chave(String valor) {
+        return valor != null ? valor.toLowerCase(Locale.ROOT) : null;
+    }
+}
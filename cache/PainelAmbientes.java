@@ -0,0 +1,275 @@
+package com.ecosmart.eco.cache;
+
+import com.ecosmart.eco.dto.ClassificacaoObjeto;
+import com.ecosmart.eco.dto.Painel;
+import com.ecosmart.eco.dto.PainelAmbiente;
+import com.ecosmart.eco.model.Ambiente;
+import com.ecosmart.eco.repository.AmbienteRepository;
+import com.ecosmart.eco.service.AposCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Painel por ambiente (objetos, ativos, potência instalada, ligados/desligados) mantido em memória
+ *
+ * Carregado com uma única consulta agregada e corrigido a cada gravação de Objeto e Ambiente,
+ * só depois do commit - o GET /api/dashboard não faz SQL. O Painel montado é reaproveitado
+ * até a próxima correção. Como em ContadoresObjeto, alterações que não passam pelos serviços
+ * podem desviar os números - a reconciliação periódica recarrega tudo do banco.
+ *
+ * As correções seguram TravaCorrecoes.correcoes() do beforeCommit até serem aplicadas; a
+ * reconciliação segura a recarga() da consulta até a troca das linhas. Assim nenhuma gravação fica entre o
+ * commit e a correção durante a recarga: ou já está na consulta (e a correção foi no mapa
+ * antigo), ou é corrigida no mapa novo - nada se perde nem é aplicado duas vezes.
+ */
+@Component
+public class PainelAmbientes {
+
+    private static final Logger logger = Logger.getLogger(PainelAmbientes.class.getName());
+
+    // Chave da linha dos objetos sem ambiente (os IDs de ambiente começam em 1)
+    private static final int SEM_AMBIENTE = 0;
+
+    private static class Linha {
+        volatile String nome;
+        final LongAdder objetos = new LongAdder();
+        final LongAdder ativos = new LongAdder();
+        final LongAdder potencia = new LongAdder();
+        final LongAdder ligados = new LongAdder();
+        final LongAdder desligados = new LongAdder();
+    }
+
+    // Painel já montado e a versão das linhas que ele reflete
+    private record Montado(long versao, Painel painel) {
+    }
+
+    @Autowired
+    private AmbienteRepository ambienteRepository;
+
+    @Autowired
+    private TravaCorrecoes travaCorrecoes;
+
+    private volatile Map<Integer, Linha> linhas = new ConcurrentHashMap<>();
+    private volatile boolean carregado;
+
+
+    // Incrementada depois de cada correção - invalida o Painel montado
+    private final AtomicLong versao = new AtomicLong();
+    private volatile Montado montado;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        reconciliar();
+    }
+
+    // ============================================================
+    // CONSULTA
+    // ============================================================
+
+    public Painel obter() {
+        if (!carregado) {
+            reconciliar();
+        }
+        long atual = versao.get();
+        Montado anterior = montado;
+        if (anterior != null && anterior.versao() == atual) {
+            return anterior.painel();
+        }
+        // Uma correção durante a montagem muda a versão - o próximo GET monta de novo
+        Painel painel = montar(linhas);
+        montado = new Montado(atual, painel);
+        return painel;
+    }
+
+    // ============================================================
+    // ATUALIZAÇÃO (APÓS O COMMIT)
+    // ============================================================
+
+    /**
+     * Objeto incluído (anterior = null), alterado ou removido (atual = null)
+     */
+    public void registrarAlteracao(ClassificacaoObjeto anterior, ClassificacaoObjeto atual) {
+        if (Objects.equals(anterior, atual)) {
+            return;
+        }
+        AposCommit.executar(travaCorrecoes.correcoes(), () -> aplicarAlteracao(anterior, atual));
+    }
+
+    /**
+     * Aplica a alteração na hora - para quem já está em um callback que segura TravaCorrecoes.correcoes()
+     */
+    public void aplicarAlteracao(ClassificacaoObjeto anterior, ClassificacaoObjeto atual) {
+        Map<Integer, Linha> alvo = linhas;
+        if (anterior != null) {
+            aplicar(alvo, anterior, -1);
+        }
+        if (atual != null) {
+            aplicar(alvo, atual, 1);
+        }
+        versao.incrementAndGet();
+    }
+
+    public void registrarInclusoes(Collection<ClassificacaoObjeto> incluidos) {
+        if (incluidos.isEmpty()) {
+            return;
+        }
+        AposCommit.executar(travaCorrecoes.correcoes(), () -> {
+            Map<Integer, Linha> alvo = linhas;
+            incluidos.forEach(classificacao -> aplicar(alvo, classificacao, 1));
+            versao.incrementAndGet();
+        });
+    }
+
+    /**
+     * Ambiente incluído ou renomeado
+     */
+    public void registrarAmbiente(Ambiente ambiente) {
+        Integer id = ambiente.getIdAmbiente();
+        String nome = ambiente.getNome();
+        AposCommit.executar(travaCorrecoes.correcoes(), () -> {
+            linhas.computeIfAbsent(id, chave -> new Linha()).nome = nome;
+            versao.incrementAndGet();
+        });
+    }
+
+    /**
+     * Ambiente removido - os objetos dele saem em cascata junto com a linha
+     */
+    public void removerAmbiente(Integer id) {
+        AposCommit.executar(travaCorrecoes.correcoes(), () -> {
+            linhas.remove(id);
+            versao.incrementAndGet();
+        });
+    }
+
+    /**
+     * Para alterações em cascata cujo efeito nos objetos não é conhecido
+     * Em outra thread: a requisição ainda segura a trava das próprias correções até o fim do
+     * commit, e a reconciliação precisa dela em modo exclusivo
+     */
+    public void reconciliarAposCommit() {
+        AposCommit.executar(() -> CompletableFuture.runAsync(this::reconciliar));
+    }
+
+    // ============================================================
+    // RECONCILIAÇÃO
+    // ============================================================
+
+    /**
+     * Recarrega todas as linhas do banco (uma consulta agregada) e substitui as atuais
+     */
+    @Scheduled(fixedDelayString = "${ecosmart.painel.intervalo-reconciliacao-ms:300000}",
+            initialDelayString = "${ecosmart.painel.intervalo-reconciliacao-ms:300000}")
+    public void reconciliar() {
+        // Também roda na requisição (obter() antes da carga) - ver ContadoresObjeto
+        // Gravações com correção pendente esperam no commit enquanto a consulta roda
+        travaCorrecoes.recarga().lock();
+        try {
+            Map<Integer, Linha> novas = new ConcurrentHashMap<>();
+            for (Object[] registro : ambienteRepository.findPainel()) {
+                Linha linha = novas.computeIfAbsent(chave((Integer) registro[0]), id -> new Linha());
+                linha.nome = (String) registro[1];
+                linha.objetos.add(((Number) registro[2]).longValue());
+                linha.ativos.add(((Number) registro[3]).longValue());
+                linha.potencia.add(((Number) registro[4]).longValue());
+                linha.ligados.add(((Number) registro[5]).longValue());
+                linha.desligados.add(((Number) registro[6]).longValue());
+            }
+
+            if (carregado) {
+                registrarDesvio(linhas, novas);
+            }
+            linhas = novas;
+            carregado = true;
+            versao.incrementAndGet();
+        } finally {
+            travaCorrecoes.recarga().unlock();
+        }
+    }
+
+    // ============================================================
+    // AUXILIARES
+    // ============================================================
+
+    private static void aplicar(Map<Integer, Linha> alvo, ClassificacaoObjeto classificacao, int delta) {
+        Linha linha = alvo.computeIfAbsent(chave(classificacao.getIdAmbiente()), id -> new Linha());
+        linha.objetos.add(delta);
+        if (Integer.valueOf(1).equals(classificacao.getAtivo())) {
+            linha.ativos.add(delta);
+        }
+        if (classificacao.getPotencia() != null) {
+            linha.potencia.add((long) classificacao.getPotencia() * delta);
+        }
+        // Mesma comparação da consulta (LOWER) - outros status não entram no on/off
+        if ("ligado".equalsIgnoreCase(classificacao.getStatus())) {
+            linha.ligados.add(delta);
+        } else if ("desligado".equalsIgnoreCase(classificacao.getStatus())) {
+            linha.desligados.add(delta);
+        }
+    }
+
+    private static Painel montar(Map<Integer, Linha> linhas) {
+        List<PainelAmbiente> porAmbiente = new ArrayList<>(linhas.size());
+        long ambientes = 0;
+        long objetos = 0, ativos = 0, potencia = 0, ligados = 0, desligados = 0;
+        for (Map.Entry<Integer, Linha> entrada : linhas.entrySet()) {
+            PainelAmbiente item = resumo(entrada.getKey(), entrada.getValue());
+            if (item.getIdAmbiente() != null) {
+                ambientes++;
+            } else if (item.getObjetos() == 0) {
+                continue;
+            }
+            porAmbiente.add(item);
+            objetos += item.getObjetos();
+            ativos += item.getAtivos();
+            potencia += item.getPotenciaInstalada();
+            ligados += item.getLigados();
+            desligados += item.getDesligados();
+        }
+        // Ambientes por ID; a linha "sem ambiente" por último
+        porAmbiente.sort(Comparator.comparing(PainelAmbiente::getIdAmbiente,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return new Painel(Instant.now(), ambientes, objetos, ativos, potencia, ligados, desligados, porAmbiente);
+    }
+
+    private static PainelAmbiente resumo(int chave, Linha linha) {
+        return new PainelAmbiente(chave == SEM_AMBIENTE ? null : chave, linha.nome,
+                Math.max(0, linha.objetos.sum()), Math.max(0, linha.ativos.sum()),
+                Math.max(0, linha.potencia.sum()), Math.max(0, linha.ligados.sum()),
+                Math.max(0, linha.desligados.sum()));
+    }
+
+    private static void registrarDesvio(Map<Integer, Linha> atuais, Map<Integer, Linha> banco) {
+        long desvios = banco.entrySet().stream()
+                .filter(entrada -> {
+                    Linha atual = atuais.get(entrada.getKey());
+                    return atual == null
+                            || !resumo(entrada.getKey(), atual).equals(resumo(entrada.getKey(), entrada.getValue()));
+                })
+                .count();
+        desvios += atuais.keySet().stream().filter(id -> !banco.containsKey(id)).count();
+        if (desvios > 0) {
+            logger.info(String.format("Painel corrigido na reconciliação: %d ambientes divergentes", desvios));
+        }
+    }
+
+    private static int chave(Integer idAmbiente) {
+        return idAmbiente != null ? idAmbiente : SEM_AMBIENTE;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecosmart.eco.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trava compartilhada pelos números em memória corrigidos após o commit
+ * (ContadoresObjeto e PainelAmbientes)
+ *
+ * Correções seguram a leitura do beforeCommit até serem aplicadas - ver
+ * AposCommit.executar(Lock, Runnable); recargas do banco seguram a escrita da consulta até a
+ * troca. Uma trava só para os dois porque a mesma gravação de Objeto corrige ambos no mesmo
+ * callback.
+ */
+@Component
+public class TravaCorrecoes {
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    public Lock correcoes() {
+        return trava.readLock();
+    }
+
+    public Lock recarga() {
+        return trava.writeLock();
+    }
+}
@@ -1,13 +1,24 @@
 package com.ecosmart.eco.controller;
 
+import com.ecosmart.eco.dto.AmbienteCompleto;
+import com.ecosmart.eco.dto.AmbienteResumo;
+import com.ecosmart.eco.dto.ConsumoDetalhado;
+import com.ecosmart.eco.dto.ConsumoPorTipo;
+import com.ecosmart.eco.dto.ObjetoResumo;
+import com.ecosmart.eco.dto.PaginaCursor;
+import com.ecosmart.eco.dto.Sugestao;
 import com.ecosmart.eco.model.Ambiente;
 import com.ecosmart.eco.model.Objeto;
 import com.ecosmart.eco.service.AmbienteService;
+import com.ecosmart.eco.service.ConsumoService;
+import com.ecosmart.eco.service.EventosObjetoService;
 import com.ecosmart.eco.service.ObjetoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,11 +33,18 @@ public class AmbienteController {
     @Autowired
     private ObjetoService objetoService;
 
-    // GET /api/ambientes - Buscar todos os ambientes
+    @Autowired
+    private ConsumoService consumoService;
+
+    @Autowired
+    private EventosObjetoService eventosObjetoService;
+
+    // GET /api/ambientes?cursor={id}&limite={n} - Buscar ambientes paginados por cursor
     @GetMapping
-    public ResponseEntity<List<Ambiente>> buscarTodos() {
-        List<Ambiente> ambientes = ambienteService.buscarTodos();
-        return ResponseEntity.ok(ambientes);
+    public ResponseEntity<PaginaCursor<AmbienteResumo>> buscarTodos(@RequestParam(required = false) Integer cursor,
+                                                              @RequestParam(required = false) Integer limite) {
+        PaginaCursor<AmbienteResumo> pagina = ambienteService.buscarPagina(cursor, limite);
+        return ResponseEntity.ok(pagina);
     }
 
     // GET /api/ambientes/{id} - Buscar ambiente por ID
@@ -46,26 +64,13 @@ public class AmbienteController {
                 return ResponseEntity.badRequest().build();
             }
 
-            // Validar objetos se fornecidos (agora é uma lista)
-            if (ambiente.getObjetos() != null && !ambiente.getObjetos().isEmpty()) {
-                for (Objeto objeto : ambiente.getObjetos()) {
-                    if (objeto.getIdObjeto() != null) {
-                        Optional<Objeto> objetoOptional = objetoService.buscarPorId(objeto.getIdObjeto());
-                        if (objetoOptional.isEmpty()) {
-                            return ResponseEntity.badRequest().build(); // Objeto não encontrado
-                        }
-                        // Atualizar o objeto com dados completos
-                        Objeto objetoCompleto = objetoOptional.get();
-                        objetoCompleto.setAmbiente(ambiente); // Setar o ambiente no objeto
-                        objeto = objetoCompleto;
-                    }
-                }
-            }
-
-            // Salvar o ambiente
-            Ambiente novoAmbiente = ambienteService.salvar(ambiente);
+            // Salvar o ambiente - objetos da lista são resolvidos e associados em lote
+            Ambiente novoAmbiente = ambienteService.salvarComObjetos(ambiente);
             return ResponseEntity.status(HttpStatus.CREATED).body(novoAmbiente);
 
+        } catch (IllegalArgumentException e) {
+            // Objeto não encontrado
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             // Log do erro para debug
             System.err.println("Erro ao criar ambiente: " + e.getMessage());
@@ -83,26 +88,12 @@ public class AmbienteController {
                 return ResponseEntity.notFound().build();
             }
 
-            // Validar objetos se fornecidos
-            if (ambiente.getObjetos() != null && !ambiente.getObjetos().isEmpty()) {
-                for (Objeto objeto : ambiente.getObjetos()) {
-                    if (objeto.getIdObjeto() != null) {
-                        Optional<Objeto> objetoOptional = objetoService.buscarPorId(objeto.getIdObjeto());
-                        if (objetoOptional.isEmpty()) {
-                            return ResponseEntity.badRequest().build();
-                        }
-                        // Atualizar referência do ambiente no objeto
-                        Objeto objetoCompleto = objetoOptional.get();
-                        objetoCompleto.setAmbiente(ambiente);
-                        objeto = objetoCompleto;
-                    }
-                }
-            }
-
             ambiente.setIdAmbiente(id);
-            Ambiente ambienteAtualizado = ambienteService.atualizar(ambiente);
+            Ambiente ambienteAtualizado = ambienteService.salvarComObjetos(ambiente);
             return ResponseEntity.ok(ambienteAtualizado);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             System.err.println("Erro ao atualizar ambiente: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -122,18 +113,28 @@ public class AmbienteController {
 
     // GET /api/ambientes/nome/{nome} - Buscar por nome exato
     @GetMapping("/nome/{nome}")
-    public ResponseEntity<List<Ambiente>> buscarPorNome(@PathVariable String nome) {
-        List<Ambiente> ambientes = ambienteService.buscarPorNome(nome);
+    public ResponseEntity<List<AmbienteResumo>> buscarPorNome(@PathVariable String nome) {
+        List<AmbienteResumo> ambientes = ambienteService.buscarPorNome(nome);
         return ResponseEntity.ok(ambientes);
     }
 
     // GET /api/ambientes/search/{nome} - Buscar por nome contendo
     @GetMapping("/search/{nome}")
-    public ResponseEntity<List<Ambiente>> buscarPorNomeContendo(@PathVariable String nome) {
-        List<Ambiente> ambientes = ambienteService.buscarPorNomeContendo(nome);
+    public ResponseEntity<List<AmbienteResumo>> buscarPorNomeContendo(@PathVariable String nome) {
+        List<AmbienteResumo> ambientes = ambienteService.buscarPorNomeContendo(nome);
         return ResponseEntity.ok(ambientes);
     }
 
+    // GET /api/ambientes/suggest?q={prefixo}&limite={n} - Autocompletar por nome (ID e nome)
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Sugestao>> sugerir(@RequestParam String q,
+                                                  @RequestParam(required = false) Integer limite) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ambienteService.sugerirPorNome(q, limite));
+    }
+
     // GET /api/ambientes/{id}/usuarios - Buscar ambiente com usuários
     @GetMapping("/{id}/usuarios")
     public ResponseEntity<Ambiente> buscarPorIdComUsuarios(@PathVariable Integer id) {
@@ -150,14 +151,13 @@ public class AmbienteController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    // GET /api/ambientes/{id}/objetos - Buscar ambiente com objetos (NOVO - RESTful)
+    // GET /api/ambientes/{id}/objetos - Buscar objetos do ambiente (NOVO - RESTful)
     @GetMapping("/{id}/objetos")
-    public ResponseEntity<List<Objeto>> buscarObjetosPorAmbiente(@PathVariable Integer id) {
-        Optional<Ambiente> ambiente = ambienteService.buscarPorId(id);
-        if (ambiente.isEmpty()) {
+    public ResponseEntity<List<ObjetoResumo>> buscarObjetosPorAmbiente(@PathVariable Integer id) {
+        if (!ambienteService.existePorId(id)) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(ambiente.get().getObjetos());
+        return ResponseEntity.ok(objetoService.buscarPorAmbiente(id));
     }
 
     // POST /api/ambientes/{id}/objetos/{objetoId} - Adicionar objeto ao ambiente (RESTful)
@@ -180,7 +180,7 @@ public class AmbienteController {
             objetoService.salvar(objeto);
 
             // Recarregar o ambiente com os objetos atualizados
-            Ambiente ambienteAtualizado = ambienteService.buscarPorId(id).get();
+            Ambiente ambienteAtualizado = ambienteService.buscarPorIdComObjetos(id).get();
             return ResponseEntity.ok(ambienteAtualizado);
 
         } catch (Exception e) {
@@ -220,14 +220,36 @@ public class AmbienteController {
         }
     }
 
-    // GET /api/ambientes/{id}/completo - Buscar ambiente completo
+    // GET /api/ambientes/{id}/completo - Buscar ambiente completo (objetos, usuários e relatórios)
     @GetMapping("/{id}/completo")
-    public ResponseEntity<Ambiente> buscarPorIdCompleto(@PathVariable Integer id) {
-        Optional<Ambiente> ambiente = ambienteService.buscarPorIdCompleto(id);
+    public ResponseEntity<AmbienteCompleto> buscarPorIdCompleto(@PathVariable Integer id) {
+        Optional<AmbienteCompleto> ambiente = ambienteService.buscarCompleto(id);
         return ambiente.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // GET /api/ambientes/{id}/consumo - Consumo de energia (kWh) do ambiente por tipo de objeto
+    @GetMapping("/{id}/consumo")
+    public ResponseEntity<ConsumoDetalhado<ConsumoPorTipo>> buscarConsumo(@PathVariable Integer id) {
+        return consumoService.consumoDoAmbiente(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // GET /api/ambientes/{id}/eventos - Mudanças de status/uso dos objetos do ambiente (Server-Sent Events)
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> assinarEventos(@PathVariable Integer id) {
+        if (!ambienteService.existePorId(id)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            return ResponseEntity.ok(eventosObjetoService.assinarAmbiente(id));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     // GET /api/ambientes/count - Contar ambientes
     @GetMapping("/count")
     public ResponseEntity<Long> contar() {
@@ -244,44 +266,65 @@ public class AmbienteController {
 
     // GET /api/ambientes/tipo-objeto/{tipoObjeto} - Buscar ambientes por tipo de objeto (RESTful)
     @GetMapping("/tipo-objeto/{tipoObjeto}")
-    public ResponseEntity<List<Ambiente>> buscarPorTipoObjeto(@PathVariable String tipoObjeto) {
-        List<Ambiente> ambientes = ambienteService.buscarPorTipoObjeto(tipoObjeto);
+    public ResponseEntity<List<AmbienteResumo>> buscarPorTipoObjeto(@PathVariable String tipoObjeto) {
+        List<AmbienteResumo> ambientes = ambienteService.buscarPorTipoObjeto(tipoObjeto);
         return ResponseEntity.ok(ambientes);
     }
 
     // GET /api/ambientes/nome-objeto/{nomeObjeto} - Buscar ambientes por nome do objeto (RESTful)
     @GetMapping("/nome-objeto/{nomeObjeto}")
-    public ResponseEntity<List<Ambiente>> buscarPorNomeObjeto(@PathVariable String nomeObjeto) {
-        List<Ambiente> ambientes = ambienteService.buscarPorNomeObjeto(nomeObjeto);
+    public ResponseEntity<List<AmbienteResumo>> buscarPorNomeObjeto(@PathVariable String nomeObjeto) {
+        List<AmbienteResumo> ambientes = ambienteService.buscarPorNomeObjeto(nomeObjeto);
         return ResponseEntity.ok(ambientes);
     }
 
     // GET /api/ambientes/status-objeto/{status} - Buscar ambientes por status do objeto (RESTful)
     @GetMapping("/status-objeto/{status}")
-    public ResponseEntity<List<Ambiente>> buscarPorStatusObjeto(@PathVariable String status) {
-        List<Ambiente> ambientes = ambienteService.buscarPorStatusObjeto(status);
+    public ResponseEntity<List<AmbienteResumo>> buscarPorStatusObjeto(@PathVariable String status) {
+        List<AmbienteResumo> ambientes = ambienteService.buscarPorStatusObjeto(status);
         return ResponseEntity.ok(ambientes);
     }
 
     // GET /api/ambientes/objetos-ativos/{ativo} - Buscar ambientes com objetos ativos (RESTful)
     @GetMapping("/objetos-ativos/{ativo}")
-    public ResponseEntity<List<Ambiente>> buscarPorObjetoAtivo(@PathVariable Integer ativo) {
-        List<Ambiente> ambientes = ambienteService.buscarPorObjetoAtivo(ativo);
+    public ResponseEntity<List<AmbienteResumo>> buscarPorObjetoAtivo(@PathVariable Integer ativo) {
+        List<AmbienteResumo> ambientes = ambienteService.buscarPorObjetoAtivo(ativo);
         return ResponseEntity.ok(ambientes);
     }
 
     // GET /api/ambientes/potencia-maior/{potencia} - Buscar ambientes com objetos de potência maior (RESTful)
     @GetMapping("/potencia-maior/{potencia}")
-    public ResponseEntity<List<Ambiente>> buscarPorPotenciaObjetoMaiorQue(@PathVariable Integer potencia) {
-        List<Ambiente> ambientes = ambienteService.buscarPorPotenciaObjetoMaiorQue(potencia);
+    public ResponseEntity<List<AmbienteResumo>> buscarPorPotenciaObjetoMaiorQue(@PathVariable Integer potencia) {
+        List<AmbienteResumo> ambientes = ambienteService.buscarPorPotenciaObjetoMaiorQue(potencia);
         return ResponseEntity.ok(ambientes);
     }
 
     // GET /api/ambientes/potencia-entre/{min}/{max} - Buscar ambientes por faixa de potência (RESTful)
     @GetMapping("/potencia-entre/{min}/{max}")
-    public ResponseEntity<List<Ambiente>> buscarPorFaixaPotenciaObjeto(@PathVariable Integer min,
+    public ResponseEntity<List<AmbienteResumo>> buscarPorFaixaPotenciaObjeto(@PathVariable Integer min,
                                                                        @PathVariable Integer max) {
-        List<Ambiente> ambientes = ambienteService.buscarPorFaixaPotenciaObjeto(min, max);
+        List<AmbienteResumo> ambientes = ambienteService.buscarPorFaixaPotenciaObjeto(min, max);
         return ResponseEntity.ok(ambientes);
     }
+
+    // GET /api/ambientes/sem-objetos - Buscar ambientes sem objetos
+    @GetMapping("/sem-objetos")
+    public ResponseEntity<List<AmbienteResumo>> buscarSemObjetos() {
+        return ResponseEntity.ok(ambienteService.buscarAmbientesSemObjetos());
+    }
+
+    // GET /api/ambientes/sem-usuarios - Buscar ambientes sem usuários
+    @GetMapping("/sem-usuarios")
+    public ResponseEntity<List<AmbienteResumo>> buscarSemUsuarios() {
+        return ResponseEntity.ok(ambienteService.buscarAmbientesSemUsuarios());
+    }
+
+    // GET /api/ambientes/mais-objetos/{quantidade} - Buscar ambientes com mais de N objetos
+    @GetMapping("/mais-objetos/{quantidade}")
+    public ResponseEntity<List<AmbienteResumo>> buscarComMaisObjetos(@PathVariable Integer quantidade) {
+        if (quantidade < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ambienteService.buscarAmbientesComMaisQueXObjetos(quantidade));
+    }
 }
\ No newline at end of file
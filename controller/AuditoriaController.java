@@ -0,0 +1,42 @@
+package com.ecosmart.eco.controller;
+
+import com.ecosmart.eco.dto.PaginaAuditoria;
+import com.ecosmart.eco.service.AuditoriaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/auditoria")
+public class AuditoriaController {
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    // GET /api/auditoria?inicio=...&fim=...&entidade=...&idEntidade=...&cursor={id}&cursorInstante=...&limite={n}
+    // Trilha de auditoria por período (padrão: últimas 24h), do mais recente para o mais antigo
+    // (cursor e cursorInstante: proximoCursor e proximoCursorInstante da página anterior)
+    @GetMapping
+    public ResponseEntity<PaginaAuditoria> buscar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant fim,
+            @RequestParam(required = false) String entidade,
+            @RequestParam(required = false) Integer idEntidade,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant cursorInstante,
+            @RequestParam(required = false) Integer limite) {
+        Instant ate = fim != null ? fim : Instant.now();
+        Instant de = inicio != null ? inicio : ate.minus(Duration.ofHours(24));
+        if (de.isAfter(ate) || (idEntidade != null && entidade == null)
+                || (cursor == null) != (cursorInstante == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(auditoriaService.buscarPagina(de, ate, entidade, idEntidade, cursor, cursorInstante,
+                limite));
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecosmart.eco.controller;
+
+import com.ecosmart.eco.cache.CacheEntidades;
+import com.ecosmart.eco.cache.CacheLocal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private CacheEntidades cacheEntidades;
+
+    // GET /api/cache/estatisticas - Acertos, falhas e remoções de cada cache de leitura
+    @GetMapping("/estatisticas")
+    public ResponseEntity<List<CacheLocal.Estatisticas>> estatisticas() {
+        return ResponseEntity.ok(cacheEntidades.estatisticas());
+    }
+}
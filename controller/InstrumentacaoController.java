@@ -0,0 +1,29 @@
+package com.ecosmart.eco.controller;
+
+import com.ecosmart.eco.metricas.InstrumentacaoBusca;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/instrumentacao")
+public class InstrumentacaoController {
+
+    @Autowired
+    private InstrumentacaoBusca instrumentacaoBusca;
+
+    // GET /api/instrumentacao/buscas - Latência (ns) e tamanho do resultado por operação de busca
+    @GetMapping("/buscas")
+    public ResponseEntity<List<InstrumentacaoBusca.ResumoOperacao>> buscas() {
+        return ResponseEntity.ok(instrumentacaoBusca.resumo());
+    }
+
+    // DELETE /api/instrumentacao/buscas - Zerar os histogramas de diagnóstico (/metricas não é afetado)
+    @DeleteMapping("/buscas")
+    public ResponseEntity<Void> limparBuscas() {
+        instrumentacaoBusca.limpar();
+        return ResponseEntity.noContent().build();
+    }
+}
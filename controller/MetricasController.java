@@ -0,0 +1,42 @@
+package com.ecosmart.eco.controller;
+
+import com.ecosmart.eco.metricas.RegistroMetricas;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+@RestController
+public class MetricasController {
+
+    private static final String FORMATO_PROMETHEUS = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Autowired
+    private RegistroMetricas registroMetricas;
+
+    @Value("${ecosmart.metricas.somente-local:true}")
+    private boolean somenteLocal;
+
+    // GET /metricas - Métricas no formato do Prometheus (por padrão só para chamadas da própria máquina)
+    @GetMapping(value = "/metricas", produces = FORMATO_PROMETHEUS)
+    public ResponseEntity<String> metricas(HttpServletRequest request) {
+        if (somenteLocal && !origemLocal(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(registroMetricas.exportar());
+    }
+
+    private static boolean origemLocal(HttpServletRequest request) {
+        try {
+            // getRemoteAddr é um IP literal - getByName não consulta DNS
+            return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
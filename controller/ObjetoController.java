@@ -1,14 +1,22 @@
 package com.ecosmart.eco.controller;
 
+import com.ecosmart.eco.dto.ConsumoAgregado;
+import com.ecosmart.eco.dto.ObjetoResumo;
+import com.ecosmart.eco.dto.PaginaCursor;
+import com.ecosmart.eco.dto.Sugestao;
 import com.ecosmart.eco.model.Objeto;
 import com.ecosmart.eco.model.Ambiente;
+import com.ecosmart.eco.service.ConsumoService;
 import com.ecosmart.eco.service.ObjetoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -18,11 +26,24 @@ public class ObjetoController {
     @Autowired
     private ObjetoService objetoService;
 
-    // GET /api/objetos - Buscar todos os objetos
+    @Autowired
+    private ConsumoService consumoService;
+
+    // GET /api/objetos?cursor={id}&limite={n} - Buscar objetos paginados por cursor
     @GetMapping
-    public ResponseEntity<List<Objeto>> buscarTodos() {
-        List<Objeto> objetos = objetoService.buscarTodos();
-        return ResponseEntity.ok(objetos);
+    public ResponseEntity<PaginaCursor<ObjetoResumo>> buscarTodos(@RequestParam(required = false) Integer cursor,
+                                                            @RequestParam(required = false) Integer limite) {
+        PaginaCursor<ObjetoResumo> pagina = objetoService.buscarPagina(cursor, limite);
+        return ResponseEntity.ok(pagina);
+    }
+
+    // GET /api/objetos/export - Exportar todos os objetos em NDJSON (streaming)
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = saida -> objetoService.exportarNdjson(saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(corpo);
     }
 
     // GET /api/objetos/{id} - Buscar objeto por ID
@@ -45,6 +66,20 @@ public class ObjetoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(novoObjeto);
     }
 
+    // POST /api/objetos/batch - Criar vários objetos em lote
+    @PostMapping("/batch")
+    public ResponseEntity<?> criarEmLote(@RequestBody List<Objeto> objetos) {
+        try {
+            List<Integer> ids = objetoService.salvarEmLote(objetos);
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                    "quantidade", ids.size(),
+                    "ids", ids
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     // PUT /api/objetos/{id} - Atualizar objeto
     @PutMapping("/{id}")
     public ResponseEntity<Objeto> atualizar(@PathVariable Integer id,
@@ -71,80 +106,100 @@ public class ObjetoController {
 
     // GET /api/objetos/nome/{nome} - Buscar por nome exato
     @GetMapping("/nome/{nome}")
-    public ResponseEntity<List<Objeto>> buscarPorNome(@PathVariable String nome) {
-        List<Objeto> objetos = objetoService.buscarPorNome(nome);
+    public ResponseEntity<List<ObjetoResumo>> buscarPorNome(@PathVariable String nome) {
+        List<ObjetoResumo> objetos = objetoService.buscarPorNome(nome);
         return ResponseEntity.ok(objetos);
     }
 
     // GET /api/objetos/search/{nome} - Buscar por nome contendo
     @GetMapping("/search/{nome}")
-    public ResponseEntity<List<Objeto>> buscarPorNomeContendo(@PathVariable String nome) {
-        List<Objeto> objetos = objetoService.buscarPorNomeContendo(nome);
+    public ResponseEntity<List<ObjetoResumo>> buscarPorNomeContendo(@PathVariable String nome) {
+        List<ObjetoResumo> objetos = objetoService.buscarPorNomeContendo(nome);
         return ResponseEntity.ok(objetos);
     }
 
+    // GET /api/objetos/suggest?q={prefixo}&limite={n} - Autocompletar por nome (ID e nome)
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Sugestao>> sugerir(@RequestParam String q,
+                                                  @RequestParam(required = false) Integer limite) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(objetoService.sugerirPorNome(q, limite));
+    }
+
+    // GET /api/objetos/suggest/tipo?q={prefixo}&limite={n} - Autocompletar tipos distintos
+    @GetMapping("/suggest/tipo")
+    public ResponseEntity<List<Sugestao>> sugerirTipos(@RequestParam String q,
+                                                       @RequestParam(required = false) Integer limite) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(objetoService.sugerirTipos(q, limite));
+    }
+
     // GET /api/objetos/tipo/{tipo} - Buscar por tipo exato
     @GetMapping("/tipo/{tipo}")
-    public ResponseEntity<List<Objeto>> buscarPorTipo(@PathVariable String tipo) {
-        List<Objeto> objetos = objetoService.buscarPorTipo(tipo);
+    public ResponseEntity<List<ObjetoResumo>> buscarPorTipo(@PathVariable String tipo) {
+        List<ObjetoResumo> objetos = objetoService.buscarPorTipo(tipo);
         return ResponseEntity.ok(objetos);
     }
 
     // GET /api/objetos/search/tipo/{tipo} - Buscar por tipo contendo
     @GetMapping("/search/tipo/{tipo}")
-    public ResponseEntity<List<Objeto>> buscarPorTipoContendo(@PathVariable String tipo) {
-        List<Objeto> objetos = objetoService.buscarPorTipoContendo(tipo);
+    public ResponseEntity<List<ObjetoResumo>> buscarPorTipoContendo(@PathVariable String tipo) {
+        List<ObjetoResumo> objetos = objetoService.buscarPorTipoContendo(tipo);
         return ResponseEntity.ok(objetos);
     }
 
     // GET /api/objetos/status/{status} - Buscar por status
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Objeto>> buscarPorStatus(@PathVariable String status) {
-        List<Objeto> objetos = objetoService.buscarPorStatus(status);
+    public ResponseEntity<List<ObjetoResumo>> buscarPorStatus(@PathVariable String status) {
+        List<ObjetoResumo> objetos = objetoService.buscarPorStatus(status);
         return ResponseEntity.ok(objetos);
     }
 
     // GET /api/objetos/ativo/{ativo} - Buscar objetos ativos/inativos
     @GetMapping("/ativo/{ativo}")
-    public ResponseEntity<List<Objeto>> buscarPorAtivo(@PathVariable Integer ativo) {
-        List<Objeto> objetos = objetoService.buscarPorAtivo(ativo);
+    public ResponseEntity<List<ObjetoResumo>> buscarPorAtivo(@PathVariable Integer ativo) {
+        List<ObjetoResumo> objetos = objetoService.buscarPorAtivo(ativo);
         return ResponseEntity.ok(objetos);
     }
 
     // GET /api/objetos/potencia/{potencia} - Buscar por potência exata
     @GetMapping("/potencia/{potencia}")
-    public ResponseEntity<List<Objeto>> buscarPorPotencia(@PathVariable Integer potencia) {
-        List<Objeto> objetos = objetoService.buscarPorPotencia(potencia);
+    public ResponseEntity<List<ObjetoResumo>> buscarPorPotencia(@PathVariable Integer potencia) {
+        List<ObjetoResumo> objetos = objetoService.buscarPorPotencia(potencia);
         return ResponseEntity.ok(objetos);
     }
 
     // GET /api/objetos/potencia/{min}/{max} - Buscar por faixa de potência
     @GetMapping("/potencia/{min}/{max}")
-    public ResponseEntity<List<Objeto>> buscarPorFaixaPotencia(@PathVariable Integer min,
+    public ResponseEntity<List<ObjetoResumo>> buscarPorFaixaPotencia(@PathVariable Integer min,
                                                                @PathVariable Integer max) {
-        List<Objeto> objetos = objetoService.buscarPorFaixaPotencia(min, max);
+        List<ObjetoResumo> objetos = objetoService.buscarPorFaixaPotencia(min, max);
         return ResponseEntity.ok(objetos);
     }
 
     // GET /api/objetos/potencia/maior/{potencia} - Buscar por potência maior que
     @GetMapping("/potencia/maior/{potencia}")
-    public ResponseEntity<List<Objeto>> buscarPorPotenciaMaiorQue(@PathVariable Integer potencia) {
-        List<Objeto> objetos = objetoService.buscarPorPotenciaMaiorQue(potencia);
+    public ResponseEntity<List<ObjetoResumo>> buscarPorPotenciaMaiorQue(@PathVariable Integer potencia) {
+        List<ObjetoResumo> objetos = objetoService.buscarPorPotenciaMaiorQue(potencia);
         return ResponseEntity.ok(objetos);
     }
 
     // GET /api/objetos/tempo-uso/maior/{tempoUso} - Buscar por tempo de uso maior que
     @GetMapping("/tempo-uso/maior/{tempoUso}")
-    public ResponseEntity<List<Objeto>> buscarPorTempoUsoMaiorQue(@PathVariable Double tempoUso) {
-        List<Objeto> objetos = objetoService.buscarPorTempoUsoMaiorQue(tempoUso);
+    public ResponseEntity<List<ObjetoResumo>> buscarPorTempoUsoMaiorQue(@PathVariable Double tempoUso) {
+        List<ObjetoResumo> objetos = objetoService.buscarPorTempoUsoMaiorQue(tempoUso);
         return ResponseEntity.ok(objetos);
     }
 
     // GET /api/objetos/ativo/{ativo}/tipo/{tipo} - Buscar objetos ativos por tipo
     @GetMapping("/ativo/{ativo}/tipo/{tipo}")
-    public ResponseEntity<List<Objeto>> buscarPorAtivoETipo(@PathVariable Integer ativo,
+    public ResponseEntity<List<ObjetoResumo>> buscarPorAtivoETipo(@PathVariable Integer ativo,
                                                             @PathVariable String tipo) {
-        List<Objeto> objetos = objetoService.buscarPorAtivoETipo(ativo, tipo);
+        List<ObjetoResumo> objetos = objetoService.buscarPorAtivoETipo(ativo, tipo);
         return ResponseEntity.ok(objetos);
     }
 
@@ -164,6 +219,14 @@ public class ObjetoController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // GET /api/objetos/{id}/consumo - Consumo de energia (kWh) do objeto
+    @GetMapping("/{id}/consumo")
+    public ResponseEntity<ConsumoAgregado> buscarConsumo(@PathVariable Integer id) {
+        return consumoService.consumoDoObjeto(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // GET /api/objetos/count - Contar objetos
     @GetMapping("/count")
     public ResponseEntity<Long> contar() {
@@ -0,0 +1,22 @@
+package com.ecosmart.eco.controller;
+
+import com.ecosmart.eco.cache.PainelAmbientes;
+import com.ecosmart.eco.dto.Painel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class PainelController {
+
+    @Autowired
+    private PainelAmbientes painelAmbientes;
+
+    // GET /api/dashboard - Painel inicial: totais e objetos, ativos, potência e ligados/desligados por ambiente
+    // Lido da memória (corrigido a cada gravação) - substitui as chamadas de contagem e listas do painel
+    @GetMapping
+    public ResponseEntity<Painel> obter() {
+        return ResponseEntity.ok(painelAmbientes.obter());
+    }
+}
@@ -1,10 +1,14 @@
 package com.ecosmart.eco.controller;
 
+import com.ecosmart.eco.dto.PaginaCursor;
+import com.ecosmart.eco.dto.RelatorioResumo;
+import com.ecosmart.eco.dto.StatusRemocao;
 import com.ecosmart.eco.model.Relatorio;
 import com.ecosmart.eco.model.Ambiente;
 import com.ecosmart.eco.model.Usuario;
 import com.ecosmart.eco.service.RelatorioService;
 import com.ecosmart.eco.service.AmbienteService;
+import com.ecosmart.eco.service.RemocaoRelatorioService;
 import com.ecosmart.eco.service.UsuarioService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -28,17 +32,21 @@ public class RelatorioController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private RemocaoRelatorioService remocaoRelatorioService;
+
     // ===== OPERAÇÕES BÁSICAS CRUD =====
 
     /**
-     * GET /api/relatorios
-     * Busca todos os relatórios
+     * GET /api/relatorios?cursor={id}&limite={n}
+     * Busca relatórios paginados por cursor (keyset no ID)
      */
     @GetMapping
-    public ResponseEntity<List<Relatorio>> buscarTodos() {
+    public ResponseEntity<PaginaCursor<RelatorioResumo>> buscarTodos(@RequestParam(required = false) Integer cursor,
+                                                               @RequestParam(required = false) Integer limite) {
         try {
-            List<Relatorio> relatorios = relatorioService.buscarTodos();
-            return ResponseEntity.ok(relatorios);
+            PaginaCursor<RelatorioResumo> pagina = relatorioService.buscarPagina(cursor, limite);
+            return ResponseEntity.ok(pagina);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -158,9 +166,9 @@ public class RelatorioController {
      * Busca relatórios por ambiente
      */
     @GetMapping("/ambiente/{ambienteId}")
-    public ResponseEntity<List<Relatorio>> buscarPorAmbiente(@PathVariable Integer ambienteId) {
+    public ResponseEntity<List<RelatorioResumo>> buscarPorAmbiente(@PathVariable Integer ambienteId) {
         try {
-            List<Relatorio> relatorios = relatorioService.buscarPorIdAmbiente(ambienteId);
+            List<RelatorioResumo> relatorios = relatorioService.buscarPorIdAmbiente(ambienteId);
             return ResponseEntity.ok(relatorios);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -188,9 +196,9 @@ public class RelatorioController {
      * Busca relatórios por usuário
      */
     @GetMapping("/usuario/{usuarioId}")
-    public ResponseEntity<List<Relatorio>> buscarPorUsuario(@PathVariable Integer usuarioId) {
+    public ResponseEntity<List<RelatorioResumo>> buscarPorUsuario(@PathVariable Integer usuarioId) {
         try {
-            List<Relatorio> relatorios = relatorioService.buscarPorIdUsuario(usuarioId);
+            List<RelatorioResumo> relatorios = relatorioService.buscarPorIdUsuario(usuarioId);
             return ResponseEntity.ok(relatorios);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -216,9 +224,9 @@ public class RelatorioController {
      * Busca relatórios recentes do usuário
      */
     @GetMapping("/usuario/{usuarioId}/recentes")
-    public ResponseEntity<List<Relatorio>> buscarRelatoriosRecentes(@PathVariable Integer usuarioId) {
+    public ResponseEntity<List<RelatorioResumo>> buscarRelatoriosRecentes(@PathVariable Integer usuarioId) {
         try {
-            List<Relatorio> relatorios = relatorioService.buscarRelatoriosRecentesDoUsuario(usuarioId);
+            List<RelatorioResumo> relatorios = relatorioService.buscarRelatoriosRecentesDoUsuario(usuarioId);
             return ResponseEntity.ok(relatorios);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -232,11 +240,11 @@ public class RelatorioController {
      * Busca relatórios por ambiente e usuário
      */
     @GetMapping("/ambiente/{ambienteId}/usuario/{usuarioId}")
-    public ResponseEntity<List<Relatorio>> buscarPorAmbienteEUsuario(
+    public ResponseEntity<List<RelatorioResumo>> buscarPorAmbienteEUsuario(
             @PathVariable Integer ambienteId,
             @PathVariable Integer usuarioId) {
         try {
-            List<Relatorio> relatorios = relatorioService.buscarPorIdAmbienteEIdUsuario(ambienteId, usuarioId);
+            List<RelatorioResumo> relatorios = relatorioService.buscarPorIdAmbienteEIdUsuario(ambienteId, usuarioId);
             return ResponseEntity.ok(relatorios);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -309,6 +317,45 @@ public class RelatorioController {
         }
     }
 
+    /**
+     * DELETE /api/relatorios/ambiente/{ambienteId}/assincrono
+     * Agenda a remoção em blocos dos relatórios de um ambiente (para volumes grandes)
+     */
+    @DeleteMapping("/ambiente/{ambienteId}/assincrono")
+    public ResponseEntity<StatusRemocao> agendarRemocaoDoAmbiente(@PathVariable Integer ambienteId) {
+        try {
+            StatusRemocao status = remocaoRelatorioService.agendarRemocaoDoAmbiente(ambienteId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * DELETE /api/relatorios/usuario/{usuarioId}/assincrono
+     * Agenda a remoção em blocos dos relatórios de um usuário (para volumes grandes)
+     */
+    @DeleteMapping("/usuario/{usuarioId}/assincrono")
+    public ResponseEntity<StatusRemocao> agendarRemocaoDoUsuario(@PathVariable Integer usuarioId) {
+        try {
+            StatusRemocao status = remocaoRelatorioService.agendarRemocaoDoUsuario(usuarioId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/relatorios/remocoes/{jobId}
+     * Consulta o progresso de uma remoção assíncrona
+     */
+    @GetMapping("/remocoes/{jobId}")
+    public ResponseEntity<StatusRemocao> buscarStatusRemocao(@PathVariable String jobId) {
+        return remocaoRelatorioService.buscarStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // ===== ESTATÍSTICAS =====
 
     /**
@@ -0,0 +1,66 @@
+package com.ecosmart.eco.controller;
+
+import com.ecosmart.eco.model.LeituraObjeto;
+import com.ecosmart.eco.service.ObjetoService;
+import com.ecosmart.eco.service.TelemetriaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/objetos/{idObjeto}/leituras")
+public class TelemetriaController {
+
+    @Autowired
+    private TelemetriaService telemetriaService;
+
+    @Autowired
+    private ObjetoService objetoService;
+
+    // POST /api/objetos/{idObjeto}/leituras - Registrar leitura do dispositivo
+    @PostMapping
+    public ResponseEntity<LeituraObjeto> registrar(@PathVariable Integer idObjeto,
+                                                   @RequestBody LeituraObjeto leitura) {
+        if (!objetoService.existePorId(idObjeto)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        leitura.setIdObjeto(idObjeto);
+        LeituraObjeto registrada = telemetriaService.registrar(leitura);
+        return ResponseEntity.status(HttpStatus.CREATED).body(registrada);
+    }
+
+    // GET /api/objetos/{idObjeto}/leituras?inicio=...&fim=... - Leituras por período (padrão: últimas 24h)
+    @GetMapping
+    public ResponseEntity<List<LeituraObjeto>> buscarPorPeriodo(
+            @PathVariable Integer idObjeto,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant fim) {
+        Instant ate = fim != null ? fim : Instant.now();
+        Instant de = inicio != null ? inicio : ate.minus(Duration.ofHours(24));
+        if (de.isAfter(ate)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<LeituraObjeto> leituras = telemetriaService.buscarPorPeriodo(idObjeto, de, ate);
+        return ResponseEntity.ok(leituras);
+    }
+
+    // GET /api/objetos/{idObjeto}/leituras/recentes?limite={n} - Leituras mais recentes
+    @GetMapping("/recentes")
+    public ResponseEntity<List<LeituraObjeto>> buscarRecentes(@PathVariable Integer idObjeto,
+                                                              @RequestParam(defaultValue = "20") int limite) {
+        if (limite <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<LeituraObjeto> leituras = telemetriaService.buscarRecentes(idObjeto, limite);
+        return ResponseEntity.ok(leituras);
+    }
+}
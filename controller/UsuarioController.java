@@ -1,11 +1,24 @@
 package com.ecosmart.eco.controller;
 
+import com.ecosmart.eco.dto.ConsumoAgregado;
+import com.ecosmart.eco.dto.ConsumoDetalhado;
+import com.ecosmart.eco.dto.PaginaCursor;
+import com.ecosmart.eco.dto.Sugestao;
+import com.ecosmart.eco.dto.UsuarioCompleto;
+import com.ecosmart.eco.dto.UsuarioResumo;
 import com.ecosmart.eco.model.Usuario;
+import com.ecosmart.eco.seguranca.Sessao;
+import com.ecosmart.eco.seguranca.TokensSessao;
+import com.ecosmart.eco.service.ConsumoService;
+import com.ecosmart.eco.service.EventosObjetoService;
 import com.ecosmart.eco.service.UsuarioService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
     import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -18,11 +31,21 @@ public class UsuarioController {
     @Autowired
     private UsuarioService usuarioService;
 
-    // GET /api/usuarios - Buscar todos os usuários
+    @Autowired
+    private ConsumoService consumoService;
+
+    @Autowired
+    private EventosObjetoService eventosObjetoService;
+
+    @Autowired
+    private TokensSessao tokensSessao;
+
+    // GET /api/usuarios?cursor={id}&limite={n} - Buscar usuários paginados por cursor
     @GetMapping
-    public ResponseEntity<List<Usuario>> buscarTodos() {
-        List<Usuario> usuarios = usuarioService.buscarTodos();
-        return ResponseEntity.ok(usuarios);
+    public ResponseEntity<PaginaCursor<UsuarioResumo>> buscarTodos(@RequestParam(required = false) Integer cursor,
+                                                             @RequestParam(required = false) Integer limite) {
+        PaginaCursor<UsuarioResumo> pagina = usuarioService.buscarPagina(cursor, limite);
+        return ResponseEntity.ok(pagina);
     }
 
     // GET /api/usuarios/{id} - Buscar usuário por ID
@@ -69,6 +92,63 @@ public class UsuarioController {
         return ResponseEntity.noContent().build();
     }
 
+    // GET /api/usuarios/{id}/completo - Buscar usuário completo (ambientes e relatórios)
+    @GetMapping("/{id}/completo")
+    public ResponseEntity<UsuarioCompleto> buscarPorIdCompleto(@PathVariable Integer id) {
+        Optional<UsuarioCompleto> usuario = usuarioService.buscarCompleto(id);
+        return usuario.map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // GET /api/usuarios/{id}/consumo - Consumo de energia (kWh) do usuário por ambiente
+    @GetMapping("/{id}/consumo")
+    public ResponseEntity<ConsumoDetalhado<ConsumoAgregado>> buscarConsumo(@PathVariable Integer id) {
+        return consumoService.consumoDoUsuario(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // GET /api/usuarios/search/{nome} - Buscar por nome contendo
+    @GetMapping("/search/{nome}")
+    public ResponseEntity<List<UsuarioResumo>> buscarPorNomeContendo(@PathVariable String nome) {
+        List<UsuarioResumo> usuarios = usuarioService.buscarPorTipo(nome, UsuarioService.TipoBusca.NOME_CONTEM);
+        return ResponseEntity.ok(usuarios);
+    }
+
+    // GET /api/usuarios/busca?q={texto}&tipo={NOME_CONTEM|NOME_EXATO|NOME_INICIA_COM} - Buscar por nome com a estratégia escolhida
+    @GetMapping("/busca")
+    public ResponseEntity<List<UsuarioResumo>> buscarPorTipo(@RequestParam String q,
+                                                       @RequestParam(defaultValue = "NOME_CONTEM") UsuarioService.TipoBusca tipo) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(usuarioService.buscarPorTipo(q, tipo));
+    }
+
+    // GET /api/usuarios/suggest?q={prefixo}&limite={n} - Autocompletar por nome (ID e nome)
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Sugestao>> sugerir(@RequestParam String q,
+                                                  @RequestParam(required = false) Integer limite) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(usuarioService.sugerirPorNome(q, limite));
+    }
+
+    // GET /api/usuarios/{id}/eventos - Mudanças de status/uso dos objetos dos ambientes do usuário (Server-Sent Events)
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> assinarEventos(@PathVariable Integer id) {
+        if (!usuarioService.existePorId(id)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            return ResponseEntity.ok(eventosObjetoService.assinarUsuario(id));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     // GET /api/usuarios/email/{email} - Buscar por email
 //    @GetMapping("/email/{email}")
 //    public ResponseEntity<Usuario> buscarPorEmail(@PathVariable String email) {
@@ -101,10 +181,12 @@ public class UsuarioController {
         if (usuario.isPresent()) {
             // Verificar se a senha confere (assumindo que você tem um campo senha)
             if (usuario.get().getSenha().equals(senha)) {
-                // Login bem-sucedido
+                // Login bem-sucedido - o token identifica o usuário nas próximas requisições
+                // (Authorization: Bearer <token>) sem consulta ao banco
                 return ResponseEntity.ok(Map.of(
                         "message", "Login realizado com sucesso",
-                        "usuario", usuario.get()
+                        "usuario", usuario.get(),
+                        "token", tokensSessao.emitir(usuario.get())
                 ));
             } else {
                 // Senha incorreta
@@ -117,4 +199,24 @@ public class UsuarioController {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(Map.of("message", "Email não encontrado"));
     }
-}
\ No newline at end of file
+
+    // GET /api/usuarios/me - Usuário da sessão (lido do token, sem consulta ao banco)
+    @GetMapping("/me")
+    public ResponseEntity<Sessao> sessaoAtual(HttpServletRequest request) {
+        return Sessao.da(request)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    // POST /api/usuarios/logout - Revogar o token da sessão atual
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request) {
+        Optional<Sessao> sessao = Sessao.da(request);
+        if (sessao.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        tokensSessao.revogar(sessao.get());
+        return ResponseEntity.noContent().build();
+    }
+}
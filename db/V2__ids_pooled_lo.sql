@@ -0,0 +1,25 @@
+-- ============================================================
+-- MIGRAÇÃO: IDENTITY -> SEQUENCE (pooled-lo)
+-- As entidades passam a usar @SequenceGenerator com allocationSize = 50.
+-- O MySQL não tem sequences, então o Hibernate emula cada uma com uma
+-- tabela de uma linha (coluna next_val). Com o otimizador pooled-lo o
+-- valor gravado é o primeiro ID do próximo bloco, por isso cada tabela
+-- começa em MAX(id) + 1.
+-- Rodar com a aplicação parada, ANTES de subir a versão nova
+-- (com ddl-auto=update o Hibernate criaria as tabelas começando em 1).
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS objeto_seq (next_val BIGINT NOT NULL);
+INSERT INTO objeto_seq (next_val) SELECT COALESCE(MAX(idObjeto), 0) + 1 FROM objeto;
+
+CREATE TABLE IF NOT EXISTS ambiente_seq (next_val BIGINT NOT NULL);
+INSERT INTO ambiente_seq (next_val) SELECT COALESCE(MAX(id_ambiente), 0) + 1 FROM ambiente;
+
+CREATE TABLE IF NOT EXISTS usuario_seq (next_val BIGINT NOT NULL);
+INSERT INTO usuario_seq (next_val) SELECT COALESCE(MAX(id_usuario), 0) + 1 FROM usuario;
+
+CREATE TABLE IF NOT EXISTS relatorio_seq (next_val BIGINT NOT NULL);
+INSERT INTO relatorio_seq (next_val) SELECT COALESCE(MAX(id_relatorio), 0) + 1 FROM relatorio;
+
+-- As colunas continuam AUTO_INCREMENT; o Hibernate passa a enviar o ID no INSERT,
+-- o que o MySQL aceita normalmente. Nenhuma alteração de coluna é necessária.
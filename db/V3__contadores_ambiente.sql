@@ -0,0 +1,22 @@
+-- ============================================================
+-- MIGRAÇÃO: contadores denormalizados no ambiente
+-- qtd_objetos, qtd_usuarios e qtd_relatorios passam a ser mantidos pelos
+-- serviços (ContadoresAmbienteService) a cada mudança de associação, e as
+-- consultas "sem objetos", "sem usuários" e "mais de N objetos" viram
+-- faixas nos índices abaixo em vez de SIZE() (subconsulta por linha).
+-- Pode rodar com a aplicação no ar: a reconciliação periódica corrige
+-- qualquer alteração feita entre o preenchimento e a subida da versão nova.
+-- ============================================================
+
+ALTER TABLE ambiente
+    ADD COLUMN qtd_objetos INT NOT NULL DEFAULT 0,
+    ADD COLUMN qtd_usuarios INT NOT NULL DEFAULT 0,
+    ADD COLUMN qtd_relatorios INT NOT NULL DEFAULT 0;
+
+UPDATE ambiente a SET
+    a.qtd_objetos = (SELECT COUNT(*) FROM objeto o WHERE o.ambiente_id = a.id_ambiente),
+    a.qtd_usuarios = (SELECT COUNT(*) FROM usuario_ambiente ua WHERE ua.ambiente_id = a.id_ambiente),
+    a.qtd_relatorios = (SELECT COUNT(*) FROM relatorio r WHERE r.ambiente_id_ambiente = a.id_ambiente);
+
+CREATE INDEX idx_ambiente_qtd_objetos ON ambiente (qtd_objetos);
+CREATE INDEX idx_ambiente_qtd_usuarios ON ambiente (qtd_usuarios);
@@ -0,0 +1,19 @@
+-- ============================================================
+-- MIGRAÇÃO: número de sequência do log de telemetria em leitura_objeto
+-- O replay do log (TelemetriaService) grava o LSN de cada leitura em
+-- sequencia e, ao subir, continua a partir de MAX(sequencia) - o índice
+-- único impede que um registro seja gravado duas vezes após uma falha.
+-- Leituras anteriores ao log ficam com sequencia nula (o índice único
+-- aceita vários nulos no MySQL).
+-- Rodar ANTES de subir a versão com o log de telemetria.
+-- ============================================================
+
+ALTER TABLE leitura_objeto ADD COLUMN sequencia BIGINT NULL;
+
+CREATE UNIQUE INDEX uk_leitura_objeto_sequencia ON leitura_objeto (sequencia);
+
+-- Gerador pooled-lo dos IDs de leitura (mesma regra do V2: começa em MAX(id) + 1)
+CREATE TABLE IF NOT EXISTS leitura_objeto_seq (next_val BIGINT NOT NULL);
+INSERT INTO leitura_objeto_seq (next_val)
+SELECT COALESCE(MAX(id_leitura), 0) + 1 FROM leitura_objeto
+WHERE NOT EXISTS (SELECT 1 FROM leitura_objeto_seq);
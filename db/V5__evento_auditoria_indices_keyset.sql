@@ -0,0 +1,14 @@
+-- ============================================================
+-- MIGRAÇÃO: índices da trilha de auditoria para a paginação por instante
+-- As páginas de GET /api/auditoria passam a ser ordenadas por
+-- (instante DESC, id_evento DESC) com cursor nesse par. Cada filtro
+-- (período, entidade, registro) tem um índice terminado em
+-- (instante, id_evento): a página é uma faixa do índice, sem filesort.
+-- ============================================================
+
+DROP INDEX idx_evento_auditoria_instante ON evento_auditoria;
+DROP INDEX idx_evento_auditoria_entidade ON evento_auditoria;
+
+CREATE INDEX idx_evento_auditoria_instante_id ON evento_auditoria (instante, id_evento);
+CREATE INDEX idx_evento_auditoria_entidade_instante ON evento_auditoria (entidade, instante, id_evento);
+CREATE INDEX idx_evento_auditoria_registro ON evento_auditoria (entidade, id_entidade, instante, id_evento);
@@ -0,0 +1,24 @@
+package com.ecosmart.eco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ambiente com objetos, usuários e relatórios - montado com uma consulta por coleção
+ * (linhas = 1 + objetos + usuários + relatórios, sem produto cartesiano)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmbienteCompleto {
+
+    private Integer idAmbiente;
+    private String nome;
+    private String descricao;
+    private List<ObjetoResumo> objetos;
+    private List<UsuarioResumo> usuarios;
+    private List<RelatorioResumo> relatorios;
+}
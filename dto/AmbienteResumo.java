@@ -0,0 +1,22 @@
+package com.ecosmart.eco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Visão somente leitura de um Ambiente, sem as coleções - só os contadores denormalizados delas
+ * Preenchida direto por projeção JPQL (não é entidade gerenciada)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmbienteResumo {
+
+    private Integer idAmbiente;
+    private String nome;
+    private String descricao;
+    private int qtdObjetos;
+    private int qtdUsuarios;
+    private int qtdRelatorios;
+}
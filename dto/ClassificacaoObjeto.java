@@ -0,0 +1,34 @@
+package com.ecosmart.eco.dto;
+
+import com.ecosmart.eco.model.Objeto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Campos de um Objeto usados pelos contadores e pelo painel (tipo, status, ativo, potência e ambiente)
+ * Preenchida por projeção JPQL para conhecer o estado anterior a uma alteração
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassificacaoObjeto {
+
+    private String tipoObjeto;
+    private String status;
+    private Integer ativo;
+    private Integer potencia;
+    private Integer idAmbiente;
+
+    public static ClassificacaoObjeto de(Objeto objeto) {
+        return new ClassificacaoObjeto(objeto.getTipoObjeto(), objeto.getStatus(), objeto.getAtivo(),
+                objeto.getPotencia(), objeto.getAmbiente() != null ? objeto.getAmbiente().getIdAmbiente() : null);
+    }
+
+    /**
+     * Mesma classificação em outro ambiente (objeto movido)
+     */
+    public ClassificacaoObjeto noAmbiente(Integer outroAmbiente) {
+        return new ClassificacaoObjeto(tipoObjeto, status, ativo, potencia, outroAmbiente);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecosmart.eco.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Consumo de energia agregado de um objeto, ambiente ou usuário
+ * Preenchido por projeção JPQL com SUM/COUNT calculados no banco
+ */
+@Data
+@NoArgsConstructor
+public class ConsumoAgregado {
+
+    private Integer id;
+    private String nome;
+    private long quantidadeObjetos;
+
+    // Soma das potências (W)
+    private long potenciaTotal;
+
+    // Soma de potência (W) x tempo de uso (h) convertida para kWh
+    private double consumoKwh;
+
+    public ConsumoAgregado(Integer id, String nome, Long quantidadeObjetos, Long potenciaTotal, Double consumoWh) {
+        this.id = id;
+        this.nome = nome;
+        this.quantidadeObjetos = quantidadeObjetos != null ? quantidadeObjetos : 0;
+        this.potenciaTotal = potenciaTotal != null ? potenciaTotal : 0;
+        this.consumoKwh = consumoWh != null ? consumoWh / 1000.0 : 0.0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecosmart.eco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Consumo total com o detalhamento por grupo (tipo de objeto ou ambiente)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsumoDetalhado<T> {
+
+    private ConsumoAgregado total;
+    private List<T> detalhamento;
+}
@@ -0,0 +1,25 @@
+package com.ecosmart.eco.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Consumo de energia agrupado por tipo de objeto
+ * Preenchido por projeção JPQL com GROUP BY no banco
+ */
+@Data
+@NoArgsConstructor
+public class ConsumoPorTipo {
+
+    private String tipoObjeto;
+    private long quantidadeObjetos;
+    private long potenciaTotal;
+    private double consumoKwh;
+
+    public ConsumoPorTipo(String tipoObjeto, Long quantidadeObjetos, Long potenciaTotal, Double consumoWh) {
+        this.tipoObjeto = tipoObjeto;
+        this.quantidadeObjetos = quantidadeObjetos != null ? quantidadeObjetos : 0;
+        this.potenciaTotal = potenciaTotal != null ? potenciaTotal : 0;
+        this.consumoKwh = consumoWh != null ? consumoWh / 1000.0 : 0.0;
+    }
+}
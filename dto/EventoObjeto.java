@@ -0,0 +1,34 @@
+package com.ecosmart.eco.dto;
+
+import com.ecosmart.eco.model.Objeto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Mudança de estado de um Objeto enviada aos assinantes de eventos (SSE)
+ * Só carrega os campos que mudam com o uso do dispositivo
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoObjeto {
+
+    private Integer idObjeto;
+    private String nomeObjeto;
+    private Integer idAmbiente;
+    private String status;
+    private Integer ativo;
+    private Integer potencia;
+    private Double tempoUso;
+    private Instant instante;
+
+    public static EventoObjeto de(Objeto objeto) {
+        // getIdAmbiente() em um proxy LAZY não inicializa o ambiente
+        Integer idAmbiente = objeto.getAmbiente() != null ? objeto.getAmbiente().getIdAmbiente() : null;
+        return new EventoObjeto(objeto.getIdObjeto(), objeto.getNomeObjeto(), idAmbiente, objeto.getStatus(),
+                objeto.getAtivo(), objeto.getPotencia(), objeto.getTempoUso(), Instant.now());
+    }
+}
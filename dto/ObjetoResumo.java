@@ -0,0 +1,24 @@
+package com.ecosmart.eco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Visão somente leitura de um Objeto com o ID do seu ambiente
+ * Preenchida direto por projeção JPQL (não é entidade gerenciada)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ObjetoResumo {
+
+    private Integer idObjeto;
+    private String nomeObjeto;
+    private String tipoObjeto;
+    private Integer potencia;
+    private Double tempoUso;
+    private String status;
+    private Integer ativo;
+    private Integer idAmbiente;
+}
@@ -0,0 +1,29 @@
+package com.ecosmart.eco.dto;
+
+import com.ecosmart.eco.model.EventoAuditoria;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Página da trilha de auditoria, do evento mais recente para o mais antigo
+ * O cliente envia o proximoCursor e o proximoCursorInstante recebidos para buscar a página
+ * seguinte (mais antiga)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaAuditoria {
+
+    private List<EventoAuditoria> itens;
+
+    // ID e instante do último evento da página - null quando não há mais eventos
+    private Long proximoCursor;
+
+    private Instant proximoCursorInstante;
+
+    private boolean temMais;
+}
@@ -0,0 +1,65 @@
+package com.ecosmart.eco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados com paginação por cursor (keyset na coluna de ID)
+ * O cliente envia o proximoCursor recebido para buscar a página seguinte
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursor<T> {
+
+    public static final int TAMANHO_PADRAO = 50;
+    public static final int TAMANHO_MAXIMO = 500;
+
+    private List<T> itens;
+
+    // ID do último item da página - null quando não há mais registros
+    private Integer proximoCursor;
+
+    private boolean temMais;
+
+    /**
+     * Normaliza o cursor recebido - ausente ou negativo começa do início
+     */
+    public static int normalizarCursor(Integer cursor) {
+        return cursor == null || cursor < 0 ? 0 : cursor;
+    }
+
+    /**
+     * Aplica o tamanho padrão e o limite máximo de itens por página
+     */
+    public static int normalizarLimite(Integer limite) {
+        if (limite == null || limite <= 0) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.min(limite, TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Pageable para a consulta keyset - busca um item a mais para saber se existe próxima página
+     */
+    public static Pageable consulta(int limite) {
+        return PageRequest.of(0, limite + 1);
+    }
+
+    /**
+     * Monta a página a partir do resultado da consulta keyset (limite + 1 itens)
+     */
+    public static <T> PaginaCursor<T> de(List<T> resultado, int limite, Function<T, Integer> extratorId) {
+        boolean temMais = resultado.size() > limite;
+        List<T> itens = temMais ? new ArrayList<>(resultado.subList(0, limite)) : resultado;
+        Integer proximoCursor = temMais ? extratorId.apply(itens.get(itens.size() - 1)) : null;
+        return new PaginaCursor<>(itens, proximoCursor, temMais);
+    }
+}
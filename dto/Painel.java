@@ -0,0 +1,26 @@
+package com.ecosmart.eco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Painel inicial (GET /api/dashboard): totais e uma linha por ambiente
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Painel {
+
+    private Instant geradoEm;
+    private long ambientes;
+    private long objetos;
+    private long ativos;
+    private long potenciaInstalada;
+    private long ligados;
+    private long desligados;
+    private List<PainelAmbiente> porAmbiente;
+}
@@ -0,0 +1,23 @@
+package com.ecosmart.eco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha do painel: objetos de um ambiente (idAmbiente nulo = objetos sem ambiente)
+ * potenciaInstalada é a soma das potências (W) de todos os objetos, ligados ou não
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PainelAmbiente {
+
+    private Integer idAmbiente;
+    private String nome;
+    private long objetos;
+    private long ativos;
+    private long potenciaInstalada;
+    private long ligados;
+    private long desligados;
+}
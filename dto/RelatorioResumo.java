@@ -0,0 +1,21 @@
+package com.ecosmart.eco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Visão somente leitura de um Relatorio com ID e nome do ambiente e do usuário
+ * Preenchida direto por projeção JPQL (não é entidade gerenciada)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatorioResumo {
+
+    private Integer idRelatorio;
+    private Integer idAmbiente;
+    private String nomeAmbiente;
+    private Integer idUsuario;
+    private String nomeUsuario;
+}
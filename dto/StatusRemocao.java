@@ -0,0 +1,37 @@
+package com.ecosmart.eco.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Situação de uma remoção de relatórios executada em segundo plano
+ * Atualizada pela thread do job e lida pelo endpoint de status
+ */
+@Data
+public class StatusRemocao {
+
+    public enum Situacao {
+        PENDENTE,
+        EXECUTANDO,
+        CONCLUIDA,
+        FALHOU
+    }
+
+    private String id;
+    private String alvo;
+    private Integer alvoId;
+    private volatile Situacao situacao = Situacao.PENDENTE;
+    private volatile long total;
+    private volatile long removidos;
+    private volatile String erro;
+    private LocalDateTime iniciadoEm;
+    private volatile LocalDateTime concluidoEm;
+
+    public StatusRemocao(String id, String alvo, Integer alvoId) {
+        this.id = id;
+        this.alvo = alvo;
+        this.alvoId = alvoId;
+        this.iniciadoEm = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecosmart.eco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Item de autocompletar: ID e texto (sem a entidade)
+ * Em sugestões de valores distintos (ex.: tipo de objeto) o ID é nulo
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Sugestao {
+
+    private Integer id;
+    private String texto;
+}
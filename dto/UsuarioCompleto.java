@@ -0,0 +1,23 @@
+package com.ecosmart.eco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Usuário com ambientes e relatórios - montado com uma consulta por coleção
+ * (linhas = 1 + ambientes + relatórios, sem produto cartesiano)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioCompleto {
+
+    private Integer idUsuario;
+    private String nome;
+    private String email;
+    private List<AmbienteResumo> ambientes;
+    private List<RelatorioResumo> relatorios;
+}
@@ -0,0 +1,19 @@
+package com.ecosmart.eco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Visão somente leitura de um Usuario - sem a senha e sem as coleções
+ * Preenchida direto por projeção JPQL (não é entidade gerenciada)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioResumo {
+
+    private Integer idUsuario;
+    private String nome;
+    private String email;
+}
@@ -0,0 +1,101 @@
+package com.ecosmart.eco.eventos;
+
+import com.ecosmart.eco.dto.EventoObjeto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Um cliente conectado por SSE e os eventos ainda não enviados a ele
+ *
+ * Os eventos pendentes ficam indexados por objeto: várias mudanças do mesmo objeto
+ * entre dois envios viram uma só (vale o estado mais recente). Enquanto um envio
+ * está em andamento o cliente não recebe outro - um cliente lento acumula no máximo
+ * um evento por objeto, sem segurar os demais.
+ */
+public class AssinaturaEventos {
+
+    private final SseEmitter emitter;
+    private final Set<Integer> ambientes;
+    private final int maximoPendentes;
+
+    private final Map<Integer, EventoObjeto> pendentes = new LinkedHashMap<>();
+    private boolean resincronizar;
+
+    private final AtomicBoolean enviando = new AtomicBoolean();
+    private volatile long ultimoEnvio = System.currentTimeMillis();
+
+    public AssinaturaEventos(SseEmitter emitter, Set<Integer> ambientes, int maximoPendentes) {
+        this.emitter = emitter;
+        this.ambientes = Collections.unmodifiableSet(ambientes);
+        this.maximoPendentes = maximoPendentes;
+    }
+
+    /**
+     * Enfileira o evento, substituindo o pendente do mesmo objeto
+     * Se o cliente acumular objetos demais, descarta tudo e pede que ele recarregue o estado
+     */
+    public synchronized void publicar(EventoObjeto evento) {
+        if (resincronizar) {
+            return;
+        }
+        pendentes.remove(evento.getIdObjeto());
+        pendentes.put(evento.getIdObjeto(), evento);
+        if (pendentes.size() > maximoPendentes) {
+            pendentes.clear();
+            resincronizar = true;
+        }
+    }
+
+    public synchronized boolean temPendentes() {
+        return resincronizar || !pendentes.isEmpty();
+    }
+
+    /**
+     * Retira os eventos pendentes (na ordem da última mudança de cada objeto)
+     */
+    public synchronized List<EventoObjeto> drenar() {
+        List<EventoObjeto> eventos = new ArrayList<>(pendentes.values());
+        pendentes.clear();
+        return eventos;
+    }
+
+    /**
+     * Retorna true uma única vez depois que o limite de pendentes foi estourado
+     */
+    public synchronized boolean consumirResincronizacao() {
+        boolean valor = resincronizar;
+        resincronizar = false;
+        return valor;
+    }
+
+    /**
+     * Reserva o cliente para um envio - false se já houver um envio em andamento
+     */
+    public boolean iniciarEnvio() {
+        return enviando.compareAndSet(false, true);
+    }
+
+    public void concluirEnvio() {
+        ultimoEnvio = System.currentTimeMillis();
+        enviando.set(false);
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public Set<Integer> getAmbientes() {
+        return ambientes;
+    }
+
+    public long getUltimoEnvio() {
+        return ultimoEnvio;
+    }
+}
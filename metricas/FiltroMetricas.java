@@ -0,0 +1,114 @@
+package com.ecosmart.eco.metricas;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Latência de cada requisição em /api/** por método HTTP, rota (o padrão do mapeamento, ex.:
+ * /api/ambientes/{id}/completo, não a URL) e status da resposta
+ *
+ * Filtro em vez de HandlerInterceptor: requisições assíncronas (SSE, StreamingResponseBody)
+ * são medidas até o fim da resposta, e uma exceção que escapa do controller conta como 500
+ * (o status da resposta ainda seria 200 nesse ponto).
+ */
+@Component
+public class FiltroMetricas extends OncePerRequestFilter {
+
+    public static final String METRICA = "ecosmart_http_requisicao_segundos";
+
+    private static final String PREFIXO = "/api/";
+
+    @Autowired
+    private RegistroMetricas registroMetricas;
+
+    @PostConstruct
+    public void iniciar() {
+        registroMetricas.declararLatencia(METRICA, "Latência das requisições HTTP por rota");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + PREFIXO);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        boolean falhou = true;
+        try {
+            chain.doFilter(request, response);
+            falhou = false;
+        } finally {
+            if (!falhou && request.isAsyncStarted()) {
+                // Registrado quando a resposta assíncrona termina (ou expira/falha)
+                request.getAsyncContext().addListener(new ListenerAssincrono(request, inicio));
+            } else {
+                registrar(request, falhou ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                        inicio);
+            }
+        }
+    }
+
+    private void registrar(HttpServletRequest request, int status, long inicio) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String rota = padrao != null ? padrao.toString() : "desconhecida";
+        String rotulos = "metodo=\"" + request.getMethod()
+                + "\",rota=\"" + RegistroMetricas.escapar(rota)
+                + "\",status=\"" + status + "\"";
+        registroMetricas.registrarLatencia(METRICA, rotulos, System.nanoTime() - inicio);
+    }
+
+    private class ListenerAssincrono implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final long inicio;
+        private boolean registrado;
+
+        ListenerAssincrono(HttpServletRequest request, long inicio) {
+            this.request = request;
+            this.inicio = inicio;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent evento) {
+            HttpServletResponse response = (HttpServletResponse) evento.getSuppliedResponse();
+            registrarUmaVez(response.getStatus());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent evento) {
+            registrarUmaVez(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+
+        @Override
+        public void onError(AsyncEvent evento) {
+            registrarUmaVez(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent evento) {
+            // Novo ciclo assíncrono na mesma requisição - continua ouvindo
+            evento.getAsyncContext().addListener(this);
+        }
+
+        // onComplete também é chamado depois de onTimeout/onError
+        private synchronized void registrarUmaVez(int status) {
+            if (!registrado) {
+                registrado = true;
+                registrar(request, status, inicio);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.ecosmart.eco.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma log-linear de valores não negativos (latências, tamanhos de resultado)
+ *
+ * Cada potência de 2 é dividida em SUBFAIXAS faixas iguais, então o erro relativo de um
+ * percentil fica abaixo de 1/SUBFAIXAS (12,5%) em toda a escala. Registrar um valor é um
+ * incremento atômico em um array fixo - sem lock e sem alocação.
+ */
+public class Histograma {
+
+    private static final int BITS_SUBFAIXA = 3;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+
+    // Faixas suficientes para qualquer long positivo
+    private static final int FAIXAS = (64 - BITS_SUBFAIXA) * SUBFAIXAS;
+
+    /**
+     * Limites (inclusive) exportados como buckets "le" do Prometheus: duas fronteiras de faixa
+     * por potência de 2 (1,5 x 2^n e 2^(n+1)), de ~25 µs a ~34 s em nanossegundos. Por serem
+     * fronteiras de faixa, a contagem acumulada em cada limite é exata.
+     */
+    public static final long[] LIMITES_EXPORTACAO = limitesExportacao(14, 35);
+
+    public record Resumo(long contagem, long soma, long maximo, double media, long p50, long p90, long p99) {
+    }
+
+    private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+    private final LongAdder soma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    public void registrar(long valor) {
+        if (valor < 0) {
+            valor = 0;
+        }
+        contagens.incrementAndGet(faixa(valor));
+        soma.add(valor);
+        maximo.accumulateAndGet(valor, Math::max);
+    }
+
+    /**
+     * Zera o histograma - registros concorrentes com a limpeza podem ser mantidos ou perdidos
+     */
+    public void limpar() {
+        for (int i = 0; i < FAIXAS; i++) {
+            contagens.set(i, 0);
+        }
+        soma.reset();
+        maximo.set(0);
+    }
+
+    public long soma() {
+        return soma.sum();
+    }
+
+    /**
+     * Contagem acumulada até cada limite de LIMITES_EXPORTACAO, mais o total na última posição
+     * Todos lidos da mesma cópia das faixas - o total nunca é menor que um acumulado
+     */
+    public long[] acumulado() {
+        long[] resultado = new long[LIMITES_EXPORTACAO.length + 1];
+        long total = 0;
+        int limite = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            while (limite < LIMITES_EXPORTACAO.length && limiteSuperior(i) > LIMITES_EXPORTACAO[limite]) {
+                resultado[limite++] = total;
+            }
+            total += contagens.get(i);
+        }
+        while (limite < LIMITES_EXPORTACAO.length) {
+            resultado[limite++] = total;
+        }
+        resultado[LIMITES_EXPORTACAO.length] = total;
+        return resultado;
+    }
+
+    /**
+     * Percentis pelo limite superior da faixa (nunca acima do máximo observado)
+     */
+    public Resumo resumo() {
+        long[] copia = new long[FAIXAS];
+        long total = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            copia[i] = contagens.get(i);
+            total += copia[i];
+        }
+        long maior = maximo.get();
+        long somaAtual = soma.sum();
+        return new Resumo(total, somaAtual, maior, total > 0 ? (double) somaAtual / total : 0,
+                percentil(copia, total, 0.50, maior),
+                percentil(copia, total, 0.90, maior),
+                percentil(copia, total, 0.99, maior));
+    }
+
+    // ============================================================
+    // AUXILIARES
+    // ============================================================
+
+    static int faixa(long valor) {
+        if (valor < SUBFAIXAS) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int subfaixa = (int) (valor >>> (expoente - BITS_SUBFAIXA)) & (SUBFAIXAS - 1);
+        return (expoente - BITS_SUBFAIXA + 1) * SUBFAIXAS + subfaixa;
+    }
+
+    static long limiteSuperior(int faixa) {
+        if (faixa < SUBFAIXAS) {
+            return faixa;
+        }
+        int expoente = faixa / SUBFAIXAS + BITS_SUBFAIXA - 1;
+        int deslocamento = expoente - BITS_SUBFAIXA;
+        long inicio = (long) (SUBFAIXAS + faixa % SUBFAIXAS) << deslocamento;
+        return inicio + (1L << deslocamento) - 1;
+    }
+
+    private static long[] limitesExportacao(int menorExpoente, int maiorExpoente) {
+        long[] limites = new long[(maiorExpoente - menorExpoente) * 2];
+        int i = 0;
+        for (int expoente = menorExpoente; expoente < maiorExpoente; expoente++) {
+            int primeira = faixa(1L << expoente);
+            limites[i++] = limiteSuperior(primeira + SUBFAIXAS / 2 - 1);
+            limites[i++] = limiteSuperior(primeira + SUBFAIXAS - 1);
+        }
+        return limites;
+    }
+
+    private static long percentil(long[] contagens, long total, double fracao, long maximo) {
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = (long) Math.ceil(total * fracao);
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+}
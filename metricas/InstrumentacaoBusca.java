@@ -0,0 +1,111 @@
+package com.ecosmart.eco.metricas;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Latência e tamanho do resultado de cada operação de busca dos services
+ *
+ * O caminho comum só incrementa histogramas (sem formatar texto e sem alocar).
+ * O log por chamada só é gerado com ecosmart.instrumentacao.debug=true, com o logger do
+ * service em FINE, ou para 1 a cada N chamadas (ecosmart.instrumentacao.amostragem-log=N).
+ * As latências também saem em /metricas (ecosmart_busca_objeto_segundos), em um histograma
+ * separado que nunca é zerado - o DELETE /api/instrumentacao/buscas limpa só os de diagnóstico
+ * (zerar a série exportada faria _count e _sum voltarem e quebraria o rate() do Prometheus).
+ */
+@Component
+public class InstrumentacaoBusca {
+
+    public record ResumoOperacao(String operacao, Histograma.Resumo latenciaNanos,
+                                 Histograma.Resumo tamanhoResultado) {
+    }
+
+    public static final String METRICA = "ecosmart_busca_objeto_segundos";
+
+    private static final class Operacao {
+        // Série de /metricas - monotônica
+        final Histograma exportada;
+        // Diagnóstico do endpoint - zerados pelo limpar()
+        final Histograma latenciaNanos = new Histograma();
+        final Histograma tamanhoResultado = new Histograma();
+
+        Operacao(Histograma exportada) {
+            this.exportada = exportada;
+        }
+    }
+
+    @Autowired
+    private RegistroMetricas registroMetricas;
+
+    @Value("${ecosmart.instrumentacao.debug:false}")
+    private boolean debug;
+
+    // 0 = sem amostragem
+    @Value("${ecosmart.instrumentacao.amostragem-log:0}")
+    private int amostragemLog;
+
+    private final Map<String, Operacao> operacoes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void iniciar() {
+        registroMetricas.declararLatencia(METRICA, "Latência das operações de busca de objetos");
+    }
+
+    /**
+     * @param tamanho quantidade de registros retornados (0 ou 1 para Optional)
+     */
+    public void registrar(Logger logger, String operacao, long duracaoNanos, int tamanho, Object[] parametros) {
+        Operacao metricas = operacoes.get(operacao);
+        if (metricas == null) {
+            metricas = operacoes.computeIfAbsent(operacao, chave -> new Operacao(
+                    registroMetricas.latencia(METRICA, "operacao=\"" + chave + "\"")));
+        }
+        metricas.exportada.registrar(duracaoNanos);
+        metricas.latenciaNanos.registrar(duracaoNanos);
+        metricas.tamanhoResultado.registrar(tamanho);
+
+        if (deveRegistrarLog(logger)) {
+            logger.info(String.format("Operação %s com parâmetros %s: %d registros em %dµs",
+                    operacao, Arrays.toString(parametros), tamanho, duracaoNanos / 1000));
+        }
+    }
+
+    public List<ResumoOperacao> resumo() {
+        return operacoes.entrySet().stream()
+                .map(entrada -> new ResumoOperacao(entrada.getKey(),
+                        entrada.getValue().latenciaNanos.resumo(),
+                        entrada.getValue().tamanhoResultado.resumo()))
+                .sorted(Comparator.comparing(ResumoOperacao::operacao))
+                .toList();
+    }
+
+    /**
+     * Zera os histogramas de diagnóstico - a série exportada em /metricas não muda
+     */
+    public void limpar() {
+        operacoes.values().forEach(operacao -> {
+            operacao.latenciaNanos.limpar();
+            operacao.tamanhoResultado.limpar();
+        });
+    }
+
+    private boolean deveRegistrarLog(Logger logger) {
+        if (debug || logger.isLoggable(Level.FINE)) {
+            return true;
+        }
+        return amostragemLog > 0
+                && ThreadLocalRandom.current().nextInt(amostragemLog) == 0
+                && logger.isLoggable(Level.INFO);
+    }
+}
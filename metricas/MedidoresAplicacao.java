@@ -0,0 +1,104 @@
+package com.ecosmart.eco.metricas;
+
+import com.ecosmart.eco.cache.CacheEntidades;
+import com.ecosmart.eco.cache.CacheLocal;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Medidores lidos na exportação: pool de conexões (Hikari) e caches de leitura
+ */
+@Component
+public class MedidoresAplicacao {
+
+    @Autowired
+    private RegistroMetricas registroMetricas;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CacheEntidades cacheEntidades;
+
+    @PostConstruct
+    public void iniciar() {
+        registrarPool();
+        registrarCaches();
+    }
+
+    // ============================================================
+    // POOL DE CONEXÕES
+    // ============================================================
+
+    private void registrarPool() {
+        HikariDataSource hikari = hikari();
+        if (hikari == null) {
+            return;
+        }
+        registrarMedidorPool("ecosmart_db_conexoes_ativas", "Conexões em uso", hikari,
+                HikariPoolMXBean::getActiveConnections);
+        registrarMedidorPool("ecosmart_db_conexoes_ociosas", "Conexões livres no pool", hikari,
+                HikariPoolMXBean::getIdleConnections);
+        registrarMedidorPool("ecosmart_db_conexoes_total", "Conexões abertas", hikari,
+                HikariPoolMXBean::getTotalConnections);
+        registrarMedidorPool("ecosmart_db_conexoes_aguardando", "Threads esperando uma conexão", hikari,
+                HikariPoolMXBean::getThreadsAwaitingConnection);
+        registroMetricas.registrarMedidor("ecosmart_db_conexoes_maximo", "Tamanho máximo do pool",
+                hikari::getMaximumPoolSize);
+    }
+
+    private void registrarMedidorPool(String nome, String ajuda, HikariDataSource hikari,
+                                      ToIntFunction<HikariPoolMXBean> leitura) {
+        // O MXBean só existe depois que o pool é iniciado (primeira conexão)
+        registroMetricas.registrarMedidor(nome, ajuda, () -> {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool != null ? leitura.applyAsInt(pool) : null;
+        });
+    }
+
+    private HikariDataSource hikari() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    // ============================================================
+    // CACHES
+    // ============================================================
+
+    private void registrarCaches() {
+        registrarMedidorCache("ecosmart_cache_acertos_total", "counter", "Leituras atendidas pelo cache",
+                CacheLocal.Estatisticas::acertos);
+        registrarMedidorCache("ecosmart_cache_falhas_total", "counter", "Leituras que foram ao banco",
+                CacheLocal.Estatisticas::falhas);
+        registrarMedidorCache("ecosmart_cache_remocoes_total", "counter", "Entradas removidas por tamanho ou expiração",
+                CacheLocal.Estatisticas::remocoes);
+        registrarMedidorCache("ecosmart_cache_taxa_acerto", "gauge", "Fração das leituras atendidas pelo cache",
+                CacheLocal.Estatisticas::taxaAcerto);
+        registrarMedidorCache("ecosmart_cache_tamanho", "gauge", "Entradas no cache",
+                CacheLocal.Estatisticas::tamanho);
+    }
+
+    private void registrarMedidorCache(String nome, String tipo, String ajuda,
+                                       ToDoubleFunction<CacheLocal.Estatisticas> leitura) {
+        registroMetricas.registrarColetor(nome, tipo, ajuda, () -> {
+            Map<String, Double> valores = new LinkedHashMap<>();
+            for (CacheLocal.Estatisticas estatisticas : cacheEntidades.estatisticas()) {
+                valores.put("cache=\"" + estatisticas.nome() + "\"", leitura.applyAsDouble(estatisticas));
+            }
+            return valores;
+        });
+    }
+}
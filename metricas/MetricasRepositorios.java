@@ -0,0 +1,76 @@
+package com.ecosmart.eco.metricas;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latência de cada método dos repositórios Spring Data
+ *
+ * Adiciona um interceptor ao proxy de cada repositório no momento em que a fábrica o cria,
+ * sem AspectJ. Cobre também os métodos herdados (findById, saveAll, ...).
+ */
+@Component
+public class MetricasRepositorios implements BeanPostProcessor {
+
+    public static final String METRICA = "ecosmart_repositorio_segundos";
+
+    // Resolvido só no primeiro uso - um BeanPostProcessor não deve antecipar a criação de outros beans
+    @Autowired
+    private ObjectProvider<RegistroMetricas> registroMetricas;
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String nomeBean) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> fabrica) {
+            fabrica.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, informacao) -> proxyFactory.addAdvice(
+                            new Medidor(informacao.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private class Medidor implements MethodInterceptor {
+
+        private final String repositorio;
+
+        // Rótulos montados uma vez por método
+        private final Map<Method, Histograma> porMetodo = new ConcurrentHashMap<>();
+
+        Medidor(String repositorio) {
+            this.repositorio = repositorio;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocacao) throws Throwable {
+            Method metodo = invocacao.getMethod();
+            if (metodo.getDeclaringClass() == Object.class) {
+                return invocacao.proceed();
+            }
+            long inicio = System.nanoTime();
+            try {
+                return invocacao.proceed();
+            } finally {
+                histograma(metodo).registrar(System.nanoTime() - inicio);
+            }
+        }
+
+        private Histograma histograma(Method metodo) {
+            Histograma histograma = porMetodo.get(metodo);
+            if (histograma == null) {
+                RegistroMetricas registro = registroMetricas.getObject();
+                registro.declararLatencia(METRICA, "Latência dos métodos dos repositórios");
+                histograma = porMetodo.computeIfAbsent(metodo, chave -> registro.latencia(METRICA,
+                        "repositorio=\"" + repositorio + "\",metodo=\"" + chave.getName() + "\""));
+            }
+            return histograma;
+        }
+    }
+}
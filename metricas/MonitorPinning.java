@@ -0,0 +1,104 @@
+package com.ecosmart.eco.metricas;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Diagnóstico de pinning no modo de threads virtuais
+ *
+ * Assina o evento JFR jdk.VirtualThreadPinned (thread virtual bloqueada sem liberar a portadora,
+ * tipicamente I/O ou espera dentro de synchronized) e conta as ocorrências acima do limite por
+ * local do código - o primeiro frame da aplicação, ou o do topo da pilha se não houver.
+ * Exportado em ecosmart_threads_virtuais_pinning_total; a primeira ocorrência de cada local
+ * vai para o log com a pilha.
+ */
+@Component
+@ConditionalOnProperty(name = "ecosmart.threads-virtuais.habilitado", havingValue = "true")
+public class MonitorPinning {
+
+    private static final Logger logger = Logger.getLogger(MonitorPinning.class.getName());
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final String PACOTE_APLICACAO = "com.ecosmart.";
+    private static final int FRAMES_NO_LOG = 12;
+
+    @Autowired
+    private RegistroMetricas registroMetricas;
+
+    @Value("${ecosmart.threads-virtuais.limite-pinning-ms:20}")
+    private long limitePinningMs;
+
+    private final Map<String, LongAdder> porLocal = new ConcurrentHashMap<>();
+    private RecordingStream gravacao;
+
+    @PostConstruct
+    public void iniciar() {
+        registroMetricas.registrarColetor("ecosmart_threads_virtuais_pinning_total", "counter",
+                "Threads virtuais presas à portadora além do limite, por local do código", () -> {
+                    Map<String, Long> valores = new LinkedHashMap<>();
+                    porLocal.forEach((local, contador) ->
+                            valores.put("local=\"" + RegistroMetricas.escapar(local) + "\"", contador.sum()));
+                    return valores;
+                });
+
+        gravacao = new RecordingStream();
+        gravacao.enable(EVENTO).withThreshold(Duration.ofMillis(limitePinningMs)).withStackTrace();
+        gravacao.onEvent(EVENTO, this::registrar);
+        gravacao.startAsync();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (gravacao != null) {
+            gravacao.close();
+        }
+    }
+
+    private void registrar(RecordedEvent evento) {
+        RecordedStackTrace pilha = evento.getStackTrace();
+        List<RecordedFrame> frames = pilha != null ? pilha.getFrames() : List.of();
+        String local = local(frames);
+
+        LongAdder novo = new LongAdder();
+        LongAdder contador = porLocal.putIfAbsent(local, novo);
+        if (contador == null) {
+            contador = novo;
+            logger.warning(String.format("Pinning de thread virtual por %d ms em %s:%n%s",
+                    evento.getDuration().toMillis(), local, frames.stream()
+                            .limit(FRAMES_NO_LOG)
+                            .map(frame -> "    at " + descrever(frame))
+                            .collect(Collectors.joining(System.lineSeparator()))));
+        }
+        contador.increment();
+    }
+
+    private static String local(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(PACOTE_APLICACAO))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(MonitorPinning::descrever)
+                .orElse("desconhecido");
+    }
+
+    private static String descrever(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
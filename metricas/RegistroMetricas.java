@@ -0,0 +1,168 @@
+package com.ecosmart.eco.metricas;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * Registro central das métricas da aplicação, exportadas no formato texto do Prometheus
+ *
+ * Latências ficam em histogramas (um por combinação de rótulos) e saem como histogram do
+ * Prometheus (_bucket acumulado por "le", _sum e _count, em segundos). Os percentis ficam com
+ * histogram_quantile sobre rate() no Prometheus: refletem a janela consultada, não a vida do
+ * processo, e podem ser agregados entre instâncias. Medidores são lidos só na hora da
+ * exportação, por coletores registrados pelos componentes (pool de conexões, caches, etc.).
+ */
+@Component
+public class RegistroMetricas {
+
+    /**
+     * Valores de um medidor ou contador por combinação de rótulos (ex.: cache="objetos")
+     */
+    @FunctionalInterface
+    public interface Coletor {
+        Map<String, ? extends Number> coletar();
+    }
+
+    private record Familia(String tipo, String ajuda) {
+    }
+
+    private record ColetorRegistrado(String ajuda, String tipo, Coletor coletor) {
+    }
+
+    private static final double NANOS_POR_SEGUNDO = 1_000_000_000.0;
+
+    private final Map<String, Familia> familias = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Histograma>> latencias = new ConcurrentHashMap<>();
+    private final Map<String, ColetorRegistrado> coletores = new ConcurrentSkipListMap<>();
+
+    // ============================================================
+    // REGISTRO
+    // ============================================================
+
+    /**
+     * Declara uma métrica de latência (histogram em segundos)
+     */
+    public void declararLatencia(String nome, String ajuda) {
+        familias.putIfAbsent(nome, new Familia("histogram", ajuda));
+    }
+
+    /**
+     * @param rotulos rótulos já no formato do Prometheus, ex.: metodo="GET",rota="/api/x" (vazio = sem rótulos)
+     */
+    public void registrarLatencia(String nome, String rotulos, long duracaoNanos) {
+        latencia(nome, rotulos).registrar(duracaoNanos);
+    }
+
+    /**
+     * Histograma (em nanossegundos) da série - quem registra com frequência pode guardar a referência
+     */
+    public Histograma latencia(String nome, String rotulos) {
+        Map<String, Histograma> porRotulos = latencias.get(nome);
+        if (porRotulos == null) {
+            porRotulos = latencias.computeIfAbsent(nome, chave -> new ConcurrentHashMap<>());
+        }
+        Histograma histograma = porRotulos.get(rotulos);
+        if (histograma == null) {
+            histograma = porRotulos.computeIfAbsent(rotulos, chave -> new Histograma());
+        }
+        return histograma;
+    }
+
+    /**
+     * @param tipo "gauge" ou "counter"
+     */
+    public void registrarColetor(String nome, String tipo, String ajuda, Coletor coletor) {
+        coletores.put(nome, new ColetorRegistrado(ajuda, tipo, coletor));
+    }
+
+    public void registrarMedidor(String nome, String ajuda, Supplier<? extends Number> valor) {
+        registrarColetor(nome, "gauge", ajuda, () -> {
+            Number atual = valor.get();
+            return atual != null ? Map.of("", atual) : Map.of();
+        });
+    }
+
+    // ============================================================
+    // EXPORTAÇÃO
+    // ============================================================
+
+    /**
+     * Texto no formato de exposição do Prometheus (versão 0.0.4)
+     */
+    public String exportar() {
+        StringBuilder saida = new StringBuilder(8192);
+
+        for (Map.Entry<String, Map<String, Histograma>> metrica : new TreeMap<>(latencias).entrySet()) {
+            String nome = metrica.getKey();
+            Familia familia = familias.getOrDefault(nome, new Familia("histogram", nome));
+            cabecalho(saida, nome, familia.ajuda(), familia.tipo());
+            for (Map.Entry<String, Histograma> serie : new TreeMap<>(metrica.getValue()).entrySet()) {
+                escreverHistograma(saida, nome, serie.getKey(), serie.getValue());
+            }
+        }
+
+        for (Map.Entry<String, ColetorRegistrado> metrica : coletores.entrySet()) {
+            ColetorRegistrado registrado = metrica.getValue();
+            cabecalho(saida, metrica.getKey(), registrado.ajuda(), registrado.tipo());
+            registrado.coletor().coletar().forEach((rotulos, valor) ->
+                    amostra(saida, metrica.getKey(), rotulos, valor.doubleValue()));
+        }
+        return saida.toString();
+    }
+
+    /**
+     * Aspas, barra invertida e quebra de linha escapadas para o valor de um rótulo
+     */
+    public static String escapar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        return valor.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    // ============================================================
+    // AUXILIARES
+    // ============================================================
+
+    private static void escreverHistograma(StringBuilder saida, String nome, String rotulos, Histograma histograma) {
+        String separador = rotulos.isEmpty() ? "" : rotulos + ",";
+        long[] acumulado = histograma.acumulado();
+        long soma = histograma.soma();
+        long[] limites = Histograma.LIMITES_EXPORTACAO;
+        for (int i = 0; i < limites.length; i++) {
+            // Limite inclusive em nanossegundos: v <= limite  <=>  v < limite + 1
+            amostra(saida, nome + "_bucket", separador + "le=\"" + (limites[i] + 1) / NANOS_POR_SEGUNDO + "\"",
+                    acumulado[i]);
+        }
+        long total = acumulado[limites.length];
+        amostra(saida, nome + "_bucket", separador + "le=\"+Inf\"", total);
+        amostra(saida, nome + "_sum", rotulos, soma / NANOS_POR_SEGUNDO);
+        amostra(saida, nome + "_count", rotulos, total);
+    }
+
+    private static void cabecalho(StringBuilder saida, String nome, String ajuda, String tipo) {
+        saida.append("# HELP ").append(nome).append(' ').append(ajuda).append('\n');
+        saida.append("# TYPE ").append(nome).append(' ').append(tipo).append('\n');
+    }
+
+    private static void amostra(StringBuilder saida, String nome, String rotulos, double valor) {
+        saida.append(nome);
+        if (!rotulos.isEmpty()) {
+            saida.append('{').append(rotulos).append('}');
+        }
+        saida.append(' ');
+        if (Double.isNaN(valor)) {
+            saida.append("NaN");
+        } else if (valor == Math.rint(valor) && Math.abs(valor) < 1e15) {
+            saida.append((long) valor);
+        } else {
+            saida.append(valor);
+        }
+        saida.append('\n');
+    }
+}
@@ -2,10 +2,18 @@ package com.ecosmart.eco.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
-@Table(name = "ambiente") // nome da tabela em minúsculo
+@Table(name = "ambiente", // nome da tabela em minúsculo
+        indexes = {
+                @Index(name = "idx_ambiente_qtd_objetos", columnList = "qtd_objetos"),
+                @Index(name = "idx_ambiente_qtd_usuarios", columnList = "qtd_usuarios")
+        })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ambiente")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,7 +21,8 @@ import java.util.List;
 public class Ambiente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ambiente_seq")
+    @SequenceGenerator(name = "ambiente_seq", sequenceName = "ambiente_seq", allocationSize = 50)
     @Column(name = "id_ambiente") // ou o nome real da coluna ID
     private Integer idAmbiente;
 
@@ -24,16 +33,32 @@ public class Ambiente {
     @Column(name = "descricao", length = 500)
     private String descricao;
 
+    // CONTADORES DENORMALIZADOS dos relacionamentos (mantidos pelo ContadoresAmbienteService)
+    // Nunca gravados pelo save() do ambiente - só por UPDATE de incremento/recálculo
+    @Column(name = "qtd_objetos", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "int not null default 0")
+    private int qtdObjetos;
+
+    @Column(name = "qtd_usuarios", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "int not null default 0")
+    private int qtdUsuarios;
+
+    @Column(name = "qtd_relatorios", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "int not null default 0")
+    private int qtdRelatorios;
+
     // Relacionamento One-to-Many com Objeto - CORRIGIDO LOGICAMENTE
     @OneToMany(mappedBy = "ambiente", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ambiente.objetos")
     private List<Objeto> objetos;
 
     // Relacionamento Many-to-Many com Usuario
     @ManyToMany(mappedBy = "ambientes", fetch = FetchType.LAZY)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ambiente.usuarios")
     private List<Usuario> usuarios;
 
     // Relacionamento One-to-Many com Relatorio
@@ -50,7 +75,7 @@ public class Ambiente {
 
     /**
      * Método Facade: Obtém informações completas do ambiente de forma simplificada
-     * Encapsula a complexidade de acessar múltiplos relacionamentos
+     * Usa os contadores denormalizados - não inicializa as coleções LAZY
      * @return String com resumo completo do ambiente
      */
     public String obterResumoCompleto() {
@@ -61,16 +86,16 @@ public class Ambiente {
             resumo.append(" - ").append(descricao);
         }
 
-        if (objetos != null && !objetos.isEmpty()) {
-            resumo.append(" | Objetos: ").append(objetos.size());
+        if (qtdObjetos > 0) {
+            resumo.append(" | Objetos: ").append(qtdObjetos);
         }
 
-        if (usuarios != null && !usuarios.isEmpty()) {
-            resumo.append(" | Usuários: ").append(usuarios.size());
+        if (qtdUsuarios > 0) {
+            resumo.append(" | Usuários: ").append(qtdUsuarios);
         }
 
-        if (relatorios != null && !relatorios.isEmpty()) {
-            resumo.append(" | Relatórios: ").append(relatorios.size());
+        if (qtdRelatorios > 0) {
+            resumo.append(" | Relatórios: ").append(qtdRelatorios);
         }
 
         return resumo.toString();
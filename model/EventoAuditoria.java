@@ -0,0 +1,58 @@
+package com.ecosmart.eco.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Registro da trilha de auditoria: quem criou, alterou ou removeu qual entidade e quando
+ * Tabela somente de inserção. Os índices terminam em (instante, id_evento), a ordem das
+ * páginas da consulta: período, período de uma entidade e histórico de um registro.
+ */
+@Entity
+@Immutable
+@Table(name = "evento_auditoria",
+        indexes = {
+                @Index(name = "idx_evento_auditoria_instante_id", columnList = "instante, id_evento"),
+                @Index(name = "idx_evento_auditoria_entidade_instante", columnList = "entidade, instante, id_evento"),
+                @Index(name = "idx_evento_auditoria_registro", columnList = "entidade, id_entidade, instante, id_evento")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoAuditoria {
+
+    public enum Operacao {
+        CRIAR, ATUALIZAR, REMOVER
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_auditoria_seq")
+    @SequenceGenerator(name = "evento_auditoria_seq", sequenceName = "evento_auditoria_seq", allocationSize = 50)
+    @Column(name = "id_evento")
+    private Long idEvento;
+
+    // Instante do commit da operação auditada (não o da gravação do evento)
+    @Column(name = "instante", nullable = false)
+    private Instant instante;
+
+    // Nome da entidade: Objeto, Ambiente, Usuario ou Relatorio
+    @Column(name = "entidade", nullable = false, length = 30)
+    private String entidade;
+
+    @Column(name = "id_entidade")
+    private Integer idEntidade;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operacao", nullable = false, length = 15)
+    private Operacao operacao;
+
+    // Usuário informado pela operação, quando houver
+    @Column(name = "usuario", length = 100)
+    private String usuario;
+
+    @Column(name = "detalhe", length = 255)
+    private String detalhe;
+}
@@ -0,0 +1,55 @@
+package com.ecosmart.eco.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Leitura de telemetria de um objeto em um instante
+ * Tabela somente de inserção (append-only): chave primária crescente mantém
+ * as inserções no fim do índice clusterizado e o índice (id_objeto, instante)
+ * atende as consultas por período de cada dispositivo
+ */
+@Entity
+@Immutable
+@Table(name = "leitura_objeto",
+        indexes = @Index(name = "idx_leitura_objeto_instante", columnList = "id_objeto, instante"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeituraObjeto {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leitura_objeto_seq")
+    @SequenceGenerator(name = "leitura_objeto_seq", sequenceName = "leitura_objeto_seq", allocationSize = 50)
+    @Column(name = "id_leitura")
+    private Long idLeitura;
+
+    // Número de sequência (LSN) no log de telemetria - evita gravar duas vezes no replay
+    @Column(name = "sequencia", unique = true)
+    private Long sequencia;
+
+    // Referência simples ao objeto (sem @ManyToOne - leituras não carregam a entidade)
+    @Column(name = "id_objeto", nullable = false)
+    private Integer idObjeto;
+
+    @Column(name = "instante", nullable = false)
+    private Instant instante;
+
+    // Potência no momento da leitura (W)
+    @Column(name = "potencia")
+    private Integer potencia;
+
+    @Column(name = "status", length = 45)
+    private String status;
+
+    // Tempo de uso acumulado informado pelo objeto (h)
+    @Column(name = "tempo_uso")
+    private Double tempoUso;
+
+    // Tempo de uso desde a leitura anterior (h)
+    @Column(name = "delta_uso")
+    private Double deltaUso;
+}
@@ -2,17 +2,22 @@ package com.ecosmart.eco.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
 @Table(name = "objeto")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "objeto")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Objeto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "objeto_seq")
+    @SequenceGenerator(name = "objeto_seq", sequenceName = "objeto_seq", allocationSize = 50)
     @Column(name = "idObjeto")
     private Integer idObjeto;
 
@@ -11,7 +11,8 @@ import lombok.*;
 public class Relatorio {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "relatorio_seq")
+    @SequenceGenerator(name = "relatorio_seq", sequenceName = "relatorio_seq", allocationSize = 50)
     @Column(name = "id_relatorio")
     private Integer idRelatorio;
 
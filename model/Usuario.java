@@ -2,17 +2,22 @@ package com.ecosmart.eco.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
 @Table(name = "usuario")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Usuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuario_seq")
+    @SequenceGenerator(name = "usuario_seq", sequenceName = "usuario_seq", allocationSize = 50)
     @Column(name = "id_usuario")
     private Integer id_usuario;
 
@@ -34,6 +39,7 @@ public class Usuario {
     )
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario.ambientes")
     private List<Ambiente> ambientes;
 
 
@@ -0,0 +1,21 @@
+package com.ecosmart.reativo;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * API de leitura não bloqueante (WebFlux + R2DBC) para o tráfego do app mobile
+ *
+ * Módulo separado da aplicação principal (com.ecosmart.eco), com build próprio (reativo/pom.xml):
+ * WebFlux e R2DBC ficam só no classpath deste processo, nunca no da aplicação MVC. Lê as mesmas
+ * tabelas objeto e ambiente e só expõe GETs - toda escrita (e a manutenção dos contadores qtd_*)
+ * continua na aplicação principal. Conexão em application.properties (spring.r2dbc.*).
+ */
+@SpringBootApplication
+public class ReativoApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReativoApplication.class, args);
+	}
+
+}
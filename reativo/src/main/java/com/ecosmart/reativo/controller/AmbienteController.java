@@ -0,0 +1,133 @@
+package com.ecosmart.reativo.controller;
+
+import com.ecosmart.reativo.dto.PaginaCursor;
+import com.ecosmart.reativo.model.Ambiente;
+import com.ecosmart.reativo.model.Objeto;
+import com.ecosmart.reativo.service.AmbienteService;
+import com.ecosmart.reativo.service.ObjetoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Espelho dos GETs de /api/ambientes da API principal (mesmos campos do AmbienteResumo)
+ */
+@RestController
+@RequestMapping(value = "/api/ambientes", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+public class AmbienteController {
+
+    @Autowired
+    private AmbienteService ambienteService;
+
+    @Autowired
+    private ObjetoService objetoService;
+
+    // GET /api/ambientes?cursor={id}&limite={n} - Buscar ambientes paginados por cursor
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<PaginaCursor<Ambiente>> buscarTodos(@RequestParam(required = false) Integer cursor,
+                                                    @RequestParam(required = false) Integer limite) {
+        return ambienteService.buscarPagina(cursor, limite);
+    }
+
+    // GET /api/ambientes/{id} - Buscar ambiente por ID
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Ambiente>> buscarPorId(@PathVariable Integer id) {
+        return ambienteService.buscarPorId(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // GET /api/ambientes/nome/{nome} - Buscar por nome
+    @GetMapping("/nome/{nome}")
+    public Flux<Ambiente> buscarPorNome(@PathVariable String nome) {
+        return ambienteService.buscarPorNome(nome);
+    }
+
+    // GET /api/ambientes/search/{nome} - Buscar por nome contendo
+    @GetMapping("/search/{nome}")
+    public Flux<Ambiente> buscarPorNomeContendo(@PathVariable String nome) {
+        return ambienteService.buscarPorNomeContendo(nome);
+    }
+
+    // GET /api/ambientes/{id}/objetos - Objetos do ambiente (404 se o ambiente não existe)
+    @GetMapping("/{id}/objetos")
+    public Mono<ResponseEntity<Flux<Objeto>>> buscarObjetosPorAmbiente(@PathVariable Integer id) {
+        return ambienteService.existePorId(id)
+                .map(existe -> existe
+                        ? ResponseEntity.ok(objetoService.buscarPorAmbiente(id))
+                        : ResponseEntity.notFound().build());
+    }
+
+    // GET /api/ambientes/count - Contar ambientes
+    @GetMapping("/count")
+    public Mono<Long> contar() {
+        return ambienteService.contar();
+    }
+
+    // GET /api/ambientes/exists/nome/{nome} - Verificar se existe por nome
+    @GetMapping("/exists/nome/{nome}")
+    public Mono<Boolean> existePorNome(@PathVariable String nome) {
+        return ambienteService.existePorNome(nome);
+    }
+
+    // GET /api/ambientes/tipo-objeto/{tipoObjeto} - Buscar ambientes por tipo de objeto
+    @GetMapping("/tipo-objeto/{tipoObjeto}")
+    public Flux<Ambiente> buscarPorTipoObjeto(@PathVariable String tipoObjeto) {
+        return ambienteService.buscarPorTipoObjeto(tipoObjeto);
+    }
+
+    // GET /api/ambientes/nome-objeto/{nomeObjeto} - Buscar ambientes por nome do objeto
+    @GetMapping("/nome-objeto/{nomeObjeto}")
+    public Flux<Ambiente> buscarPorNomeObjeto(@PathVariable String nomeObjeto) {
+        return ambienteService.buscarPorNomeObjeto(nomeObjeto);
+    }
+
+    // GET /api/ambientes/status-objeto/{status} - Buscar ambientes por status do objeto
+    @GetMapping("/status-objeto/{status}")
+    public Flux<Ambiente> buscarPorStatusObjeto(@PathVariable String status) {
+        return ambienteService.buscarPorStatusObjeto(status);
+    }
+
+    // GET /api/ambientes/objetos-ativos/{ativo} - Buscar ambientes com objetos ativos/inativos
+    @GetMapping("/objetos-ativos/{ativo}")
+    public Flux<Ambiente> buscarPorObjetoAtivo(@PathVariable Integer ativo) {
+        return ambienteService.buscarPorObjetoAtivo(ativo);
+    }
+
+    // GET /api/ambientes/potencia-maior/{potencia} - Buscar ambientes com objetos de potência maior que
+    @GetMapping("/potencia-maior/{potencia}")
+    public Flux<Ambiente> buscarPorPotenciaObjetoMaiorQue(@PathVariable Integer potencia) {
+        return ambienteService.buscarPorPotenciaObjetoMaiorQue(potencia);
+    }
+
+    // GET /api/ambientes/potencia-entre/{min}/{max} - Buscar ambientes por faixa de potência dos objetos
+    @GetMapping("/potencia-entre/{min}/{max}")
+    public Flux<Ambiente> buscarPorFaixaPotenciaObjeto(@PathVariable Integer min,
+                                                       @PathVariable Integer max) {
+        return ambienteService.buscarPorFaixaPotenciaObjeto(min, max);
+    }
+
+    // GET /api/ambientes/sem-objetos - Buscar ambientes sem objetos
+    @GetMapping("/sem-objetos")
+    public Flux<Ambiente> buscarSemObjetos() {
+        return ambienteService.buscarAmbientesSemObjetos();
+    }
+
+    // GET /api/ambientes/sem-usuarios - Buscar ambientes sem usuários
+    @GetMapping("/sem-usuarios")
+    public Flux<Ambiente> buscarSemUsuarios() {
+        return ambienteService.buscarAmbientesSemUsuarios();
+    }
+
+    // GET /api/ambientes/mais-objetos/{quantidade} - Buscar ambientes com mais de N objetos
+    @GetMapping("/mais-objetos/{quantidade}")
+    public ResponseEntity<Flux<Ambiente>> buscarComMaisObjetos(@PathVariable Integer quantidade) {
+        if (quantidade < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ambienteService.buscarAmbientesComMaisQueXObjetos(quantidade));
+    }
+}
@@ -0,0 +1,142 @@
+package com.ecosmart.reativo.controller;
+
+import com.ecosmart.reativo.dto.PaginaCursor;
+import com.ecosmart.reativo.model.Objeto;
+import com.ecosmart.reativo.service.ObjetoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Espelho dos GETs de /api/objetos da API principal
+ * Com Accept: application/x-ndjson as listagens saem um objeto por linha, conforme o banco entrega
+ */
+@RestController
+@RequestMapping(value = "/api/objetos", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+public class ObjetoController {
+
+    @Autowired
+    private ObjetoService objetoService;
+
+    // GET /api/objetos?cursor={id}&limite={n} - Buscar objetos paginados por cursor
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<PaginaCursor<Objeto>> buscarTodos(@RequestParam(required = false) Integer cursor,
+                                                  @RequestParam(required = false) Integer limite) {
+        return objetoService.buscarPagina(cursor, limite);
+    }
+
+    // GET /api/objetos/{id} - Buscar objeto por ID
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Objeto>> buscarPorId(@PathVariable Integer id) {
+        return objetoService.buscarPorId(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // GET /api/objetos/nome/{nome} - Buscar por nome
+    @GetMapping("/nome/{nome}")
+    public Flux<Objeto> buscarPorNome(@PathVariable String nome) {
+        return objetoService.buscarPorNome(nome);
+    }
+
+    // GET /api/objetos/search/{nome} - Buscar por nome contendo
+    @GetMapping("/search/{nome}")
+    public Flux<Objeto> buscarPorNomeContendo(@PathVariable String nome) {
+        return objetoService.buscarPorNomeContendo(nome);
+    }
+
+    // GET /api/objetos/tipo/{tipo} - Buscar por tipo
+    @GetMapping("/tipo/{tipo}")
+    public Flux<Objeto> buscarPorTipo(@PathVariable String tipo) {
+        return objetoService.buscarPorTipo(tipo);
+    }
+
+    // GET /api/objetos/search/tipo/{tipo} - Buscar por tipo contendo
+    @GetMapping("/search/tipo/{tipo}")
+    public Flux<Objeto> buscarPorTipoContendo(@PathVariable String tipo) {
+        return objetoService.buscarPorTipoContendo(tipo);
+    }
+
+    // GET /api/objetos/status/{status} - Buscar por status
+    @GetMapping("/status/{status}")
+    public Flux<Objeto> buscarPorStatus(@PathVariable String status) {
+        return objetoService.buscarPorStatus(status);
+    }
+
+    // GET /api/objetos/ativo/{ativo} - Buscar por ativo
+    @GetMapping("/ativo/{ativo}")
+    public Flux<Objeto> buscarPorAtivo(@PathVariable Integer ativo) {
+        return objetoService.buscarPorAtivo(ativo);
+    }
+
+    // GET /api/objetos/potencia/{potencia} - Buscar por potência exata
+    @GetMapping("/potencia/{potencia}")
+    public Flux<Objeto> buscarPorPotencia(@PathVariable Integer potencia) {
+        return objetoService.buscarPorPotencia(potencia);
+    }
+
+    // GET /api/objetos/potencia/{min}/{max} - Buscar por faixa de potência
+    @GetMapping("/potencia/{min}/{max}")
+    public Flux<Objeto> buscarPorFaixaPotencia(@PathVariable Integer min,
+                                               @PathVariable Integer max) {
+        return objetoService.buscarPorFaixaPotencia(min, max);
+    }
+
+    // GET /api/objetos/potencia/maior/{potencia} - Buscar por potência maior que
+    @GetMapping("/potencia/maior/{potencia}")
+    public Flux<Objeto> buscarPorPotenciaMaiorQue(@PathVariable Integer potencia) {
+        return objetoService.buscarPorPotenciaMaiorQue(potencia);
+    }
+
+    // GET /api/objetos/tempo-uso/maior/{tempoUso} - Buscar por tempo de uso maior que
+    @GetMapping("/tempo-uso/maior/{tempoUso}")
+    public Flux<Objeto> buscarPorTempoUsoMaiorQue(@PathVariable Double tempoUso) {
+        return objetoService.buscarPorTempoUsoMaiorQue(tempoUso);
+    }
+
+    // GET /api/objetos/ativo/{ativo}/tipo/{tipo} - Buscar por ativo e tipo
+    @GetMapping("/ativo/{ativo}/tipo/{tipo}")
+    public Flux<Objeto> buscarPorAtivoETipo(@PathVariable Integer ativo,
+                                            @PathVariable String tipo) {
+        return objetoService.buscarPorAtivoETipo(ativo, tipo);
+    }
+
+    // GET /api/objetos/count - Contar objetos
+    @GetMapping("/count")
+    public Mono<Long> contar() {
+        return objetoService.contar();
+    }
+
+    // GET /api/objetos/count/tipo/{tipo} - Contar objetos por tipo
+    @GetMapping("/count/tipo/{tipo}")
+    public Mono<Long> contarPorTipo(@PathVariable String tipo) {
+        return objetoService.contarPorTipo(tipo);
+    }
+
+    // GET /api/objetos/count/status/{status} - Contar objetos por status
+    @GetMapping("/count/status/{status}")
+    public Mono<Long> contarPorStatus(@PathVariable String status) {
+        return objetoService.contarPorStatus(status);
+    }
+
+    // GET /api/objetos/count/ativo/{ativo} - Contar objetos ativos
+    @GetMapping("/count/ativo/{ativo}")
+    public Mono<Long> contarPorAtivo(@PathVariable Integer ativo) {
+        return objetoService.contarPorAtivo(ativo);
+    }
+
+    // GET /api/objetos/exists/nome/{nome} - Verificar se existe por nome
+    @GetMapping("/exists/nome/{nome}")
+    public Mono<Boolean> existePorNome(@PathVariable String nome) {
+        return objetoService.existePorNome(nome);
+    }
+
+    // GET /api/objetos/exists/tipo/{tipo} - Verificar se existe por tipo
+    @GetMapping("/exists/tipo/{tipo}")
+    public Mono<Boolean> existePorTipo(@PathVariable String tipo) {
+        return objetoService.existePorTipo(tipo);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecosmart.reativo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados com paginação por cursor (keyset na coluna de ID)
+ * Mesmo formato, tamanho padrão e limite máximo do PaginaCursor da API principal
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursor<T> {
+
+    public static final int TAMANHO_PADRAO = 50;
+    public static final int TAMANHO_MAXIMO = 500;
+
+    private List<T> itens;
+
+    // ID do último item da página - null quando não há mais registros
+    private Integer proximoCursor;
+
+    private boolean temMais;
+
+    /**
+     * Normaliza o cursor recebido - ausente ou negativo começa do início
+     */
+    public static int normalizarCursor(Integer cursor) {
+        return cursor == null || cursor < 0 ? 0 : cursor;
+    }
+
+    /**
+     * Aplica o tamanho padrão e o limite máximo de itens por página
+     */
+    public static int normalizarLimite(Integer limite) {
+        if (limite == null || limite <= 0) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.min(limite, TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Pageable para a consulta keyset - vira LIMIT limite + 1 no SQL, o item a mais diz se
+     * existe próxima página
+     */
+    public static Pageable consulta(int limite) {
+        return PageRequest.of(0, limite + 1);
+    }
+
+    /**
+     * Monta a página a partir da consulta keyset feita com consulta(limite)
+     */
+    public static <T> Mono<PaginaCursor<T>> de(Flux<T> consulta, int limite, Function<T, Integer> extratorId) {
+        return consulta.collectList()
+                .map(resultado -> {
+                    boolean temMais = resultado.size() > limite;
+                    List<T> itens = temMais ? new ArrayList<>(resultado.subList(0, limite)) : resultado;
+                    Integer proximoCursor = temMais ? extratorId.apply(itens.get(itens.size() - 1)) : null;
+                    return new PaginaCursor<>(itens, proximoCursor, temMais);
+                });
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecosmart.reativo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Linha da tabela ambiente com os contadores denormalizados (somente leitura)
+ * Mesmos campos do AmbienteResumo
+ */
+@Table("ambiente")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Ambiente {
+
+    @Id
+    @Column("id_ambiente")
+    private Integer idAmbiente;
+
+    @Column("nome")
+    private String nome;
+
+    @Column("descricao")
+    private String descricao;
+
+    @Column("qtd_objetos")
+    private int qtdObjetos;
+
+    @Column("qtd_usuarios")
+    private int qtdUsuarios;
+
+    @Column("qtd_relatorios")
+    private int qtdRelatorios;
+}
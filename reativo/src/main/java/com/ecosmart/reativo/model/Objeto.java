@@ -0,0 +1,45 @@
+package com.ecosmart.reativo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Linha da tabela objeto (mesmo schema da aplicação principal, somente leitura)
+ * Mesmos campos do ObjetoResumo - o JSON é igual ao da API principal
+ */
+@Table("objeto")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Objeto {
+
+    @Id
+    @Column("idObjeto")
+    private Integer idObjeto;
+
+    @Column("NomeObjeto")
+    private String nomeObjeto;
+
+    @Column("TipoObjeto")
+    private String tipoObjeto;
+
+    @Column("Potencia")
+    private Integer potencia;
+
+    @Column("TempoUso")
+    private Double tempoUso;
+
+    @Column("Status")
+    private String status;
+
+    @Column("Ativo")
+    private Integer ativo;
+
+    // Só a chave estrangeira - R2DBC não carrega relacionamentos
+    @Column("ambiente_id")
+    private Integer idAmbiente;
+}
@@ -0,0 +1,78 @@
+package com.ecosmart.reativo.repository;
+
+import com.ecosmart.reativo.model.Ambiente;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de ambiente sobre R2DBC (somente leitura, como o ObjetoRepository deste módulo)
+ */
+public interface AmbienteRepository extends Repository<Ambiente, Integer> {
+
+    // Filtros pelos objetos do ambiente: EXISTS em vez de JOIN + DISTINCT - cada ambiente sai
+    // uma vez, já na ordem do ID, sem o banco precisar deduplicar antes da primeira linha
+    String POR_OBJETO = "SELECT a.* FROM ambiente a WHERE EXISTS "
+            + "(SELECT 1 FROM objeto o WHERE o.ambiente_id = a.id_ambiente AND ";
+    String ORDEM = ") ORDER BY a.id_ambiente";
+
+    Mono<Ambiente> findById(Integer id);
+
+    Mono<Boolean> existsById(Integer id);
+
+    Mono<Long> count();
+
+    /**
+     * Keyset no ID - os ambientes depois do cursor, em ordem (LIMIT pelo Pageable)
+     * Padrão Query Method - Spring interpreta automaticamente
+     */
+    Flux<Ambiente> findByIdAmbienteGreaterThanOrderByIdAmbiente(Integer cursor, Pageable pageable);
+
+    /**
+     * Busca ambientes por nome
+     */
+    Flux<Ambiente> findByNomeOrderByIdAmbiente(String nome);
+
+    /**
+     * Busca ambientes cujo nome contém o texto (ignora maiúsculas)
+     */
+    Flux<Ambiente> findByNomeContainingIgnoreCaseOrderByIdAmbiente(String nome);
+
+    Mono<Boolean> existsByNome(String nome);
+
+    // ============================================================
+    // CONTADORES DENORMALIZADOS (índices de qtd_objetos e qtd_usuarios)
+    // ============================================================
+
+    Flux<Ambiente> findByQtdObjetosOrderByIdAmbiente(int qtdObjetos);
+
+    Flux<Ambiente> findByQtdUsuariosOrderByIdAmbiente(int qtdUsuarios);
+
+    Flux<Ambiente> findByQtdObjetosGreaterThanOrderByQtdObjetosDescIdAmbiente(int quantidade);
+
+    // ============================================================
+    // FILTROS PELOS OBJETOS DO AMBIENTE
+    // ============================================================
+
+    @Query(POR_OBJETO + "o.TipoObjeto = :tipoObjeto" + ORDEM)
+    Flux<Ambiente> findPorTipoObjeto(@Param("tipoObjeto") String tipoObjeto);
+
+    @Query(POR_OBJETO + "o.NomeObjeto = :nomeObjeto" + ORDEM)
+    Flux<Ambiente> findPorNomeObjeto(@Param("nomeObjeto") String nomeObjeto);
+
+    @Query(POR_OBJETO + "o.Status = :status" + ORDEM)
+    Flux<Ambiente> findPorStatusObjeto(@Param("status") String status);
+
+    @Query(POR_OBJETO + "o.Ativo = :ativo" + ORDEM)
+    Flux<Ambiente> findPorObjetoAtivo(@Param("ativo") Integer ativo);
+
+    @Query(POR_OBJETO + "o.Potencia > :potencia" + ORDEM)
+    Flux<Ambiente> findPorPotenciaObjetoMaiorQue(@Param("potencia") Integer potencia);
+
+    @Query(POR_OBJETO + "o.Potencia BETWEEN :potenciaMin AND :potenciaMax" + ORDEM)
+    Flux<Ambiente> findPorFaixaPotenciaObjeto(@Param("potenciaMin") Integer potenciaMin,
+                                              @Param("potenciaMax") Integer potenciaMax);
+}
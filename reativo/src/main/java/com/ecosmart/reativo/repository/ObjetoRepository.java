@@ -0,0 +1,99 @@
+package com.ecosmart.reativo.repository;
+
+import com.ecosmart.reativo.model.Objeto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de objeto sobre R2DBC
+ * Estende Repository (e não ReactiveCrudRepository) para não expor save/delete neste módulo;
+ * findById e count declarados aqui usam a implementação padrão do Spring Data
+ */
+public interface ObjetoRepository extends Repository<Objeto, Integer> {
+
+    Mono<Objeto> findById(Integer id);
+
+    /**
+     * Keyset no ID - os objetos depois do cursor, em ordem (LIMIT pelo Pageable)
+     * Padrão Query Method - Spring interpreta automaticamente
+     */
+    Flux<Objeto> findByIdObjetoGreaterThanOrderByIdObjeto(Integer cursor, Pageable pageable);
+
+    /**
+     * Busca objetos por nome
+     */
+    Flux<Objeto> findByNomeObjetoOrderByIdObjeto(String nomeObjeto);
+
+    /**
+     * Busca objetos cujo nome contém o texto (ignora maiúsculas)
+     */
+    Flux<Objeto> findByNomeObjetoContainingIgnoreCaseOrderByIdObjeto(String nomeObjeto);
+
+    /**
+     * Busca objetos por tipo
+     */
+    Flux<Objeto> findByTipoObjetoOrderByIdObjeto(String tipoObjeto);
+
+    /**
+     * Busca objetos cujo tipo contém o texto (ignora maiúsculas)
+     */
+    Flux<Objeto> findByTipoObjetoContainingIgnoreCaseOrderByIdObjeto(String tipoObjeto);
+
+    /**
+     * Busca objetos por status
+     */
+    Flux<Objeto> findByStatusOrderByIdObjeto(String status);
+
+    /**
+     * Busca objetos ativos/inativos
+     */
+    Flux<Objeto> findByAtivoOrderByIdObjeto(Integer ativo);
+
+    /**
+     * Busca objetos ativos/inativos de um tipo
+     */
+    Flux<Objeto> findByAtivoAndTipoObjetoOrderByIdObjeto(Integer ativo, String tipoObjeto);
+
+    /**
+     * Busca objetos por potência exata
+     */
+    Flux<Objeto> findByPotenciaOrderByIdObjeto(Integer potencia);
+
+    /**
+     * Busca objetos por faixa de potência (inclusiva)
+     */
+    Flux<Objeto> findByPotenciaBetweenOrderByIdObjeto(Integer potenciaMin, Integer potenciaMax);
+
+    /**
+     * Busca objetos com potência maior que o valor
+     */
+    Flux<Objeto> findByPotenciaGreaterThanOrderByIdObjeto(Integer potencia);
+
+    /**
+     * Busca objetos com tempo de uso maior que o valor
+     */
+    Flux<Objeto> findByTempoUsoGreaterThanOrderByIdObjeto(Double tempoUso);
+
+    /**
+     * Objetos de um ambiente
+     */
+    Flux<Objeto> findByIdAmbienteOrderByIdObjeto(Integer idAmbiente);
+
+    // ============================================================
+    // CONTAGENS E EXISTÊNCIA
+    // ============================================================
+
+    Mono<Long> count();
+
+    Mono<Long> countByTipoObjeto(String tipoObjeto);
+
+    Mono<Long> countByStatus(String status);
+
+    Mono<Long> countByAtivo(Integer ativo);
+
+    Mono<Boolean> existsByNomeObjeto(String nomeObjeto);
+
+    Mono<Boolean> existsByTipoObjeto(String tipoObjeto);
+}
@@ -0,0 +1,104 @@
+package com.ecosmart.reativo.service;
+
+import com.ecosmart.reativo.dto.PaginaCursor;
+import com.ecosmart.reativo.model.Ambiente;
+import com.ecosmart.reativo.repository.AmbienteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.ecosmart.reativo.service.Fluxos.emLotes;
+
+@Service
+public class AmbienteService {
+
+    @Autowired
+    private AmbienteRepository ambienteRepository;
+
+    // ============================================================
+    // CONSULTAS
+    // ============================================================
+
+    public Mono<Ambiente> buscarPorId(Integer id) {
+        return ambienteRepository.findById(id);
+    }
+
+    public Mono<Boolean> existePorId(Integer id) {
+        return ambienteRepository.existsById(id);
+    }
+
+    /**
+     * Página de ambientes após o cursor (keyset no ID)
+     */
+    public Mono<PaginaCursor<Ambiente>> buscarPagina(Integer cursor, Integer limite) {
+        int tamanho = PaginaCursor.normalizarLimite(limite);
+        return PaginaCursor.de(ambienteRepository.findByIdAmbienteGreaterThanOrderByIdAmbiente(
+                        PaginaCursor.normalizarCursor(cursor), PaginaCursor.consulta(tamanho)),
+                tamanho, Ambiente::getIdAmbiente);
+    }
+
+    public Flux<Ambiente> buscarPorNome(String nome) {
+        return emLotes(ambienteRepository.findByNomeOrderByIdAmbiente(nome));
+    }
+
+    public Flux<Ambiente> buscarPorNomeContendo(String nome) {
+        return emLotes(ambienteRepository.findByNomeContainingIgnoreCaseOrderByIdAmbiente(nome));
+    }
+
+    // ============================================================
+    // FILTROS PELOS OBJETOS DO AMBIENTE
+    // ============================================================
+
+    public Flux<Ambiente> buscarPorTipoObjeto(String tipoObjeto) {
+        return emLotes(ambienteRepository.findPorTipoObjeto(tipoObjeto));
+    }
+
+    public Flux<Ambiente> buscarPorNomeObjeto(String nomeObjeto) {
+        return emLotes(ambienteRepository.findPorNomeObjeto(nomeObjeto));
+    }
+
+    public Flux<Ambiente> buscarPorStatusObjeto(String status) {
+        return emLotes(ambienteRepository.findPorStatusObjeto(status));
+    }
+
+    public Flux<Ambiente> buscarPorObjetoAtivo(Integer ativo) {
+        return emLotes(ambienteRepository.findPorObjetoAtivo(ativo));
+    }
+
+    public Flux<Ambiente> buscarPorPotenciaObjetoMaiorQue(Integer potencia) {
+        return emLotes(ambienteRepository.findPorPotenciaObjetoMaiorQue(potencia));
+    }
+
+    public Flux<Ambiente> buscarPorFaixaPotenciaObjeto(Integer potenciaMin, Integer potenciaMax) {
+        return emLotes(ambienteRepository.findPorFaixaPotenciaObjeto(potenciaMin, potenciaMax));
+    }
+
+    // ============================================================
+    // CONTADORES DENORMALIZADOS
+    // ============================================================
+
+    public Flux<Ambiente> buscarAmbientesSemObjetos() {
+        return emLotes(ambienteRepository.findByQtdObjetosOrderByIdAmbiente(0));
+    }
+
+    public Flux<Ambiente> buscarAmbientesSemUsuarios() {
+        return emLotes(ambienteRepository.findByQtdUsuariosOrderByIdAmbiente(0));
+    }
+
+    public Flux<Ambiente> buscarAmbientesComMaisQueXObjetos(int quantidade) {
+        return emLotes(ambienteRepository.findByQtdObjetosGreaterThanOrderByQtdObjetosDescIdAmbiente(quantidade));
+    }
+
+    // ============================================================
+    // CONTAGENS E EXISTÊNCIA
+    // ============================================================
+
+    public Mono<Long> contar() {
+        return ambienteRepository.count();
+    }
+
+    public Mono<Boolean> existePorNome(String nome) {
+        return ambienteRepository.existsByNome(nome);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecosmart.reativo.service;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Backpressure das listagens: a demanda do cliente HTTP sobe até o driver R2DBC,
+ * que só lê do banco o que foi pedido
+ */
+public final class Fluxos {
+
+    // Linhas pedidas ao banco por vez (reabastece ao consumir 75%) - um cliente lento
+    // segura a leitura em vez de acumular a consulta inteira em memória
+    public static final int TAMANHO_LOTE = 256;
+
+    private Fluxos() {
+    }
+
+    public static <T> Flux<T> emLotes(Flux<T> consulta) {
+        return consulta.limitRate(TAMANHO_LOTE);
+    }
+}
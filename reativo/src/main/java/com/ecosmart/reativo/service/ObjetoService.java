@@ -0,0 +1,112 @@
+package com.ecosmart.reativo.service;
+
+import com.ecosmart.reativo.dto.PaginaCursor;
+import com.ecosmart.reativo.model.Objeto;
+import com.ecosmart.reativo.repository.ObjetoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.ecosmart.reativo.service.Fluxos.emLotes;
+
+@Service
+public class ObjetoService {
+
+    @Autowired
+    private ObjetoRepository objetoRepository;
+
+    // ============================================================
+    // CONSULTAS
+    // ============================================================
+
+    public Mono<Objeto> buscarPorId(Integer id) {
+        return objetoRepository.findById(id);
+    }
+
+    /**
+     * Página de objetos após o cursor (keyset no ID)
+     */
+    public Mono<PaginaCursor<Objeto>> buscarPagina(Integer cursor, Integer limite) {
+        int tamanho = PaginaCursor.normalizarLimite(limite);
+        return PaginaCursor.de(objetoRepository.findByIdObjetoGreaterThanOrderByIdObjeto(
+                        PaginaCursor.normalizarCursor(cursor), PaginaCursor.consulta(tamanho)),
+                tamanho, Objeto::getIdObjeto);
+    }
+
+    public Flux<Objeto> buscarPorNome(String nome) {
+        return emLotes(objetoRepository.findByNomeObjetoOrderByIdObjeto(nome));
+    }
+
+    public Flux<Objeto> buscarPorNomeContendo(String nome) {
+        return emLotes(objetoRepository.findByNomeObjetoContainingIgnoreCaseOrderByIdObjeto(nome));
+    }
+
+    public Flux<Objeto> buscarPorTipo(String tipo) {
+        return emLotes(objetoRepository.findByTipoObjetoOrderByIdObjeto(tipo));
+    }
+
+    public Flux<Objeto> buscarPorTipoContendo(String tipo) {
+        return emLotes(objetoRepository.findByTipoObjetoContainingIgnoreCaseOrderByIdObjeto(tipo));
+    }
+
+    public Flux<Objeto> buscarPorStatus(String status) {
+        return emLotes(objetoRepository.findByStatusOrderByIdObjeto(status));
+    }
+
+    public Flux<Objeto> buscarPorAtivo(Integer ativo) {
+        return emLotes(objetoRepository.findByAtivoOrderByIdObjeto(ativo));
+    }
+
+    public Flux<Objeto> buscarPorAtivoETipo(Integer ativo, String tipo) {
+        return emLotes(objetoRepository.findByAtivoAndTipoObjetoOrderByIdObjeto(ativo, tipo));
+    }
+
+    public Flux<Objeto> buscarPorPotencia(Integer potencia) {
+        return emLotes(objetoRepository.findByPotenciaOrderByIdObjeto(potencia));
+    }
+
+    public Flux<Objeto> buscarPorFaixaPotencia(Integer potenciaMin, Integer potenciaMax) {
+        return emLotes(objetoRepository.findByPotenciaBetweenOrderByIdObjeto(potenciaMin, potenciaMax));
+    }
+
+    public Flux<Objeto> buscarPorPotenciaMaiorQue(Integer potencia) {
+        return emLotes(objetoRepository.findByPotenciaGreaterThanOrderByIdObjeto(potencia));
+    }
+
+    public Flux<Objeto> buscarPorTempoUsoMaiorQue(Double tempoUso) {
+        return emLotes(objetoRepository.findByTempoUsoGreaterThanOrderByIdObjeto(tempoUso));
+    }
+
+    public Flux<Objeto> buscarPorAmbiente(Integer idAmbiente) {
+        return emLotes(objetoRepository.findByIdAmbienteOrderByIdObjeto(idAmbiente));
+    }
+
+    // ============================================================
+    // CONTAGENS E EXISTÊNCIA
+    // ============================================================
+
+    public Mono<Long> contar() {
+        return objetoRepository.count();
+    }
+
+    public Mono<Long> contarPorTipo(String tipo) {
+        return objetoRepository.countByTipoObjeto(tipo);
+    }
+
+    public Mono<Long> contarPorStatus(String status) {
+        return objetoRepository.countByStatus(status);
+    }
+
+    public Mono<Long> contarPorAtivo(Integer ativo) {
+        return objetoRepository.countByAtivo(ativo);
+    }
+
+    public Mono<Boolean> existePorNome(String nome) {
+        return objetoRepository.existsByNomeObjeto(nome);
+    }
+
+    public Mono<Boolean> existePorTipo(String tipo) {
+        return objetoRepository.existsByTipoObjeto(tipo);
+    }
+}
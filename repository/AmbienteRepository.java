@@ -1,12 +1,19 @@
 package com.ecosmart.eco.repository;
 
+import com.ecosmart.eco.dto.AmbienteResumo;
 import com.ecosmart.eco.model.Ambiente;
 import com.ecosmart.eco.model.Objeto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,8 +62,17 @@ public interface AmbienteRepository extends JpaRepository<Ambiente, Integer> {
      * Verifica se existe ambiente com o nome
      * Padrão Query Method - Spring interpreta automaticamente
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByNome(String nome);
 
+    /**
+     * Conta todos os ambientes pelo cache de consultas
+     * (o count() do JpaRepository não aceita hints e sempre vai ao banco)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT COUNT(a) FROM Ambiente a")
+    long contarTodos();
+
     // ============================================================
     // CONSULTAS POR RELACIONAMENTOS (ONE-TO-MANY: objetos)
     // ============================================================
@@ -78,24 +94,28 @@ public interface AmbienteRepository extends JpaRepository<Ambiente, Integer> {
     /**
      * Verifica se existe ambiente que contém o objeto
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Ambiente a JOIN a.objetos o WHERE o = :objeto")
     boolean existsByObjeto(@Param("objeto") Objeto objeto);
 
     /**
      * Verifica se existe ambiente para o ID do objeto
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Ambiente a JOIN a.objetos o WHERE o.idObjeto = :objetoId")
     boolean existsByObjetoId(@Param("objetoId") Integer objetoId);
 
     /**
      * Conta ambientes que contêm determinado objeto
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(a) FROM Ambiente a JOIN a.objetos o WHERE o = :objeto")
     long countByObjeto(@Param("objeto") Objeto objeto);
 
     /**
      * Conta ambientes por ID do objeto
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(a) FROM Ambiente a JOIN a.objetos o WHERE o.idObjeto = :objetoId")
     long countByObjetoId(@Param("objetoId") Integer objetoId);
 
@@ -142,12 +162,14 @@ public interface AmbienteRepository extends JpaRepository<Ambiente, Integer> {
     /**
      * Query customizada para contar ambientes por tipo de objeto
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(DISTINCT a) FROM Ambiente a JOIN a.objetos o WHERE o.tipoObjeto = :tipoObjeto")
     long countByObjetoTipoObjeto(@Param("tipoObjeto") String tipoObjeto);
 
     /**
      * Query customizada para contar ambientes com objetos ativos
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(DISTINCT a) FROM Ambiente a JOIN a.objetos o WHERE o.ativo = :ativo")
     long countByObjetoAtivo(@Param("ativo") Integer ativo);
 
@@ -177,17 +199,9 @@ public interface AmbienteRepository extends JpaRepository<Ambiente, Integer> {
     @Query("SELECT DISTINCT a FROM Ambiente a LEFT JOIN FETCH a.relatorios WHERE a.idAmbiente = :id")
     Optional<Ambiente> findByIdWithRelatorios(@Param("id") Integer id);
 
-    /**
-     * Query customizada para buscar ambiente completo (com todas as relações)
-     * ATENÇÃO: Use com cuidado - pode impactar performance com muitos dados
-     * Padrão Eager Loading Seletivo - carrega todos os relacionamentos
-     */
-    @Query("SELECT DISTINCT a FROM Ambiente a " +
-            "LEFT JOIN FETCH a.objetos " +
-            "LEFT JOIN FETCH a.usuarios " +
-            "LEFT JOIN FETCH a.relatorios " +
-            "WHERE a.idAmbiente = :id")
-    Optional<Ambiente> findByIdComplete(@Param("id") Integer id);
+    // Ambiente completo: não existe consulta única com as três coleções - o JOIN FETCH
+    // conjunto devolveria objetos x usuários x relatórios linhas. O AmbienteService
+    // carrega cada coleção com a sua consulta (findByIdWith*) na mesma transação.
 
     // ============================================================
     // CONSULTAS POR RELACIONAMENTOS (MANY-TO-MANY: usuarios)
@@ -208,6 +222,7 @@ public interface AmbienteRepository extends JpaRepository<Ambiente, Integer> {
     /**
      * Conta ambientes por usuário
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(DISTINCT a) FROM Ambiente a JOIN a.usuarios u WHERE u.id_usuario = :usuarioId")
     long countByUsuarioId(@Param("usuarioId") Integer usuarioId);
 
@@ -246,21 +261,172 @@ public interface AmbienteRepository extends JpaRepository<Ambiente, Integer> {
     @Query("SELECT a.nome, COUNT(o) FROM Ambiente a LEFT JOIN a.objetos o GROUP BY a.idAmbiente, a.nome")
     List<Object[]> countObjetosByAmbiente();
 
+    /**
+     * Painel: [idAmbiente, nome, objetos, ativos, potência, ligados, desligados] por ambiente,
+     * mais uma linha com idAmbiente nulo para os objetos sem ambiente - uma única consulta
+     */
+    @Query(value = "SELECT a.id_ambiente, a.nome, COUNT(o.idObjeto), " +
+            "COALESCE(SUM(CASE WHEN o.Ativo = 1 THEN 1 ELSE 0 END), 0), COALESCE(SUM(o.Potencia), 0), " +
+            "COALESCE(SUM(CASE WHEN LOWER(o.Status) = 'ligado' THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN LOWER(o.Status) = 'desligado' THEN 1 ELSE 0 END), 0) " +
+            "FROM ambiente a LEFT JOIN objeto o ON o.ambiente_id = a.id_ambiente " +
+            "GROUP BY a.id_ambiente, a.nome " +
+            "UNION ALL " +
+            "SELECT NULL, NULL, COUNT(*), " +
+            "COALESCE(SUM(CASE WHEN o.Ativo = 1 THEN 1 ELSE 0 END), 0), COALESCE(SUM(o.Potencia), 0), " +
+            "COALESCE(SUM(CASE WHEN LOWER(o.Status) = 'ligado' THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN LOWER(o.Status) = 'desligado' THEN 1 ELSE 0 END), 0) " +
+            "FROM objeto o WHERE o.ambiente_id IS NULL", nativeQuery = true)
+    List<Object[]> findPainel();
+
     /**
      * Busca ambientes com mais de X objetos
+     * Faixa no índice de qtd_objetos (contador denormalizado) - sem subconsulta por ambiente
+     */
+    @Query(SELECT_RESUMO + "WHERE a.qtdObjetos > :quantidade ORDER BY a.qtdObjetos DESC, a.idAmbiente")
+    List<AmbienteResumo> findAmbientesWithMoreThanXObjetos(@Param("quantidade") int quantidade);
+
+    /**
+     * Busca ambientes sem objetos (índice de qtd_objetos)
+     */
+    @Query(SELECT_RESUMO + "WHERE a.qtdObjetos = 0 ORDER BY a.idAmbiente")
+    List<AmbienteResumo> findAmbientesSemObjetos();
+
+    /**
+     * Busca ambientes sem usuários associados (índice de qtd_usuarios)
+     */
+    @Query(SELECT_RESUMO + "WHERE a.qtdUsuarios = 0 ORDER BY a.idAmbiente")
+    List<AmbienteResumo> findAmbientesSemUsuarios();
+
+    // ============================================================
+    // CONTADORES DENORMALIZADOS (qtd_objetos, qtd_usuarios, qtd_relatorios)
+    // UPDATE nativo sincronizado só com ESPACO_CONTADORES: o Hibernate não descarta a região
+    // "ambiente" inteira (nem as consultas em cache da tabela) - o ContadoresAmbienteService
+    // remove do L2 apenas os ambientes alterados
+    // ============================================================
+
+    // Nenhuma entidade nem consulta em cache lê este espaço
+    String ESPACO_CONTADORES = "ambiente_contadores";
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_CONTADORES))
+    @Query(value = "UPDATE ambiente SET qtd_objetos = qtd_objetos + :delta WHERE id_ambiente = :id",
+            nativeQuery = true)
+    int somarObjetos(@Param("id") Integer id, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_CONTADORES))
+    @Query(value = "UPDATE ambiente SET qtd_usuarios = qtd_usuarios + :delta WHERE id_ambiente = :id",
+            nativeQuery = true)
+    int somarUsuarios(@Param("id") Integer id, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_CONTADORES))
+    @Query(value = "UPDATE ambiente SET qtd_relatorios = qtd_relatorios + :delta WHERE id_ambiente = :id",
+            nativeQuery = true)
+    int somarRelatorios(@Param("id") Integer id, @Param("delta") int delta);
+
+    /**
+     * Recalcula os três contadores a partir das tabelas de origem
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_CONTADORES))
+    @Query(value = "UPDATE ambiente a SET " +
+            "a.qtd_objetos = (SELECT COUNT(*) FROM objeto o WHERE o.ambiente_id = a.id_ambiente), " +
+            "a.qtd_usuarios = (SELECT COUNT(*) FROM usuario_ambiente ua WHERE ua.ambiente_id = a.id_ambiente), " +
+            "a.qtd_relatorios = (SELECT COUNT(*) FROM relatorio r WHERE r.ambiente_id_ambiente = a.id_ambiente) " +
+            "WHERE a.id_ambiente IN (:ids)", nativeQuery = true)
+    int recalcularContadores(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * IDs, entre os informados, cujos contadores não batem com as tabelas de origem
      */
-    @Query("SELECT a FROM Ambiente a WHERE SIZE(a.objetos) > :quantidade")
-    List<Ambiente> findAmbientesWithMoreThanXObjetos(@Param("quantidade") int quantidade);
+    @Query(value = "SELECT a.id_ambiente FROM ambiente a WHERE a.id_ambiente IN (:ids) AND (" +
+            "a.qtd_objetos <> (SELECT COUNT(*) FROM objeto o WHERE o.ambiente_id = a.id_ambiente) OR " +
+            "a.qtd_usuarios <> (SELECT COUNT(*) FROM usuario_ambiente ua WHERE ua.ambiente_id = a.id_ambiente) OR " +
+            "a.qtd_relatorios <> (SELECT COUNT(*) FROM relatorio r WHERE r.ambiente_id_ambiente = a.id_ambiente))",
+            nativeQuery = true)
+    List<Integer> findIdsComContadoresDivergentes(@Param("ids") Collection<Integer> ids);
+
+    // ============================================================
+    // PAGINAÇÃO KEYSET (CURSOR NO ID)
+    // ============================================================
+
+    /**
+     * Paginação keyset - ambientes com ID maior que o cursor, em ordem de ID
+     * O tamanho da página vem do Pageable (sem COUNT e sem OFFSET)
+     */
+    @Query("SELECT a FROM Ambiente a WHERE a.idAmbiente > :cursor ORDER BY a.idAmbiente")
+    List<Ambiente> findPaginaAposCursor(@Param("cursor") Integer cursor, Pageable pageable);
+
+    /**
+     * [idAmbiente, nome, descricao] de todos os ambientes - carga do índice de busca
+     */
+    @Query("SELECT a.idAmbiente, a.nome, a.descricao FROM Ambiente a")
+    List<Object[]> findTextosIndexaveis();
+
+    /**
+     * IDs em ordem a partir do cursor - blocos da reconciliação dos contadores
+     */
+    @Query("SELECT a.idAmbiente FROM Ambiente a WHERE a.idAmbiente > :cursor ORDER BY a.idAmbiente")
+    List<Integer> findIdsAposCursor(@Param("cursor") Integer cursor, Pageable pageable);
+
+    // ============================================================
+    // PROJEÇÕES DE LEITURA (listas e buscas da API)
+    // Id, nome, descrição e contadores - as coleções do ambiente nunca são tocadas
+    // ============================================================
+
+    String SELECT_RESUMO = "SELECT new com.ecosmart.eco.dto.AmbienteResumo(a.idAmbiente, a.nome, a.descricao, " +
+            "a.qtdObjetos, a.qtdUsuarios, a.qtdRelatorios) FROM Ambiente a ";
+
+    // DISTINCT na projeção - um ambiente com vários objetos que atendem ao filtro aparece uma vez
+    String SELECT_RESUMO_POR_OBJETO = "SELECT DISTINCT new com.ecosmart.eco.dto.AmbienteResumo(a.idAmbiente, a.nome, a.descricao, " +
+            "a.qtdObjetos, a.qtdUsuarios, a.qtdRelatorios) " +
+            "FROM Ambiente a JOIN a.objetos o ";
 
     /**
-     * Busca ambientes sem objetos
+     * Paginação keyset em projeção - mesma ordem e cursor de findPaginaAposCursor
      */
-    @Query("SELECT a FROM Ambiente a WHERE SIZE(a.objetos) = 0")
-    List<Ambiente> findAmbientesSemObjetos();
+    @Query(SELECT_RESUMO + "WHERE a.idAmbiente > :cursor ORDER BY a.idAmbiente")
+    List<AmbienteResumo> findResumosAposCursor(@Param("cursor") Integer cursor, Pageable pageable);
 
     /**
-     * Busca ambientes sem usuários associados
+     * Resumos por chave primária - usado pelo índice de busca
      */
-    @Query("SELECT a FROM Ambiente a WHERE SIZE(a.usuarios) = 0")
-    List<Ambiente> findAmbientesSemUsuarios();
-}
\ No newline at end of file
+    @Query(SELECT_RESUMO + "WHERE a.idAmbiente IN :ids")
+    List<AmbienteResumo> findResumosPorIds(@Param("ids") Collection<Integer> ids);
+
+    @Query(SELECT_RESUMO + "WHERE a.idAmbiente = :id")
+    Optional<AmbienteResumo> findResumoPorId(@Param("id") Integer id);
+
+    @Query(SELECT_RESUMO + "JOIN a.usuarios u WHERE u.id_usuario = :idUsuario ORDER BY a.idAmbiente")
+    List<AmbienteResumo> findResumosPorUsuario(@Param("idUsuario") Integer idUsuario);
+
+    @Query(SELECT_RESUMO + "WHERE a.nome = :nome")
+    List<AmbienteResumo> findResumosPorNome(@Param("nome") String nome);
+
+    @Query(SELECT_RESUMO + "WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
+    List<AmbienteResumo> findResumosPorNomeContendo(@Param("nome") String nome);
+
+    @Query(SELECT_RESUMO + "WHERE LOWER(a.descricao) LIKE LOWER(CONCAT('%', :descricao, '%'))")
+    List<AmbienteResumo> findResumosPorDescricaoContendo(@Param("descricao") String descricao);
+
+    @Query(SELECT_RESUMO_POR_OBJETO + "WHERE o.tipoObjeto = :tipoObjeto")
+    List<AmbienteResumo> findResumosPorTipoObjeto(@Param("tipoObjeto") String tipoObjeto);
+
+    @Query(SELECT_RESUMO_POR_OBJETO + "WHERE o.nomeObjeto = :nomeObjeto")
+    List<AmbienteResumo> findResumosPorNomeObjeto(@Param("nomeObjeto") String nomeObjeto);
+
+    @Query(SELECT_RESUMO_POR_OBJETO + "WHERE o.status = :status")
+    List<AmbienteResumo> findResumosPorStatusObjeto(@Param("status") String status);
+
+    @Query(SELECT_RESUMO_POR_OBJETO + "WHERE o.ativo = :ativo")
+    List<AmbienteResumo> findResumosPorObjetoAtivo(@Param("ativo") Integer ativo);
+
+    @Query(SELECT_RESUMO_POR_OBJETO + "WHERE o.potencia > :potencia")
+    List<AmbienteResumo> findResumosPorPotenciaObjetoMaiorQue(@Param("potencia") Integer potencia);
+
+    @Query(SELECT_RESUMO_POR_OBJETO + "WHERE o.potencia BETWEEN :potenciaMin AND :potenciaMax")
+    List<AmbienteResumo> findResumosPorFaixaPotenciaObjeto(@Param("potenciaMin") Integer potenciaMin,
+                                                           @Param("potenciaMax") Integer potenciaMax);
+}
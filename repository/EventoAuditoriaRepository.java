@@ -0,0 +1,56 @@
+package com.ecosmart.eco.repository;
+
+import com.ecosmart.eco.model.EventoAuditoria;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface EventoAuditoriaRepository extends JpaRepository<EventoAuditoria, Long> {
+
+    // ============================================================
+    // PÁGINAS POR PERÍODO (keyset em instante + ID)
+    // Do mais recente para o mais antigo. O cursor é o (instante, idEvento) do último evento
+    // da página anterior; cada consulta tem um índice terminado em (instante, id_evento),
+    // então a página é uma leitura de faixa do índice, sem ordenar o período inteiro
+    // ============================================================
+
+    String DEPOIS_DO_CURSOR = "AND (e.instante < :cursorInstante " +
+            "OR (e.instante = :cursorInstante AND e.idEvento < :cursorId)) " +
+            "ORDER BY e.instante DESC, e.idEvento DESC";
+
+    // Índice (instante, id_evento)
+    @Query("SELECT e FROM EventoAuditoria e WHERE e.instante >= :inicio AND e.instante < :fim " +
+            DEPOIS_DO_CURSOR)
+    List<EventoAuditoria> findPaginaPorPeriodo(@Param("inicio") Instant inicio,
+                                               @Param("fim") Instant fim,
+                                               @Param("cursorInstante") Instant cursorInstante,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable pageable);
+
+    // Índice (entidade, instante, id_evento)
+    @Query("SELECT e FROM EventoAuditoria e WHERE e.entidade = :entidade " +
+            "AND e.instante >= :inicio AND e.instante < :fim " + DEPOIS_DO_CURSOR)
+    List<EventoAuditoria> findPaginaPorEntidade(@Param("entidade") String entidade,
+                                                @Param("inicio") Instant inicio,
+                                                @Param("fim") Instant fim,
+                                                @Param("cursorInstante") Instant cursorInstante,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable pageable);
+
+    // Índice (entidade, id_entidade, instante, id_evento) - histórico de um registro
+    @Query("SELECT e FROM EventoAuditoria e WHERE e.entidade = :entidade AND e.idEntidade = :idEntidade " +
+            "AND e.instante >= :inicio AND e.instante < :fim " + DEPOIS_DO_CURSOR)
+    List<EventoAuditoria> findPaginaPorRegistro(@Param("entidade") String entidade,
+                                                @Param("idEntidade") Integer idEntidade,
+                                                @Param("inicio") Instant inicio,
+                                                @Param("fim") Instant fim,
+                                                @Param("cursorInstante") Instant cursorInstante,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable pageable);
+}
@@ -0,0 +1,32 @@
+package com.ecosmart.eco.repository;
+
+import com.ecosmart.eco.model.LeituraObjeto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface LeituraObjetoRepository extends JpaRepository<LeituraObjeto, Long> {
+
+    /**
+     * Leituras de um objeto em um período, em ordem cronológica
+     * Usa o índice (id_objeto, instante)
+     */
+    List<LeituraObjeto> findByIdObjetoAndInstanteBetweenOrderByInstanteAsc(Integer idObjeto, Instant inicio,
+                                                                           Instant fim, Pageable pageable);
+
+    /**
+     * Leituras mais recentes de um objeto (da mais nova para a mais antiga)
+     */
+    List<LeituraObjeto> findByIdObjetoOrderByInstanteDesc(Integer idObjeto, Pageable pageable);
+
+    /**
+     * Maior número de sequência do log de telemetria já gravado no banco
+     */
+    @Query("SELECT MAX(l.sequencia) FROM LeituraObjeto l")
+    Long findMaxSequencia();
+}
@@ -1,14 +1,27 @@
 package com.ecosmart.eco.repository;
 
+import com.ecosmart.eco.dto.ClassificacaoObjeto;
+import com.ecosmart.eco.dto.ConsumoAgregado;
+import com.ecosmart.eco.dto.ConsumoPorTipo;
+import com.ecosmart.eco.dto.ObjetoResumo;
 import com.ecosmart.eco.model.Objeto;
 import com.ecosmart.eco.model.Ambiente;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ObjetoRepository extends JpaRepository<Objeto, Integer> {
@@ -66,28 +79,41 @@ public interface ObjetoRepository extends JpaRepository<Objeto, Integer> {
     /**
      * Verifica se existe objeto com o nome
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByNomeObjeto(String nomeObjeto);
 
     /**
      * Verifica se existe objeto do tipo
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByTipoObjeto(String tipoObjeto);
 
     /**
      * Conta objetos por tipo
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     long countByTipoObjeto(String tipoObjeto);
 
     /**
      * Conta objetos por status
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     long countByStatus(String status);
 
     /**
      * Conta objetos ativos
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     long countByAtivo(Integer ativo);
 
+    /**
+     * Conta todos os objetos pelo cache de consultas
+     * (o count() do JpaRepository não aceita hints e sempre vai ao banco)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT COUNT(o) FROM Objeto o")
+    long contarTodos();
+
     /**
      * Query customizada para buscar objeto com seu ambiente
      */
@@ -129,4 +155,198 @@ public interface ObjetoRepository extends JpaRepository<Objeto, Integer> {
      */
     @Query("SELECT o FROM Objeto o WHERE o.ativo = :ativo AND o.tipoObjeto = :tipoObjeto")
     List<Objeto> findByAtivoAndTipoObjeto(@Param("ativo") Integer ativo, @Param("tipoObjeto") String tipoObjeto);
-}
\ No newline at end of file
+
+    /**
+     * Paginação keyset - objetos com ID maior que o cursor, em ordem de ID
+     * O tamanho da página vem do Pageable (sem COUNT e sem OFFSET)
+     */
+    @Query("SELECT o FROM Objeto o WHERE o.idObjeto > :cursor ORDER BY o.idObjeto")
+    List<Objeto> findPaginaAposCursor(@Param("cursor") Integer cursor, Pageable pageable);
+
+    /**
+     * Stream de todos os objetos com o ID do ambiente, para exportação em massa
+     * Projeção em DTO (nada fica no contexto de persistência) lida com fetch size do JDBC
+     * Deve ser consumido dentro de uma transação e fechado ao final
+     * No MySQL o fetch size só é respeitado com useCursorFetch=true na URL de conexão
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.ecosmart.eco.dto.ObjetoResumo(o.idObjeto, o.nomeObjeto, o.tipoObjeto, " +
+            "o.potencia, o.tempoUso, o.status, o.ativo, a.idAmbiente) " +
+            "FROM Objeto o LEFT JOIN o.ambiente a ORDER BY o.idObjeto")
+    Stream<ObjetoResumo> streamResumos();
+
+    /**
+     * Associa vários objetos ao ambiente com um único UPDATE
+     * Limpa o contexto de persistência depois, pois as entidades carregadas ficam desatualizadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Objeto o SET o.ambiente = :ambiente WHERE o.idObjeto IN :ids")
+    int vincularAmbiente(@Param("ambiente") Ambiente ambiente, @Param("ids") Collection<Integer> ids);
+
+    /**
+     * Retorna, dentre os nomes informados, os que já estão cadastrados
+     * Usado para validar a inclusão em lote com uma consulta por bloco de nomes
+     */
+    @Query("SELECT o.nomeObjeto FROM Objeto o WHERE o.nomeObjeto IN :nomes")
+    List<String> findNomesExistentes(@Param("nomes") Collection<String> nomes);
+
+    // ============================================================
+    // CONSUMO DE ENERGIA (kWh = potência W x tempo de uso h / 1000)
+    // Agregações feitas no banco - nenhuma entidade é carregada
+    // ============================================================
+
+    /**
+     * Consumo de um único objeto
+     */
+    @Query("SELECT new com.ecosmart.eco.dto.ConsumoAgregado(o.idObjeto, o.nomeObjeto, COUNT(o), " +
+            "SUM(o.potencia), SUM(o.potencia * o.tempoUso)) " +
+            "FROM Objeto o WHERE o.idObjeto = :id GROUP BY o.idObjeto, o.nomeObjeto")
+    Optional<ConsumoAgregado> consumoPorObjeto(@Param("id") Integer id);
+
+    /**
+     * Consumo total de um ambiente (vazio se o ambiente não existir)
+     */
+    @Query("SELECT new com.ecosmart.eco.dto.ConsumoAgregado(a.idAmbiente, a.nome, COUNT(o), " +
+            "SUM(o.potencia), SUM(o.potencia * o.tempoUso)) " +
+            "FROM Ambiente a LEFT JOIN a.objetos o WHERE a.idAmbiente = :ambienteId " +
+            "GROUP BY a.idAmbiente, a.nome")
+    Optional<ConsumoAgregado> consumoPorAmbiente(@Param("ambienteId") Integer ambienteId);
+
+    /**
+     * Consumo de um ambiente agrupado por tipo de objeto
+     */
+    @Query("SELECT new com.ecosmart.eco.dto.ConsumoPorTipo(o.tipoObjeto, COUNT(o), " +
+            "SUM(o.potencia), SUM(o.potencia * o.tempoUso)) " +
+            "FROM Objeto o WHERE o.ambiente.idAmbiente = :ambienteId " +
+            "GROUP BY o.tipoObjeto ORDER BY o.tipoObjeto")
+    List<ConsumoPorTipo> consumoPorTipoNoAmbiente(@Param("ambienteId") Integer ambienteId);
+
+    /**
+     * Consumo total dos ambientes de um usuário (via usuario_ambiente)
+     */
+    @Query("SELECT new com.ecosmart.eco.dto.ConsumoAgregado(u.id_usuario, u.nome, COUNT(o), " +
+            "SUM(o.potencia), SUM(o.potencia * o.tempoUso)) " +
+            "FROM Usuario u LEFT JOIN u.ambientes a LEFT JOIN a.objetos o " +
+            "WHERE u.id_usuario = :usuarioId GROUP BY u.id_usuario, u.nome")
+    Optional<ConsumoAgregado> consumoPorUsuario(@Param("usuarioId") Integer usuarioId);
+
+    /**
+     * Consumo de um usuário agrupado por ambiente (via usuario_ambiente)
+     */
+    @Query("SELECT new com.ecosmart.eco.dto.ConsumoAgregado(a.idAmbiente, a.nome, COUNT(o), " +
+            "SUM(o.potencia), SUM(o.potencia * o.tempoUso)) " +
+            "FROM Usuario u JOIN u.ambientes a LEFT JOIN a.objetos o " +
+            "WHERE u.id_usuario = :usuarioId GROUP BY a.idAmbiente, a.nome ORDER BY a.idAmbiente")
+    List<ConsumoAgregado> consumoPorAmbienteDoUsuario(@Param("usuarioId") Integer usuarioId);
+
+    // ============================================================
+    // CONTADORES POR TIPO / STATUS / ATIVO
+    // ============================================================
+
+    /**
+     * Objeto com a linha bloqueada até o fim da transação (SELECT ... FOR UPDATE)
+     * Estado anterior a uma alteração - o merge do save() reaproveita a entidade já carregada
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Objeto o WHERE o.idObjeto = :id")
+    Optional<Objeto> findByIdParaAlteracao(@Param("id") Integer id);
+
+    /**
+     * Tipo, status, ativo e potência dos objetos de um ambiente (removidos em cascata com ele)
+     */
+    @Query("SELECT new com.ecosmart.eco.dto.ClassificacaoObjeto(o.tipoObjeto, o.status, o.ativo, o.potencia, o.ambiente.idAmbiente) " +
+            "FROM Objeto o WHERE o.ambiente.idAmbiente = :idAmbiente")
+    List<ClassificacaoObjeto> findClassificacoesPorAmbiente(@Param("idAmbiente") Integer idAmbiente);
+
+    /**
+     * IDs dos objetos de um ambiente
+     */
+    @Query("SELECT o.idObjeto FROM Objeto o WHERE o.ambiente.idAmbiente = :idAmbiente")
+    List<Integer> findIdsPorAmbiente(@Param("idAmbiente") Integer idAmbiente);
+
+    /**
+     * Quantidade de objetos por tipo - [tipoObjeto, quantidade]
+     */
+    @Query("SELECT o.tipoObjeto, COUNT(o) FROM Objeto o GROUP BY o.tipoObjeto")
+    List<Object[]> contarAgrupadoPorTipo();
+
+    /**
+     * Quantidade de objetos por status - [status, quantidade]
+     */
+    @Query("SELECT o.status, COUNT(o) FROM Objeto o GROUP BY o.status")
+    List<Object[]> contarAgrupadoPorStatus();
+
+    /**
+     * Quantidade de objetos por ativo - [ativo, quantidade]
+     */
+    @Query("SELECT o.ativo, COUNT(o) FROM Objeto o GROUP BY o.ativo")
+    List<Object[]> contarAgrupadoPorAtivo();
+
+    /**
+     * [idObjeto, nomeObjeto, tipoObjeto] de todos os objetos - carga do índice de busca
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT o.idObjeto, o.nomeObjeto, o.tipoObjeto FROM Objeto o")
+    List<Object[]> findTextosIndexaveis();
+
+    // ============================================================
+    // PROJEÇÕES DE LEITURA (listas e buscas da API)
+    // Só as colunas do ObjetoResumo - nada fica no contexto de persistência
+    // e o JSON não dispara carga preguiçosa do ambiente
+    // ============================================================
+
+    String SELECT_RESUMO = "SELECT new com.ecosmart.eco.dto.ObjetoResumo(o.idObjeto, o.nomeObjeto, o.tipoObjeto, " +
+            "o.potencia, o.tempoUso, o.status, o.ativo, a.idAmbiente) FROM Objeto o LEFT JOIN o.ambiente a ";
+
+    /**
+     * Paginação keyset em projeção - mesma ordem e cursor de findPaginaAposCursor
+     */
+    @Query(SELECT_RESUMO + "WHERE o.idObjeto > :cursor ORDER BY o.idObjeto")
+    List<ObjetoResumo> findResumosAposCursor(@Param("cursor") Integer cursor, Pageable pageable);
+
+    /**
+     * Resumos por chave primária - usado pelo índice de busca
+     */
+    @Query(SELECT_RESUMO + "WHERE o.idObjeto IN :ids")
+    List<ObjetoResumo> findResumosPorIds(@Param("ids") Collection<Integer> ids);
+
+    @Query(SELECT_RESUMO + "WHERE o.ambiente.idAmbiente = :idAmbiente ORDER BY o.idObjeto")
+    List<ObjetoResumo> findResumosPorAmbiente(@Param("idAmbiente") Integer idAmbiente);
+
+    @Query(SELECT_RESUMO + "WHERE o.nomeObjeto = :nomeObjeto")
+    List<ObjetoResumo> findResumosPorNome(@Param("nomeObjeto") String nomeObjeto);
+
+    @Query(SELECT_RESUMO + "WHERE LOWER(o.nomeObjeto) LIKE LOWER(CONCAT('%', :nomeObjeto, '%'))")
+    List<ObjetoResumo> findResumosPorNomeContendo(@Param("nomeObjeto") String nomeObjeto);
+
+    @Query(SELECT_RESUMO + "WHERE o.tipoObjeto = :tipoObjeto")
+    List<ObjetoResumo> findResumosPorTipo(@Param("tipoObjeto") String tipoObjeto);
+
+    @Query(SELECT_RESUMO + "WHERE LOWER(o.tipoObjeto) LIKE LOWER(CONCAT('%', :tipoObjeto, '%'))")
+    List<ObjetoResumo> findResumosPorTipoContendo(@Param("tipoObjeto") String tipoObjeto);
+
+    @Query(SELECT_RESUMO + "WHERE o.status = :status")
+    List<ObjetoResumo> findResumosPorStatus(@Param("status") String status);
+
+    @Query(SELECT_RESUMO + "WHERE o.ativo = :ativo")
+    List<ObjetoResumo> findResumosPorAtivo(@Param("ativo") Integer ativo);
+
+    @Query(SELECT_RESUMO + "WHERE o.potencia = :potencia")
+    List<ObjetoResumo> findResumosPorPotencia(@Param("potencia") Integer potencia);
+
+    @Query(SELECT_RESUMO + "WHERE o.potencia BETWEEN :potenciaMin AND :potenciaMax")
+    List<ObjetoResumo> findResumosPorFaixaPotencia(@Param("potenciaMin") Integer potenciaMin,
+                                                   @Param("potenciaMax") Integer potenciaMax);
+
+    @Query(SELECT_RESUMO + "WHERE o.potencia > :potencia")
+    List<ObjetoResumo> findResumosPorPotenciaMaiorQue(@Param("potencia") Integer potencia);
+
+    @Query(SELECT_RESUMO + "WHERE o.tempoUso > :tempoUso")
+    List<ObjetoResumo> findResumosPorTempoUsoMaiorQue(@Param("tempoUso") Double tempoUso);
+
+    @Query(SELECT_RESUMO + "WHERE o.ativo = :ativo AND o.tipoObjeto = :tipoObjeto")
+    List<ObjetoResumo> findResumosPorAtivoETipo(@Param("ativo") Integer ativo, @Param("tipoObjeto") String tipoObjeto);
+}
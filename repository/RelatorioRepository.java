@@ -1,13 +1,17 @@
 package com.ecosmart.eco.repository;
 
+import com.ecosmart.eco.dto.RelatorioResumo;
 import com.ecosmart.eco.model.Relatorio;
 import com.ecosmart.eco.model.Ambiente;
 import com.ecosmart.eco.model.Usuario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,4 +62,65 @@ public interface RelatorioRepository extends JpaRepository<Relatorio, Integer> {
     boolean existsByAmbienteIdAndUsuarioId(@Param("ambienteId") Integer ambienteId, @Param("usuarioId") Integer usuarioId);
 
     List<Relatorio> findByAmbiente_IdAmbiente(Integer ambienteId);
-}
\ No newline at end of file
+
+    // Paginação keyset - relatórios com ID maior que o cursor (tamanho da página vem do Pageable)
+    @Query("SELECT r FROM Relatorio r WHERE r.idRelatorio > :cursor ORDER BY r.idRelatorio")
+    List<Relatorio> findPaginaAposCursor(@Param("cursor") Integer cursor, Pageable pageable);
+
+    // ===== REMOÇÃO EM MASSA (SET-BASED) =====
+
+    // Remove todos os relatórios do ambiente em um único DELETE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Relatorio r WHERE r.ambiente.idAmbiente = :ambienteId")
+    int deleteByAmbienteId(@Param("ambienteId") Integer ambienteId);
+
+    // Remove todos os relatórios do usuário em um único DELETE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Relatorio r WHERE r.usuario.id_usuario = :usuarioId")
+    int deleteByUsuarioId(@Param("usuarioId") Integer usuarioId);
+
+    // Remove um lote de relatórios pelos IDs
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Relatorio r WHERE r.idRelatorio IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Próximo lote de IDs de relatórios do ambiente (usado na remoção em blocos)
+    @Query("SELECT r.idRelatorio FROM Relatorio r WHERE r.ambiente.idAmbiente = :ambienteId ORDER BY r.idRelatorio")
+    List<Integer> findIdsByAmbienteId(@Param("ambienteId") Integer ambienteId, Pageable pageable);
+
+    // Próximo lote de IDs de relatórios do usuário (usado na remoção em blocos)
+    @Query("SELECT r.idRelatorio FROM Relatorio r WHERE r.usuario.id_usuario = :usuarioId ORDER BY r.idRelatorio")
+    List<Integer> findIdsByUsuarioId(@Param("usuarioId") Integer usuarioId, Pageable pageable);
+
+    // ID do ambiente de um relatório (estado anterior a uma alteração/remoção)
+    @Query("SELECT r.ambiente.idAmbiente FROM Relatorio r WHERE r.idRelatorio = :id")
+    Optional<Integer> findIdAmbiente(@Param("id") Integer id);
+
+    // [idAmbiente, quantidade] dos relatórios informados - contadores antes de um DELETE em bloco
+    @Query("SELECT r.ambiente.idAmbiente, COUNT(r) FROM Relatorio r WHERE r.idRelatorio IN :ids GROUP BY r.ambiente.idAmbiente")
+    List<Object[]> countPorAmbienteDosIds(@Param("ids") Collection<Integer> ids);
+
+    // [idAmbiente, quantidade] dos relatórios de um usuário
+    @Query("SELECT r.ambiente.idAmbiente, COUNT(r) FROM Relatorio r WHERE r.usuario.id_usuario = :usuarioId GROUP BY r.ambiente.idAmbiente")
+    List<Object[]> countPorAmbienteDoUsuario(@Param("usuarioId") Integer usuarioId);
+
+    // ===== PROJEÇÕES DE LEITURA (listas da API) =====
+    // Relatório com ID e nome do ambiente e do usuário em uma consulta - sem carga preguiçosa por linha
+
+    String SELECT_RESUMO = "SELECT new com.ecosmart.eco.dto.RelatorioResumo(r.idRelatorio, a.idAmbiente, a.nome, " +
+            "u.id_usuario, u.nome) FROM Relatorio r JOIN r.ambiente a JOIN r.usuario u ";
+
+    // Paginação keyset em projeção - mesma ordem e cursor de findPaginaAposCursor
+    @Query(SELECT_RESUMO + "WHERE r.idRelatorio > :cursor ORDER BY r.idRelatorio")
+    List<RelatorioResumo> findResumosAposCursor(@Param("cursor") Integer cursor, Pageable pageable);
+
+    @Query(SELECT_RESUMO + "WHERE a.idAmbiente = :ambienteId ORDER BY r.idRelatorio")
+    List<RelatorioResumo> findResumosPorAmbienteId(@Param("ambienteId") Integer ambienteId);
+
+    @Query(SELECT_RESUMO + "WHERE u.id_usuario = :usuarioId ORDER BY r.idRelatorio")
+    List<RelatorioResumo> findResumosPorUsuarioId(@Param("usuarioId") Integer usuarioId);
+
+    @Query(SELECT_RESUMO + "WHERE a.idAmbiente = :ambienteId AND u.id_usuario = :usuarioId")
+    List<RelatorioResumo> findResumosPorAmbienteIdEUsuarioId(@Param("ambienteId") Integer ambienteId,
+                                                              @Param("usuarioId") Integer usuarioId);
+}
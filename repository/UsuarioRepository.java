@@ -1,11 +1,14 @@
 package com.ecosmart.eco.repository;
 
+import com.ecosmart.eco.dto.UsuarioResumo;
 import com.ecosmart.eco.model.Usuario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -59,18 +62,65 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Integer> {
     @Query("SELECT DISTINCT u FROM Usuario u LEFT JOIN FETCH u.relatorios WHERE u.id_usuario = :id")
     Optional<Usuario> findByIdWithRelatorios(@Param("id") Integer id);
 
-    /**
-     * Query customizada para buscar usuário completo (com ambientes e relatórios)
-     */
-    @Query("SELECT DISTINCT u FROM Usuario u " +
-            "LEFT JOIN FETCH u.ambientes " +
-            "LEFT JOIN FETCH u.relatorios " +
-            "WHERE u.id_usuario = :id")
-    Optional<Usuario> findByIdComplete(@Param("id") Integer id);
+    // Usuário completo: montado pelo UsuarioService com uma consulta por coleção
+    // (o JOIN FETCH conjunto devolveria ambientes x relatórios linhas)
 
     /**
      * Busca usuários por email e senha (para login)
      * Nota: Em produção, use hash da senha!
      */
     Optional<Usuario> findByEmailAndSenha(String email, String senha);
-}
\ No newline at end of file
+
+    /**
+     * Paginação keyset - usuários com ID maior que o cursor, em ordem de ID
+     * O tamanho da página vem do Pageable (sem COUNT e sem OFFSET)
+     */
+    @Query("SELECT u FROM Usuario u WHERE u.id_usuario > :cursor ORDER BY u.id_usuario")
+    List<Usuario> findPaginaAposCursor(@Param("cursor") Integer cursor, Pageable pageable);
+
+    /**
+     * IDs dos ambientes vinculados ao usuário (sem carregar as entidades)
+     */
+    @Query("SELECT a.idAmbiente FROM Usuario u JOIN u.ambientes a WHERE u.id_usuario = :id")
+    List<Integer> findIdsAmbientes(@Param("id") Integer id);
+
+    /**
+     * [id_usuario, nome] de todos os usuários - carga do índice de busca
+     */
+    @Query("SELECT u.id_usuario, u.nome FROM Usuario u")
+    List<Object[]> findTextosIndexaveis();
+
+    // ============================================================
+    // PROJEÇÕES DE LEITURA (listas e buscas da API)
+    // Sem a senha e sem as coleções do usuário
+    // ============================================================
+
+    String SELECT_RESUMO = "SELECT new com.ecosmart.eco.dto.UsuarioResumo(u.id_usuario, u.nome, u.email) FROM Usuario u ";
+
+    /**
+     * Paginação keyset em projeção - mesma ordem e cursor de findPaginaAposCursor
+     */
+    @Query(SELECT_RESUMO + "WHERE u.id_usuario > :cursor ORDER BY u.id_usuario")
+    List<UsuarioResumo> findResumosAposCursor(@Param("cursor") Integer cursor, Pageable pageable);
+
+    /**
+     * Resumos por chave primária - usado pelo índice de busca
+     */
+    @Query(SELECT_RESUMO + "WHERE u.id_usuario IN :ids")
+    List<UsuarioResumo> findResumosPorIds(@Param("ids") Collection<Integer> ids);
+
+    @Query(SELECT_RESUMO + "WHERE u.id_usuario = :id")
+    Optional<UsuarioResumo> findResumoPorId(@Param("id") Integer id);
+
+    @Query(SELECT_RESUMO + "JOIN u.ambientes a WHERE a.idAmbiente = :idAmbiente ORDER BY u.id_usuario")
+    List<UsuarioResumo> findResumosPorAmbiente(@Param("idAmbiente") Integer idAmbiente);
+
+    @Query(SELECT_RESUMO + "WHERE u.nome = :nome")
+    List<UsuarioResumo> findResumosPorNome(@Param("nome") String nome);
+
+    @Query(SELECT_RESUMO + "WHERE LOWER(u.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
+    List<UsuarioResumo> findResumosPorNomeContendo(@Param("nome") String nome);
+
+    @Query(SELECT_RESUMO + "WHERE LOWER(u.nome) LIKE LOWER(CONCAT(:nome, '%'))")
+    List<UsuarioResumo> findResumosPorNomeIniciandoCom(@Param("nome") String nome);
+}
@@ -0,0 +1,48 @@
+package com.ecosmart.eco.seguranca;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Verifica o token "Authorization: Bearer ..." e guarda a Sessao na requisição
+ *
+ * Requisições sem token seguem normalmente (os endpoints que exigem sessão respondem 401);
+ * um token inválido, expirado ou revogado é rejeitado aqui com 401.
+ */
+@Component
+public class FiltroSessao extends OncePerRequestFilter {
+
+    private static final String PREFIXO = "Bearer ";
+
+    @Autowired
+    private TokensSessao tokensSessao;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (autorizacao == null || !autorizacao.regionMatches(true, 0, PREFIXO, 0, PREFIXO.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<Sessao> sessao = tokensSessao.verificar(autorizacao.substring(PREFIXO.length()).trim());
+        if (sessao.isEmpty()) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Sessão inválida ou expirada");
+            return;
+        }
+
+        request.setAttribute(Sessao.ATRIBUTO, sessao.get());
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecosmart.eco.seguranca;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Identidade de uma requisição autenticada, lida do token de sessão (sem consulta ao banco)
+ *
+ * @param id identificador do token - usado para revogar apenas esta sessão
+ */
+public record Sessao(String id, Integer idUsuario, String email, Instant emitidoEm, Instant expiraEm) {
+
+    // Atributo da requisição onde o FiltroSessao guarda a sessão verificada
+    public static final String ATRIBUTO = Sessao.class.getName();
+
+    public static Optional<Sessao> da(HttpServletRequest request) {
+        return Optional.ofNullable((Sessao) request.getAttribute(ATRIBUTO));
+    }
+
+    /**
+     * Sessão da requisição em andamento na thread atual, se houver
+     */
+    public static Optional<Sessao> atual() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos instanceof ServletRequestAttributes servlet) {
+            return da(servlet.getRequest());
+        }
+        return Optional.empty();
+    }
+}
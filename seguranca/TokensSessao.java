@@ -0,0 +1,176 @@
+package com.ecosmart.eco.seguranca;
+
+import com.ecosmart.eco.model.Usuario;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Emissão e verificação de tokens de sessão assinados com HMAC-SHA256
+ *
+ * Formato: base64url(id do token \n id do usuário \n email \n emitido (ms) \n expira (s)) + "." + base64url(assinatura)
+ * A verificação é só CPU (assinatura, validade e cache de revogação) - nenhuma consulta ao banco.
+ * Revogações ficam em memória até o token revogado expirar; em mais de uma instância cada
+ * uma só conhece as próprias revogações.
+ */
+@Component
+public class TokensSessao {
+
+    private static final Logger logger = Logger.getLogger(TokensSessao.class.getName());
+
+    private static final String ALGORITMO = "HmacSHA256";
+
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    // Chave em Base64 - sem ela uma chave aleatória é gerada (tokens deixam de valer ao reiniciar)
+    @Value("${ecosmart.sessao.segredo:}")
+    private String segredo;
+
+    @Value("${ecosmart.sessao.validade-minutos:480}")
+    private long validadeMinutos;
+
+    private final SecureRandom aleatorio = new SecureRandom();
+
+    // Mac não é thread-safe - uma instância por thread
+    private ThreadLocal<Mac> macs;
+
+    // ID do token revogado -> instante em que ele expira
+    private final Map<String, Instant> tokensRevogados = new ConcurrentHashMap<>();
+
+    // ID do usuário -> tokens emitidos antes deste instante não valem mais
+    private final Map<Integer, Instant> usuariosRevogados = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void iniciar() {
+        byte[] chave;
+        if (segredo == null || segredo.isBlank()) {
+            chave = new byte[32];
+            aleatorio.nextBytes(chave);
+            logger.warning("ecosmart.sessao.segredo não configurado - usando chave aleatória; "
+                    + "as sessões não sobrevivem a um reinício");
+        } else {
+            chave = Base64.getDecoder().decode(segredo);
+        }
+        SecretKeySpec especificacao = new SecretKeySpec(chave, ALGORITMO);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITMO);
+                mac.init(especificacao);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 indisponível", e);
+            }
+        });
+    }
+
+    // ============================================================
+    // EMISSÃO E VERIFICAÇÃO
+    // ============================================================
+
+    public String emitir(Usuario usuario) {
+        byte[] idToken = new byte[12];
+        aleatorio.nextBytes(idToken);
+        // Emissão em milissegundos: é comparada com a revogação do usuário na mesma precisão
+        Instant agora = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Sessao sessao = new Sessao(CODIFICADOR.encodeToString(idToken), usuario.getId_usuario(),
+                usuario.getEmail(), agora, agora.plus(Duration.ofMinutes(validadeMinutos)));
+
+        String conteudo = String.join("\n", sessao.id(), sessao.idUsuario().toString(), sessao.email(),
+                Long.toString(sessao.emitidoEm().toEpochMilli()), Long.toString(sessao.expiraEm().getEpochSecond()));
+        byte[] bytes = conteudo.getBytes(StandardCharsets.UTF_8);
+        return CODIFICADOR.encodeToString(bytes) + "." + CODIFICADOR.encodeToString(assinar(bytes));
+    }
+
+    /**
+     * @return a sessão, ou vazio se o token for malformado, com assinatura inválida, expirado ou revogado
+     */
+    public Optional<Sessao> verificar(String token) {
+        int separador = token.indexOf('.');
+        if (separador <= 0 || separador == token.length() - 1) {
+            return Optional.empty();
+        }
+        try {
+            byte[] conteudo = DECODIFICADOR.decode(token.substring(0, separador));
+            byte[] assinatura = DECODIFICADOR.decode(token.substring(separador + 1));
+            if (!MessageDigest.isEqual(assinar(conteudo), assinatura)) {
+                return Optional.empty();
+            }
+
+            String[] campos = new String(conteudo, StandardCharsets.UTF_8).split("\n", -1);
+            if (campos.length != 5) {
+                return Optional.empty();
+            }
+            Sessao sessao = new Sessao(campos[0], Integer.valueOf(campos[1]), campos[2],
+                    Instant.ofEpochMilli(Long.parseLong(campos[3])), Instant.ofEpochSecond(Long.parseLong(campos[4])));
+            return valida(sessao) ? Optional.of(sessao) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            // Base64 ou números inválidos (NumberFormatException é IllegalArgumentException)
+            return Optional.empty();
+        }
+    }
+
+    // ============================================================
+    // REVOGAÇÃO
+    // ============================================================
+
+    /**
+     * Revoga uma sessão (logout)
+     */
+    public void revogar(Sessao sessao) {
+        tokensRevogados.put(sessao.id(), sessao.expiraEm());
+    }
+
+    /**
+     * Revoga todas as sessões já emitidas para o usuário (alteração ou remoção do usuário)
+     */
+    public void revogarUsuario(Integer idUsuario) {
+        if (idUsuario != null) {
+            usuariosRevogados.put(idUsuario, Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        }
+    }
+
+    /**
+     * Descarta revogações de tokens que já expiraram de qualquer forma
+     */
+    @Scheduled(fixedDelayString = "${ecosmart.sessao.intervalo-limpeza-ms:600000}")
+    public void limparRevogacoes() {
+        Instant agora = Instant.now();
+        tokensRevogados.values().removeIf(expiraEm -> expiraEm.isBefore(agora));
+        Instant limite = agora.minus(Duration.ofMinutes(validadeMinutos));
+        usuariosRevogados.values().removeIf(revogadoEm -> revogadoEm.isBefore(limite));
+    }
+
+    // ============================================================
+    // AUXILIARES
+    // ============================================================
+
+    private boolean valida(Sessao sessao) {
+        if (!sessao.expiraEm().isAfter(Instant.now()) || tokensRevogados.containsKey(sessao.id())) {
+            return false;
+        }
+        Instant revogadoEm = usuariosRevogados.get(sessao.idUsuario());
+        // Mesma precisão (ms) nos dois lados - o login logo após a alteração de senha continua valendo
+        return revogadoEm == null || !sessao.emitidoEm().isBefore(revogadoEm);
+    }
+
+    private byte[] assinar(byte[] conteudo) {
+        return macs.get().doFinal(conteudo);
+    }
+}
@@ -1,13 +1,34 @@
     package com.ecosmart.eco.service;
 
+    import com.ecosmart.eco.cache.CacheEntidades;
+    import com.ecosmart.eco.cache.ContadoresObjeto;
+    import com.ecosmart.eco.cache.PainelAmbientes;
+    import com.ecosmart.eco.dto.AmbienteCompleto;
+    import com.ecosmart.eco.dto.AmbienteResumo;
+    import com.ecosmart.eco.dto.ClassificacaoObjeto;
+    import com.ecosmart.eco.dto.PaginaCursor;
+    import com.ecosmart.eco.dto.Sugestao;
+    import com.ecosmart.eco.metricas.RegistroMetricas;
     import com.ecosmart.eco.model.Ambiente;
+    import com.ecosmart.eco.model.EventoAuditoria;
     import com.ecosmart.eco.model.Objeto;
     import com.ecosmart.eco.repository.AmbienteRepository;
+    import com.ecosmart.eco.repository.ObjetoRepository;
+    import com.ecosmart.eco.repository.RelatorioRepository;
+    import com.ecosmart.eco.repository.UsuarioRepository;
+    import jakarta.annotation.PostConstruct;
     import org.springframework.beans.factory.annotation.Autowired;
     import org.springframework.stereotype.Service;
+    import org.springframework.transaction.annotation.Transactional;
 
+    import java.util.ArrayList;
+    import java.util.Comparator;
+    import java.util.LinkedHashSet;
     import java.util.List;
+    import java.util.Objects;
     import java.util.Optional;
+    import java.util.Set;
+    import java.util.logging.Logger;
 
     @Service
     public class AmbienteService {
@@ -15,13 +36,63 @@
         @Autowired
         private AmbienteRepository ambienteRepository;
 
+        @Autowired
+        private ObjetoRepository objetoRepository;
+
+        @Autowired
+        private UsuarioRepository usuarioRepository;
+
+        @Autowired
+        private RelatorioRepository relatorioRepository;
+
+        @Autowired
+        private CacheEntidades cacheEntidades;
+
+        @Autowired
+        private ContadoresObjeto contadoresObjeto;
+
+        @Autowired
+        private ContadoresAmbienteService contadoresAmbiente;
+
+        @Autowired
+        private PainelAmbientes painelAmbientes;
+
+        @Autowired
+        private IndiceBuscaService indiceBuscaService;
+
+        @Autowired
+        private RegistroMetricas registroMetricas;
+
+        @Autowired
+        private AuditoriaService auditoriaService;
+
+        private static final String METRICA_OPERACOES = "ecosmart_operacao_ambiente_segundos";
+
+        // Operações monitoradas acima deste tempo geram um aviso no log
+        private static final long LIMITE_ALERTA_NANOS = 1_000_000_000L;
+
+        private static final Logger logger = Logger.getLogger(AmbienteService.class.getName());
+
+        @PostConstruct
+        public void iniciarMetricas() {
+            registroMetricas.declararLatencia(METRICA_OPERACOES,
+                    "Latência das operações de ambiente monitoradas pelo PerformanceDecorator");
+        }
+
         // ============================================================
         // OPERAÇÕES CRUD BÁSICAS
         // ============================================================
 
         // CREATE - Criar ambiente
         public Ambiente salvar(Ambiente ambiente) {
-            return ambienteRepository.save(ambiente);
+            boolean novo = ambiente.getIdAmbiente() == null;
+            Ambiente salvo = ambienteRepository.save(ambiente);
+            cacheEntidades.invalidarAmbiente(salvo.getIdAmbiente());
+            indiceBuscaService.indexarAmbiente(salvo);
+            painelAmbientes.registrarAmbiente(salvo);
+            reconciliarSeCascata(ambiente);
+            auditarGravacao(novo, salvo);
+            return salvo;
         }
 
         // READ - Buscar todos
@@ -29,24 +100,169 @@
             return ambienteRepository.findAll();
         }
 
-        // READ - Buscar por ID
+        // READ - Buscar página por cursor (keyset no ID)
+        public PaginaCursor<AmbienteResumo> buscarPagina(Integer cursor, Integer limite) {
+            int tamanho = PaginaCursor.normalizarLimite(limite);
+            List<AmbienteResumo> resultado = ambienteRepository.findResumosAposCursor(
+                    PaginaCursor.normalizarCursor(cursor), PaginaCursor.consulta(tamanho));
+            return PaginaCursor.de(resultado, tamanho, AmbienteResumo::getIdAmbiente);
+        }
+
+        // READ - Buscar por ID (entidade gerenciada - serve às rotas de escrita; o L2 do Hibernate evita o SELECT)
         public Optional<Ambiente> buscarPorId(Integer id) {
             return ambienteRepository.findById(id);
         }
 
+        // Cópia só com os campos simples, do cache de leitura - para consultas que não alteram o ambiente
+        private Optional<Ambiente> buscarCopiaEmCache(Integer id) {
+            return cacheEntidades.ambiente(id, ambienteRepository::findById);
+        }
+
+        /**
+         * CREATE/UPDATE - Salva o ambiente e associa a ele a lista de objetos informada
+         * Objetos com ID são resolvidos em uma única consulta (findAllById) e validados em memória;
+         * objetos sem ID são criados. A associação é gravada com um único UPDATE em lote.
+         * A lista do ambiente recebido não é alterada; o retorno é o ambiente recarregado do banco
+         * com os objetos, depois de todas as gravações.
+         * @throws IllegalArgumentException se algum ID de objeto informado não existir
+         */
+        @Transactional
+        public Ambiente salvarComObjetos(Ambiente ambiente) {
+            List<Objeto> recebidos = ambiente.getObjetos();
+            List<Objeto> informados = recebidos != null ? new ArrayList<>(recebidos) : List.of();
+            boolean novo = ambiente.getIdAmbiente() == null;
+
+            Set<Integer> idsExistentes = new LinkedHashSet<>();
+            List<Objeto> novos = new ArrayList<>();
+            for (Objeto objeto : informados) {
+                if (objeto.getIdObjeto() != null) {
+                    idsExistentes.add(objeto.getIdObjeto());
+                } else {
+                    novos.add(objeto);
+                }
+            }
+
+            // Uma ida ao banco para todos os objetos referenciados
+            List<Objeto> existentes = idsExistentes.isEmpty()
+                    ? List.of()
+                    : objetoRepository.findAllById(idsExistentes);
+            if (existentes.size() != idsExistentes.size()) {
+                Set<Integer> faltando = new LinkedHashSet<>(idsExistentes);
+                existentes.forEach(objeto -> faltando.remove(objeto.getIdObjeto()));
+                throw new IllegalArgumentException("Objetos não encontrados: " + faltando);
+            }
+
+            // Ambientes de onde os objetos existentes saem - têm os contadores recalculados junto com este
+            Set<Integer> idsAmbientesAfetados = new LinkedHashSet<>();
+            existentes.stream()
+                    .map(Objeto::getAmbiente)
+                    .filter(Objects::nonNull)
+                    .map(Ambiente::getIdAmbiente)
+                    .forEach(idsAmbientesAfetados::add);
+            List<ClassificacaoObjeto> movidos = existentes.stream().map(ClassificacaoObjeto::de).toList();
+
+            // O cascade persiste apenas os objetos novos
+            ambiente.setObjetos(novos);
+            Ambiente salvo = ambienteRepository.save(ambiente);
+
+            // Instâncias gravadas (no merge são cópias das informadas - só elas têm o ID gerado)
+            List<Objeto> criados = salvo.getObjetos() != null ? new ArrayList<>(salvo.getObjetos()) : List.of();
+            Set<Integer> idsVincular = new LinkedHashSet<>(idsExistentes);
+            criados.stream().map(Objeto::getIdObjeto).filter(Objects::nonNull).forEach(idsVincular::add);
+
+            if (!idsVincular.isEmpty()) {
+                objetoRepository.vincularAmbiente(salvo, idsVincular);
+                cacheEntidades.invalidarObjetos(new ArrayList<>(idsVincular));
+            }
+            // O UPDATE em lote já gravou e limpou o contexto - o ambiente recebido volta com a lista original
+            ambiente.setObjetos(recebidos);
+            idsAmbientesAfetados.add(salvo.getIdAmbiente());
+            contadoresAmbiente.recalcular(idsAmbientesAfetados);
+            cacheEntidades.invalidarAmbiente(salvo.getIdAmbiente());
+            indiceBuscaService.indexarAmbiente(salvo);
+            painelAmbientes.registrarAmbiente(salvo);
+            contadoresObjeto.registrarInclusoes(criados.stream().map(ClassificacaoObjeto::de).toList());
+            // No painel os objetos entram no ambiente salvo (o vínculo foi gravado pelo UPDATE em lote)
+            painelAmbientes.registrarInclusoes(criados.stream()
+                    .map(objeto -> ClassificacaoObjeto.de(objeto).noAmbiente(salvo.getIdAmbiente()))
+                    .toList());
+            movidos.forEach(anterior -> painelAmbientes.registrarAlteracao(anterior,
+                    anterior.noAmbiente(salvo.getIdAmbiente())));
+            criados.forEach(indiceBuscaService::indexarObjeto);
+            auditarGravacao(novo, salvo);
+            criados.forEach(objeto -> auditoriaService.registrar(Objeto.class, EventoAuditoria.Operacao.CRIAR,
+                    objeto.getIdObjeto(), null, "Incluído com o ambiente " + salvo.getIdAmbiente()));
+
+            // salvo e os objetos existentes ficaram desatualizados (ambiente anterior, contadores) e
+            // fora do contexto depois do UPDATE em lote - devolve o estado gravado
+            return ambienteRepository.findByIdWithObjetos(salvo.getIdAmbiente())
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Ambiente " + salvo.getIdAmbiente() + " não encontrado após a gravação"));
+        }
+
         // UPDATE - Atualizar ambiente
         public Ambiente atualizar(Ambiente ambiente) {
-            return ambienteRepository.save(ambiente);
+            Ambiente atualizado = ambienteRepository.save(ambiente);
+            cacheEntidades.invalidarAmbiente(atualizado.getIdAmbiente());
+            indiceBuscaService.indexarAmbiente(atualizado);
+            painelAmbientes.registrarAmbiente(atualizado);
+            reconciliarSeCascata(ambiente);
+            auditarGravacao(false, atualizado);
+            return atualizado;
         }
 
         // DELETE - Deletar por ID
         public void deletarPorId(Integer id) {
+            // Os objetos do ambiente são removidos em cascata
+            List<ClassificacaoObjeto> removidos = objetoRepository.findClassificacoesPorAmbiente(id);
+            List<Integer> idsObjetos = objetoRepository.findIdsPorAmbiente(id);
             ambienteRepository.deleteById(id);
+            contadoresObjeto.registrarRemocoes(removidos);
+            painelAmbientes.removerAmbiente(id);
+            indiceBuscaService.removerAmbiente(id);
+            idsObjetos.forEach(indiceBuscaService::removerObjeto);
+            cacheEntidades.removerAmbiente(id);
+            auditarRemocao(id, idsObjetos);
         }
 
         // DELETE - Deletar ambiente
         public void deletar(Ambiente ambiente) {
+            List<ClassificacaoObjeto> removidos = objetoRepository.findClassificacoesPorAmbiente(ambiente.getIdAmbiente());
+            List<Integer> idsObjetos = objetoRepository.findIdsPorAmbiente(ambiente.getIdAmbiente());
             ambienteRepository.delete(ambiente);
+            contadoresObjeto.registrarRemocoes(removidos);
+            painelAmbientes.removerAmbiente(ambiente.getIdAmbiente());
+            indiceBuscaService.removerAmbiente(ambiente.getIdAmbiente());
+            idsObjetos.forEach(indiceBuscaService::removerObjeto);
+            cacheEntidades.removerAmbiente(ambiente.getIdAmbiente());
+            auditarRemocao(ambiente.getIdAmbiente(), idsObjetos);
+        }
+
+        /**
+         * save() com objetos na lista grava os objetos em cascata (inclusão ou alteração);
+         * como o estado anterior deles não é conhecido, os contadores são recarregados
+         * e os objetos são reindexados para a busca
+         * (ambientes de onde objetos tenham saído ficam para a reconciliação dos contadores)
+         */
+        private void reconciliarSeCascata(Ambiente ambiente) {
+            if (ambiente.getObjetos() != null && !ambiente.getObjetos().isEmpty()) {
+                contadoresObjeto.reconciliarAposCommit();
+                painelAmbientes.reconciliarAposCommit();
+                contadoresAmbiente.recalcular(List.of(ambiente.getIdAmbiente()));
+                ambiente.getObjetos().forEach(indiceBuscaService::indexarObjeto);
+            }
+        }
+
+        private void auditarGravacao(boolean novo, Ambiente salvo) {
+            auditoriaService.registrar(Ambiente.class,
+                    novo ? EventoAuditoria.Operacao.CRIAR : EventoAuditoria.Operacao.ATUALIZAR,
+                    salvo.getIdAmbiente());
+        }
+
+        private void auditarRemocao(Integer idAmbiente, List<Integer> idsObjetos) {
+            auditoriaService.registrar(Ambiente.class, EventoAuditoria.Operacao.REMOVER, idAmbiente);
+            idsObjetos.forEach(idObjeto -> auditoriaService.registrar(Objeto.class, EventoAuditoria.Operacao.REMOVER,
+                    idObjeto, null, "Removido em cascata com o ambiente " + idAmbiente));
         }
 
         // ============================================================
@@ -54,13 +270,14 @@
         // ============================================================
 
         // READ - Buscar por nome
-        public List<Ambiente> buscarPorNome(String nome) {
-            return ambienteRepository.findByNome(nome);
+        public List<AmbienteResumo> buscarPorNome(String nome) {
+            return ambienteRepository.findResumosPorNome(nome);
         }
 
-        // READ - Buscar por nome (contém)
-        public List<Ambiente> buscarPorNomeContendo(String nome) {
-            return ambienteRepository.findByNomeContainingIgnoreCase(nome);
+        // READ - Buscar por nome (contém) - pelo índice de trigramas
+        public List<AmbienteResumo> buscarPorNomeContendo(String nome) {
+            return indiceBuscaService.ambientesPorNome(nome)
+                    .orElseGet(() -> ambienteRepository.findResumosPorNomeContendo(nome));
         }
 
         // READ - Buscar por nome que começa com texto
@@ -68,9 +285,21 @@
             return ambienteRepository.findByNomeStartingWithIgnoreCase(nome);
         }
 
-        // READ - Buscar por descrição contendo texto
-        public List<Ambiente> buscarPorDescricaoContendo(String descricao) {
-            return ambienteRepository.findByDescricaoContainingIgnoreCase(descricao);
+        // READ - Autocompletar por nome (árvore de prefixos; só ID e nome)
+        public List<Sugestao> sugerirPorNome(String prefixo, Integer limite) {
+            int tamanho = IndiceBuscaService.normalizarLimite(limite);
+            return indiceBuscaService.sugerirAmbientes(prefixo, tamanho)
+                    .orElseGet(() -> ambienteRepository.findByNomeStartingWithIgnoreCase(prefixo).stream()
+                            .sorted(Comparator.comparing(Ambiente::getNome, String.CASE_INSENSITIVE_ORDER))
+                            .limit(tamanho)
+                            .map(ambiente -> new Sugestao(ambiente.getIdAmbiente(), ambiente.getNome()))
+                            .toList());
+        }
+
+        // READ - Buscar por descrição contendo texto - pelo índice de trigramas
+        public List<AmbienteResumo> buscarPorDescricaoContendo(String descricao) {
+            return indiceBuscaService.ambientesPorDescricao(descricao)
+                    .orElseGet(() -> ambienteRepository.findResumosPorDescricaoContendo(descricao));
         }
 
         // ============================================================
@@ -88,33 +317,33 @@
         }
 
         // READ - Buscar por tipo de objeto
-        public List<Ambiente> buscarPorTipoObjeto(String tipoObjeto) {
-            return ambienteRepository.findByObjetoTipoObjeto(tipoObjeto);
+        public List<AmbienteResumo> buscarPorTipoObjeto(String tipoObjeto) {
+            return ambienteRepository.findResumosPorTipoObjeto(tipoObjeto);
         }
 
         // READ - Buscar por nome do objeto
-        public List<Ambiente> buscarPorNomeObjeto(String nomeObjeto) {
-            return ambienteRepository.findByObjetoNomeObjeto(nomeObjeto);
+        public List<AmbienteResumo> buscarPorNomeObjeto(String nomeObjeto) {
+            return ambienteRepository.findResumosPorNomeObjeto(nomeObjeto);
         }
 
         // READ - Buscar por status do objeto
-        public List<Ambiente> buscarPorStatusObjeto(String status) {
-            return ambienteRepository.findByObjetoStatus(status);
+        public List<AmbienteResumo> buscarPorStatusObjeto(String status) {
+            return ambienteRepository.findResumosPorStatusObjeto(status);
         }
 
         // READ - Buscar ambientes com objetos ativos
-        public List<Ambiente> buscarPorObjetoAtivo(Integer ativo) {
-            return ambienteRepository.findByObjetoAtivo(ativo);
+        public List<AmbienteResumo> buscarPorObjetoAtivo(Integer ativo) {
+            return ambienteRepository.findResumosPorObjetoAtivo(ativo);
         }
 
         // READ - Buscar por potência do objeto maior que
-        public List<Ambiente> buscarPorPotenciaObjetoMaiorQue(Integer potencia) {
-            return ambienteRepository.findByObjetoPotenciaGreaterThan(potencia);
+        public List<AmbienteResumo> buscarPorPotenciaObjetoMaiorQue(Integer potencia) {
+            return ambienteRepository.findResumosPorPotenciaObjetoMaiorQue(potencia);
         }
 
         // READ - Buscar por faixa de potência do objeto
-        public List<Ambiente> buscarPorFaixaPotenciaObjeto(Integer potenciaMin, Integer potenciaMax) {
-            return ambienteRepository.findByObjetoPotenciaBetween(potenciaMin, potenciaMax);
+        public List<AmbienteResumo> buscarPorFaixaPotenciaObjeto(Integer potenciaMin, Integer potenciaMax) {
+            return ambienteRepository.findResumosPorFaixaPotenciaObjeto(potenciaMin, potenciaMax);
         }
 
         // ============================================================
@@ -136,9 +365,28 @@
             return ambienteRepository.findByIdWithRelatorios(id);
         }
 
-        // READ - Buscar ambiente completo
+        // READ - Buscar ambiente completo (entidade)
+        // Uma consulta por coleção na mesma transação: todas preenchem a mesma instância do
+        // contexto de persistência, com objetos + usuários + relatórios linhas no total
+        @Transactional(readOnly = true)
         public Optional<Ambiente> buscarPorIdCompleto(Integer id) {
-            return ambienteRepository.findByIdComplete(id);
+            Optional<Ambiente> ambiente = ambienteRepository.findByIdWithObjetos(id);
+            if (ambiente.isPresent()) {
+                ambienteRepository.findByIdWithUsuarios(id);
+                ambienteRepository.findByIdWithRelatorios(id);
+            }
+            return ambiente;
+        }
+
+        // READ - Ambiente completo para a API (projeções, uma consulta por coleção)
+        @Transactional(readOnly = true)
+        public Optional<AmbienteCompleto> buscarCompleto(Integer id) {
+            return ambienteRepository.findResumoPorId(id)
+                    .map(ambiente -> new AmbienteCompleto(ambiente.getIdAmbiente(), ambiente.getNome(),
+                            ambiente.getDescricao(),
+                            objetoRepository.findResumosPorAmbiente(id),
+                            usuarioRepository.findResumosPorAmbiente(id),
+                            relatorioRepository.findResumosPorAmbienteId(id)));
         }
 
         // ============================================================
@@ -183,18 +431,18 @@
             return ambienteRepository.countObjetosByAmbiente();
         }
 
-        // READ - Buscar ambientes com mais de X objetos
-        public List<Ambiente> buscarAmbientesComMaisQueXObjetos(int quantidade) {
+        // READ - Buscar ambientes com mais de X objetos (contador denormalizado)
+        public List<AmbienteResumo> buscarAmbientesComMaisQueXObjetos(int quantidade) {
             return ambienteRepository.findAmbientesWithMoreThanXObjetos(quantidade);
         }
 
-        // READ - Buscar ambientes sem objetos
-        public List<Ambiente> buscarAmbientesSemObjetos() {
+        // READ - Buscar ambientes sem objetos (contador denormalizado)
+        public List<AmbienteResumo> buscarAmbientesSemObjetos() {
             return ambienteRepository.findAmbientesSemObjetos();
         }
 
-        // READ - Buscar ambientes sem usuários
-        public List<Ambiente> buscarAmbientesSemUsuarios() {
+        // READ - Buscar ambientes sem usuários (contador denormalizado)
+        public List<AmbienteResumo> buscarAmbientesSemUsuarios() {
             return ambienteRepository.findAmbientesSemUsuarios();
         }
 
@@ -202,14 +450,14 @@
         // OPERAÇÕES DE VERIFICAÇÃO E CONTAGEM
         // ============================================================
 
-        // Verificar se existe por ID
+        // Verificar se existe por ID (resposta em cache - não carrega a entidade)
         public boolean existePorId(Integer id) {
-            return ambienteRepository.existsById(id);
+            return cacheEntidades.existeAmbiente(id, ambienteRepository::existsById);
         }
 
         // Verificar se existe por nome
         public boolean existePorNome(String nome) {
-            return ambienteRepository.existsByNome(nome);
+            return cacheEntidades.existeNomeAmbiente(nome, ambienteRepository::existsByNome);
         }
 
         // Verificar se existe por objeto (CORRIGIDO)
@@ -224,7 +472,7 @@
 
         // Contar ambientes
         public long contar() {
-            return ambienteRepository.count();
+            return ambienteRepository.contarTodos();
         }
 
         // Contar ambientes por objeto
@@ -338,18 +586,19 @@
 
             @Override
             public void executarAntes() {
-                tempoInicio = System.currentTimeMillis();
-                System.out.println("[PERFORMANCE] Iniciando monitoramento da operação: " + operacao);
+                tempoInicio = System.nanoTime();
             }
 
             @Override
             public void executarDepois() {
-                long tempoExecucao = System.currentTimeMillis() - tempoInicio;
-                System.out.println("[PERFORMANCE] Operação " + operacao + " executada em " + tempoExecucao + "ms");
+                // Histograma por operação, exportado em /metricas
+                long tempoExecucao = System.nanoTime() - tempoInicio;
+                registroMetricas.registrarLatencia(METRICA_OPERACOES,
+                        "operacao=\"" + RegistroMetricas.escapar(operacao) + "\"", tempoExecucao);
 
                 // Alertas de performance
-                if (tempoExecucao > 1000) {
-                    System.out.println("[PERFORMANCE] ALERTA: Operação " + operacao + " demorou mais que 1 segundo!");
+                if (tempoExecucao > LIMITE_ALERTA_NANOS) {
+                    logger.warning(String.format("Operação %s demorou %dms", operacao, tempoExecucao / 1_000_000));
                 }
             }
         }
@@ -362,6 +611,7 @@
             private String operacao;
             private String usuario;
             private Object entidade;
+            private boolean novo;
 
             public AuditDecorator(String operacao, String usuario, Object entidade) {
                 this.operacao = operacao;
@@ -371,13 +621,19 @@
 
             @Override
             public void executarAntes() {
-                System.out.println("[AUDIT] Usuário " + usuario + " iniciando " + operacao + " em " + java.time.LocalDateTime.now());
+                // Sem ID antes da operação = inclusão
+                novo = entidade instanceof Ambiente ambiente && ambiente.getIdAmbiente() == null;
             }
 
             @Override
             public void executarDepois() {
-                System.out.println("[AUDIT] Operação " + operacao + " concluída por " + usuario + " em " + java.time.LocalDateTime.now());
-                // Aqui poderia salvar no banco de dados para auditoria real
+                // Gravado na trilha de auditoria após o commit (AuditoriaService)
+                Integer id = entidade instanceof Ambiente ambiente ? ambiente.getIdAmbiente() : null;
+                EventoAuditoria.Operacao tipo = novo ? EventoAuditoria.Operacao.CRIAR
+                        : operacao.startsWith("delet") || operacao.startsWith("remov")
+                        ? EventoAuditoria.Operacao.REMOVER
+                        : EventoAuditoria.Operacao.ATUALIZAR;
+                auditoriaService.registrar(Ambiente.class, tipo, id, usuario, operacao);
             }
         }
 
@@ -392,7 +648,13 @@
         public Ambiente salvarComLogging(Ambiente ambiente) {
             LoggingDecorator decorator = new LoggingDecorator("salvar", ambiente.getNome());
             decorator.executarAntes();
+            boolean novo = ambiente.getIdAmbiente() == null;
             Ambiente resultado = ambienteRepository.save(ambiente);
+            cacheEntidades.invalidarAmbiente(resultado.getIdAmbiente());
+            indiceBuscaService.indexarAmbiente(resultado);
+            painelAmbientes.registrarAmbiente(resultado);
+            reconciliarSeCascata(ambiente);
+            auditarGravacao(novo, resultado);
             decorator.executarDepois();
             return resultado;
         }
@@ -403,7 +665,13 @@
         public Ambiente salvarComValidacao(Ambiente ambiente) {
             ValidationDecorator decorator = new ValidationDecorator(ambiente);
             decorator.executarAntes();
+            boolean novo = ambiente.getIdAmbiente() == null;
             Ambiente resultado = ambienteRepository.save(ambiente);
+            cacheEntidades.invalidarAmbiente(resultado.getIdAmbiente());
+            indiceBuscaService.indexarAmbiente(resultado);
+            painelAmbientes.registrarAmbiente(resultado);
+            reconciliarSeCascata(ambiente);
+            auditarGravacao(novo, resultado);
             decorator.executarDepois();
             return resultado;
         }
@@ -426,6 +694,10 @@
             AuditDecorator decorator = new AuditDecorator("salvar", usuario, ambiente);
             decorator.executarAntes();
             Ambiente resultado = ambienteRepository.save(ambiente);
+            cacheEntidades.invalidarAmbiente(resultado.getIdAmbiente());
+            indiceBuscaService.indexarAmbiente(resultado);
+            painelAmbientes.registrarAmbiente(resultado);
+            reconciliarSeCascata(ambiente);
             decorator.executarDepois();
             return resultado;
         }
@@ -446,7 +718,13 @@
             performanceDecorator.executarAntes();
 
             // Operação principal
+            boolean novo = ambiente.getIdAmbiente() == null;
             Ambiente resultado = ambienteRepository.save(ambiente);
+            cacheEntidades.invalidarAmbiente(resultado.getIdAmbiente());
+            indiceBuscaService.indexarAmbiente(resultado);
+            painelAmbientes.registrarAmbiente(resultado);
+            reconciliarSeCascata(ambiente);
+            auditarGravacao(novo, resultado);
 
             // Executar decorators depois (ordem inversa)
             performanceDecorator.executarDepois();
@@ -520,10 +798,10 @@
 
         /**
          * Busca ambiente e retorna seu resumo completo
-         * Usa o método Facade da entidade Ambiente
+         * Usa o método Facade da entidade Ambiente (contadores - não carrega as coleções)
          */
         public String obterResumoAmbiente(Integer id) {
-            Optional<Ambiente> ambiente = buscarPorIdCompleto(id);
+            Optional<Ambiente> ambiente = buscarCopiaEmCache(id);
             return ambiente.isPresent() ? ambiente.get().obterResumoCompleto() : "Ambiente não encontrado";
         }
 
@@ -532,7 +810,7 @@
          * Usa o método Facade da entidade Ambiente
          */
         public boolean verificarAmbienteCompleto(Integer id) {
-            Optional<Ambiente> ambiente = buscarPorId(id);
+            Optional<Ambiente> ambiente = buscarCopiaEmCache(id);
             return ambiente.isPresent() && ambiente.get().isAmbienteCompleto();
         }
 
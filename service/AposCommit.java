@@ -0,0 +1,70 @@
+package com.ecosmart.eco.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Executa efeitos colaterais (eventos, contadores, índices em memória) só depois do commit
+ * Sem transação ativa, a gravação já foi confirmada pelo repositório e a ação roda na hora
+ */
+public final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    public static void executar(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    /**
+     * Como executar(), segurando a trava do beforeCommit até o fim da ação
+     * Quem adquire a trava em modo exclusivo (ex.: recarga de um cache a partir do banco) não
+     * fica entre um commit e a ação correspondente: cada ação ou já estava no banco lido ou
+     * ainda não foi aplicada. Sem transação ativa a trava envolve só a ação.
+     */
+    public static void executar(Lock trava, Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            trava.lock();
+            try {
+                acao.run();
+            } finally {
+                trava.unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean travado;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                trava.lock();
+                travado = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!travado) {
+                    return;
+                }
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        acao.run();
+                    }
+                } finally {
+                    trava.unlock();
+                }
+            }
+        });
+    }
+}
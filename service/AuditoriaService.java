@@ -0,0 +1,187 @@
+package com.ecosmart.eco.service;
+
+import com.ecosmart.eco.auditoria.FilaCircular;
+import com.ecosmart.eco.dto.PaginaAuditoria;
+import com.ecosmart.eco.dto.PaginaCursor;
+import com.ecosmart.eco.metricas.RegistroMetricas;
+import com.ecosmart.eco.model.EventoAuditoria;
+import com.ecosmart.eco.repository.EventoAuditoriaRepository;
+import com.ecosmart.eco.seguranca.Sessao;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Trilha de auditoria das inclusões, alterações e remoções feitas pelos services
+ *
+ * Caminho de escrita: após o commit da operação o evento entra em uma fila circular sem lock
+ * e a requisição segue - nenhum INSERT no caminho da requisição. Uma thread de gravação
+ * esvazia a fila periodicamente com inserções em lote (JDBC batching).
+ * Com a fila cheia o evento é descartado e contado (ecosmart_auditoria_descartados_total);
+ * eventos ainda na fila são perdidos se o processo cair antes da gravação.
+ */
+@Service
+public class AuditoriaService {
+
+    private static final Logger logger = Logger.getLogger(AuditoriaService.class.getName());
+
+    // Eventos gravados por transação
+    private static final int EVENTOS_POR_LOTE = 500;
+
+    @Autowired
+    private EventoAuditoriaRepository eventoAuditoriaRepository;
+
+    @Autowired
+    private RegistroMetricas registroMetricas;
+
+    @Value("${ecosmart.auditoria.capacidade-fila:65536}")
+    private int capacidadeFila;
+
+    @Value("${ecosmart.auditoria.intervalo-gravacao-ms:200}")
+    private long intervaloGravacaoMs;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final LongAdder descartados = new LongAdder();
+    private final LongAdder gravados = new LongAdder();
+
+    private FilaCircular<EventoAuditoria> fila;
+    private ScheduledExecutorService gravador;
+
+    public AuditoriaService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ============================================================
+    // CICLO DE VIDA
+    // ============================================================
+
+    @PostConstruct
+    public void iniciar() {
+        fila = new FilaCircular<>(capacidadeFila);
+        registroMetricas.registrarMedidor("ecosmart_auditoria_pendentes",
+                "Eventos de auditoria aguardando gravação", fila::tamanho);
+        registroMetricas.registrarColetor("ecosmart_auditoria_gravados_total", "counter",
+                "Eventos de auditoria gravados no banco", () -> Map.of("", gravados.sum()));
+        registroMetricas.registrarColetor("ecosmart_auditoria_descartados_total", "counter",
+                "Eventos de auditoria descartados (fila cheia ou falha na gravação)",
+                () -> Map.of("", descartados.sum()));
+
+        gravador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "auditoria-gravacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        gravador.scheduleWithFixedDelay(this::gravarPendentes, intervaloGravacaoMs, intervaloGravacaoMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        gravador.shutdown();
+        gravador.awaitTermination(5, TimeUnit.SECONDS);
+        gravarPendentes();
+    }
+
+    // ============================================================
+    // REGISTRO
+    // ============================================================
+
+    public void registrar(Class<?> entidade, EventoAuditoria.Operacao operacao, Integer idEntidade) {
+        registrar(entidade, operacao, idEntidade, null, null);
+    }
+
+    /**
+     * Enfileira o evento após o commit da transação atual (imediatamente, fora de transação)
+     * Nunca bloqueia e nunca lança exceção para quem chama
+     * @param usuario sem usuário informado, usa o email da sessão da requisição (se autenticada)
+     */
+    public void registrar(Class<?> entidade, EventoAuditoria.Operacao operacao, Integer idEntidade,
+                          String usuario, String detalhe) {
+        String nomeEntidade = entidade.getSimpleName();
+        String autor = usuario != null ? usuario : Sessao.atual().map(Sessao::email).orElse(null);
+        AposCommit.executar(() -> {
+            EventoAuditoria evento = new EventoAuditoria(null, Instant.now(), nomeEntidade, idEntidade, operacao,
+                    limitar(autor, 100), limitar(detalhe, 255));
+            if (!fila.oferecer(evento)) {
+                descartados.increment();
+            }
+        });
+    }
+
+    // ============================================================
+    // GRAVAÇÃO
+    // ============================================================
+
+    /**
+     * Esvazia a fila em lotes, uma transação por lote
+     * Um lote que falha é descartado (e contado) para não travar a fila
+     */
+    synchronized void gravarPendentes() {
+        List<EventoAuditoria> lote = new ArrayList<>(EVENTOS_POR_LOTE);
+        while (fila.drenar(lote, EVENTOS_POR_LOTE) > 0) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> eventoAuditoriaRepository.saveAll(lote));
+                gravados.add(lote.size());
+            } catch (RuntimeException e) {
+                descartados.add(lote.size());
+                logger.log(Level.SEVERE, String.format("Falha ao gravar %d eventos de auditoria", lote.size()), e);
+            }
+            lote.clear();
+        }
+    }
+
+    // ============================================================
+    // CONSULTA
+    // ============================================================
+
+    /**
+     * Eventos no período [inicio, fim), do mais recente para o mais antigo
+     * @param entidade filtro opcional por entidade (e idEntidade, se informado)
+     * @param cursor ID e cursorInstante instante do último evento da página anterior
+     *               (ambos nulos na primeira página)
+     */
+    public PaginaAuditoria buscarPagina(Instant inicio, Instant fim, String entidade, Integer idEntidade,
+                                        Long cursor, Instant cursorInstante, Integer limite) {
+        int tamanho = PaginaCursor.normalizarLimite(limite);
+        // Primeira página: tudo antes do fim do período
+        Instant antesDoInstante = cursorInstante != null ? cursorInstante : fim;
+        long antesDoId = cursorInstante != null && cursor != null ? cursor : Long.MAX_VALUE;
+        List<EventoAuditoria> resultado;
+        if (idEntidade != null) {
+            resultado = eventoAuditoriaRepository.findPaginaPorRegistro(entidade, idEntidade, inicio, fim,
+                    antesDoInstante, antesDoId, PaginaCursor.consulta(tamanho));
+        } else if (entidade != null) {
+            resultado = eventoAuditoriaRepository.findPaginaPorEntidade(entidade, inicio, fim,
+                    antesDoInstante, antesDoId, PaginaCursor.consulta(tamanho));
+        } else {
+            resultado = eventoAuditoriaRepository.findPaginaPorPeriodo(inicio, fim,
+                    antesDoInstante, antesDoId, PaginaCursor.consulta(tamanho));
+        }
+
+        boolean temMais = resultado.size() > tamanho;
+        List<EventoAuditoria> itens = temMais ? new ArrayList<>(resultado.subList(0, tamanho)) : resultado;
+        EventoAuditoria ultimo = temMais ? itens.get(itens.size() - 1) : null;
+        return new PaginaAuditoria(itens, ultimo != null ? ultimo.getIdEvento() : null,
+                ultimo != null ? ultimo.getInstante() : null, temMais);
+    }
+
+    private static String limitar(String texto, int maximo) {
+        return texto != null && texto.length() > maximo ? texto.substring(0, maximo) : texto;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecosmart.eco.service;
+
+import com.ecosmart.eco.dto.ConsumoAgregado;
+import com.ecosmart.eco.dto.ConsumoDetalhado;
+import com.ecosmart.eco.dto.ConsumoPorTipo;
+import com.ecosmart.eco.repository.ObjetoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Cálculo de consumo de energia (kWh) por objeto, ambiente e usuário
+ * Toda a soma é feita no banco com GROUP BY - o custo não depende do número de entidades carregadas
+ */
+@Service
+@Transactional(readOnly = true)
+public class ConsumoService {
+
+    @Autowired
+    private ObjetoRepository objetoRepository;
+
+    /**
+     * Consumo de um objeto
+     */
+    public Optional<ConsumoAgregado> consumoDoObjeto(Integer idObjeto) {
+        return objetoRepository.consumoPorObjeto(idObjeto);
+    }
+
+    /**
+     * Consumo de um ambiente com detalhamento por tipo de objeto
+     */
+    public Optional<ConsumoDetalhado<ConsumoPorTipo>> consumoDoAmbiente(Integer idAmbiente) {
+        return objetoRepository.consumoPorAmbiente(idAmbiente)
+                .map(total -> new ConsumoDetalhado<>(total, objetoRepository.consumoPorTipoNoAmbiente(idAmbiente)));
+    }
+
+    /**
+     * Consumo de um usuário com detalhamento por ambiente
+     */
+    public Optional<ConsumoDetalhado<ConsumoAgregado>> consumoDoUsuario(Integer idUsuario) {
+        return objetoRepository.consumoPorUsuario(idUsuario)
+                .map(total -> new ConsumoDetalhado<>(total, objetoRepository.consumoPorAmbienteDoUsuario(idUsuario)));
+    }
+}
@@ -0,0 +1,183 @@
+package com.ecosmart.eco.service;
+
+import com.ecosmart.eco.cache.CacheEntidades;
+import com.ecosmart.eco.dto.PaginaCursor;
+import com.ecosmart.eco.model.Ambiente;
+import com.ecosmart.eco.repository.AmbienteRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Manutenção dos contadores denormalizados do ambiente (qtd_objetos, qtd_usuarios, qtd_relatorios)
+ *
+ * Os serviços chamam os métodos abaixo a cada mudança de associação; os contadores só são
+ * gravados por UPDATE de incremento ou recálculo, nunca pelo save() do ambiente.
+ * Quando a alteração não roda na mesma transação do serviço (ou o efeito de uma cascata não é
+ * conhecido), a reconciliação periódica corrige o desvio.
+ */
+@Service
+public class ContadoresAmbienteService {
+
+    private static final Logger logger = Logger.getLogger(ContadoresAmbienteService.class.getName());
+
+    // Ambientes verificados por transação na reconciliação
+    private static final int TAMANHO_BLOCO = 500;
+
+    public enum Contador { OBJETOS, USUARIOS, RELATORIOS }
+
+    @Autowired
+    private AmbienteRepository ambienteRepository;
+
+    @Autowired
+    private CacheEntidades cacheEntidades;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ContadoresAmbienteService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ============================================================
+    // AJUSTES POR MUDANÇA DE ASSOCIAÇÃO
+    // ============================================================
+
+    /**
+     * Soma delta ao contador de um ambiente (ignora ambiente nulo e delta zero)
+     */
+    @Transactional
+    public void ajustar(Contador contador, Integer idAmbiente, long delta) {
+        if (idAmbiente == null || delta == 0) {
+            return;
+        }
+        int valor = Math.toIntExact(delta);
+        switch (contador) {
+            case OBJETOS -> ambienteRepository.somarObjetos(idAmbiente, valor);
+            case USUARIOS -> ambienteRepository.somarUsuarios(idAmbiente, valor);
+            case RELATORIOS -> ambienteRepository.somarRelatorios(idAmbiente, valor);
+        }
+        removerDoCacheL2(List.of(idAmbiente));
+        cacheEntidades.invalidarAmbiente(idAmbiente);
+    }
+
+    /**
+     * Ajuste de vários ambientes (ID do ambiente -> delta)
+     */
+    @Transactional
+    public void ajustar(Contador contador, Map<Integer, Long> deltas) {
+        deltas.forEach((idAmbiente, delta) -> ajustar(contador, idAmbiente, delta));
+    }
+
+    /**
+     * Item que saiu do ambiente anterior e entrou no atual (nulo = inclusão ou remoção)
+     */
+    @Transactional
+    public void mover(Contador contador, Integer anterior, Integer atual) {
+        if (Objects.equals(anterior, atual)) {
+            return;
+        }
+        ajustar(contador, anterior, -1);
+        ajustar(contador, atual, 1);
+    }
+
+    /**
+     * Troca de um conjunto de vínculos por outro (ex.: ambientes de um usuário)
+     */
+    @Transactional
+    public void trocarVinculos(Contador contador, Collection<Integer> anteriores, Collection<Integer> atuais) {
+        Set<Integer> removidos = new HashSet<>(anteriores);
+        removidos.removeAll(atuais);
+        Set<Integer> incluidos = new HashSet<>(atuais);
+        incluidos.removeAll(anteriores);
+        removidos.forEach(idAmbiente -> ajustar(contador, idAmbiente, -1));
+        incluidos.forEach(idAmbiente -> ajustar(contador, idAmbiente, 1));
+    }
+
+    /**
+     * Desconta contagens [idAmbiente, quantidade] lidas antes de uma remoção em bloco
+     */
+    @Transactional
+    public void descontar(Contador contador, List<Object[]> contagens) {
+        Map<Integer, Long> deltas = new HashMap<>();
+        for (Object[] linha : contagens) {
+            deltas.merge((Integer) linha[0], -((Number) linha[1]).longValue(), Long::sum);
+        }
+        ajustar(contador, deltas);
+    }
+
+    /**
+     * Recalcula os contadores a partir das tabelas de origem
+     * Para cascatas cujo efeito nas associações não é conhecido
+     */
+    @Transactional
+    public void recalcular(Collection<Integer> idsAmbiente) {
+        Set<Integer> ids = new HashSet<>(idsAmbiente);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return;
+        }
+        ambienteRepository.recalcularContadores(ids);
+        removerDoCacheL2(ids);
+        ids.forEach(cacheEntidades::invalidarAmbiente);
+    }
+
+    /**
+     * Os UPDATEs dos contadores não passam pelo cache L2 - só estes ambientes saem da região
+     * Na hora e de novo após o commit, para uma leitura concorrente não guardar o valor antigo
+     */
+    private void removerDoCacheL2(Collection<Integer> idsAmbiente) {
+        List<Integer> ids = List.copyOf(idsAmbiente);
+        Runnable remover = () -> ids.forEach(id -> entityManagerFactory.getCache().evict(Ambiente.class, id));
+        remover.run();
+        AposCommit.executar(remover);
+    }
+
+    // ============================================================
+    // RECONCILIAÇÃO
+    // ============================================================
+
+    /**
+     * Percorre os ambientes em blocos (keyset no ID) e recalcula só os que divergem
+     * Blocos sem divergência não escrevem nada (o cache L2 do ambiente continua válido)
+     */
+    @Scheduled(fixedDelayString = "${ecosmart.contadores-ambiente.intervalo-ms:3600000}",
+            initialDelayString = "${ecosmart.contadores-ambiente.intervalo-ms:3600000}")
+    public void reconciliar() {
+        int cursor = PaginaCursor.normalizarCursor(null);
+        int corrigidos = 0;
+        PageRequest bloco = PageRequest.of(0, TAMANHO_BLOCO);
+        while (true) {
+            List<Integer> ids = ambienteRepository.findIdsAposCursor(cursor, bloco);
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer divergentes = transactionTemplate.execute(tx -> {
+                List<Integer> ajustar = ambienteRepository.findIdsComContadoresDivergentes(ids);
+                recalcular(ajustar);
+                return ajustar.size();
+            });
+            corrigidos += divergentes != null ? divergentes : 0;
+            cursor = ids.get(ids.size() - 1);
+        }
+        if (corrigidos > 0) {
+            logger.warning(String.format("Contadores de %d ambientes corrigidos na reconciliação", corrigidos));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.ecosmart.eco.service;
+
+import com.ecosmart.eco.dto.EventoObjeto;
+import com.ecosmart.eco.eventos.AssinaturaEventos;
+import com.ecosmart.eco.model.Objeto;
+import com.ecosmart.eco.repository.UsuarioRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Envio em tempo real (Server-Sent Events) das mudanças de status e uso dos objetos
+ *
+ * Os clientes assinam um ambiente ou um usuário (todos os ambientes dele) e recebem um
+ * evento "objetos" com a lista de objetos alterados desde o último envio, no lugar de
+ * consultar /api/objetos/status/{status} ou /api/ambientes/{id}/objetos periodicamente.
+ * A publicação só enfileira o evento nas assinaturas do ambiente; o envio é feito por
+ * um pool próprio a cada intervalo, agrupando as mudanças de cada cliente.
+ */
+@Service
+public class EventosObjetoService {
+
+    private static final Logger logger = Logger.getLogger(EventosObjetoService.class.getName());
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    // Intervalo entre envios - mudanças dentro dele são agrupadas
+    @Value("${ecosmart.eventos.intervalo-ms:250}")
+    private long intervaloMs;
+
+    // Conexões sem evento recebem um comentário neste intervalo (detecta clientes desconectados)
+    @Value("${ecosmart.eventos.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    // Após o timeout o cliente reconecta (EventSource faz isso sozinho)
+    @Value("${ecosmart.eventos.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${ecosmart.eventos.maximo-assinantes:10000}")
+    private int maximoAssinantes;
+
+    // Objetos distintos pendentes por cliente antes de pedir resincronização
+    @Value("${ecosmart.eventos.maximo-pendentes:5000}")
+    private int maximoPendentes;
+
+    @Value("${ecosmart.eventos.threads-envio:4}")
+    private int threadsEnvio;
+
+    private final Set<AssinaturaEventos> assinaturas = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Set<AssinaturaEventos>> assinaturasPorAmbiente = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService agendador;
+    private ExecutorService envio;
+
+    @PostConstruct
+    public void iniciar() {
+        agendador = Executors.newSingleThreadScheduledExecutor(fabricaThreads("eventos-agendador"));
+        envio = Executors.newFixedThreadPool(threadsEnvio, fabricaThreads("eventos-envio"));
+        agendador.scheduleWithFixedDelay(this::despachar, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+        envio.shutdownNow();
+        for (AssinaturaEventos assinatura : assinaturas) {
+            assinatura.getEmitter().complete();
+        }
+    }
+
+    // ============================================================
+    // ASSINATURA
+    // ============================================================
+
+    /**
+     * Abre um canal de eventos para os objetos de um ambiente
+     * @throws IllegalStateException se o limite de assinantes foi atingido
+     */
+    public SseEmitter assinarAmbiente(Integer idAmbiente) {
+        return assinar(Set.of(idAmbiente));
+    }
+
+    /**
+     * Abre um canal de eventos para os objetos de todos os ambientes do usuário
+     * Os ambientes são resolvidos na conexão - vínculos novos valem a partir da próxima reconexão
+     * @throws IllegalStateException se o limite de assinantes foi atingido
+     */
+    public SseEmitter assinarUsuario(Integer idUsuario) {
+        return assinar(new HashSet<>(usuarioRepository.findIdsAmbientes(idUsuario)));
+    }
+
+    private SseEmitter assinar(Set<Integer> ambientes) {
+        if (assinaturas.size() >= maximoAssinantes) {
+            throw new IllegalStateException("Limite de assinantes de eventos atingido");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        AssinaturaEventos assinatura = new AssinaturaEventos(emitter, ambientes, maximoPendentes);
+        emitter.onCompletion(() -> remover(assinatura));
+        emitter.onTimeout(() -> remover(assinatura));
+        emitter.onError(erro -> remover(assinatura));
+
+        assinaturas.add(assinatura);
+        for (Integer idAmbiente : ambientes) {
+            assinaturasPorAmbiente.computeIfAbsent(idAmbiente, id -> ConcurrentHashMap.newKeySet()).add(assinatura);
+        }
+        return emitter;
+    }
+
+    private void remover(AssinaturaEventos assinatura) {
+        if (!assinaturas.remove(assinatura)) {
+            return;
+        }
+        for (Integer idAmbiente : assinatura.getAmbientes()) {
+            assinaturasPorAmbiente.computeIfPresent(idAmbiente, (id, conjunto) -> {
+                conjunto.remove(assinatura);
+                return conjunto.isEmpty() ? null : conjunto;
+            });
+        }
+    }
+
+    public int contarAssinantes() {
+        return assinaturas.size();
+    }
+
+    // ============================================================
+    // PUBLICAÇÃO
+    // ============================================================
+
+    /**
+     * Publica o estado atual do objeto para os assinantes do seu ambiente
+     * O estado é capturado agora e distribuído só depois do commit
+     */
+    public void publicar(Objeto objeto) {
+        if (objeto.getAmbiente() == null || assinaturas.isEmpty()) {
+            return;
+        }
+        EventoObjeto evento = EventoObjeto.de(objeto);
+        AposCommit.executar(() -> distribuir(evento));
+    }
+
+    private void distribuir(EventoObjeto evento) {
+        Set<AssinaturaEventos> destino = assinaturasPorAmbiente.get(evento.getIdAmbiente());
+        if (destino == null) {
+            return;
+        }
+        for (AssinaturaEventos assinatura : destino) {
+            assinatura.publicar(evento);
+        }
+    }
+
+    // ============================================================
+    // ENVIO
+    // ============================================================
+
+    /**
+     * Agenda o envio para cada cliente com eventos pendentes (ou heartbeat vencido)
+     * Clientes com envio ainda em andamento ficam para o próximo ciclo
+     */
+    private void despachar() {
+        long agora = System.currentTimeMillis();
+        for (AssinaturaEventos assinatura : assinaturas) {
+            boolean heartbeat = agora - assinatura.getUltimoEnvio() >= heartbeatMs;
+            if ((assinatura.temPendentes() || heartbeat) && assinatura.iniciarEnvio()) {
+                try {
+                    envio.execute(() -> enviar(assinatura));
+                } catch (RejectedExecutionException e) {
+                    assinatura.concluirEnvio();
+                }
+            }
+        }
+    }
+
+    private void enviar(AssinaturaEventos assinatura) {
+        SseEmitter emitter = assinatura.getEmitter();
+        try {
+            if (assinatura.consumirResincronizacao()) {
+                // Eventos foram descartados - o cliente deve recarregar a lista de objetos
+                emitter.send(SseEmitter.event().name("resincronizar").data(""));
+            }
+            List<EventoObjeto> eventos = assinatura.drenar();
+            if (!eventos.isEmpty()) {
+                emitter.send(SseEmitter.event().name("objetos").data(eventos));
+            } else {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.log(Level.FINE, "Cliente de eventos desconectado", e);
+            remover(assinatura);
+            emitter.completeWithError(e);
+        } finally {
+            assinatura.concluirEnvio();
+        }
+    }
+
+    private static ThreadFactory fabricaThreads(String nome) {
+        AtomicInteger contador = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, nome + "-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,277 @@
+package com.ecosmart.eco.service;
+
+import com.ecosmart.eco.busca.IndiceTrigramas;
+import com.ecosmart.eco.busca.TriePrefixos;
+import com.ecosmart.eco.dto.AmbienteResumo;
+import com.ecosmart.eco.dto.ObjetoResumo;
+import com.ecosmart.eco.dto.Sugestao;
+import com.ecosmart.eco.dto.UsuarioResumo;
+import com.ecosmart.eco.model.Ambiente;
+import com.ecosmart.eco.model.Objeto;
+import com.ecosmart.eco.model.Usuario;
+import com.ecosmart.eco.repository.AmbienteRepository;
+import com.ecosmart.eco.repository.ObjetoRepository;
+import com.ecosmart.eco.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Índices de texto em memória para as buscas "contém" (/search/) e o autocompletar (/suggest)
+ *
+ * Substituem o LIKE '%x%' (que não usa índice no banco): o índice devolve os IDs e os
+ * resumos (projeção, sem entidade) são carregados por chave primária. O texto carregado é
+ * conferido de novo, então um ID desatualizado no índice nunca aparece no resultado.
+ * Atualizados após o commit de cada gravação pelos services e reconstruídos periodicamente
+ * a partir do banco (corrige o que foi alterado por fora, ex.: remoções em cascata).
+ * Enquanto a primeira carga não termina, as buscas vão ao banco como antes.
+ *
+ * O autocompletar responde só com ID e texto, direto das árvores de prefixos (sem banco).
+ */
+@Service
+public class IndiceBuscaService {
+
+    private static final Logger logger = Logger.getLogger(IndiceBuscaService.class.getName());
+
+    // IDs por consulta IN ao carregar os resultados
+    private static final int IDS_POR_CONSULTA = 1000;
+
+    public static final int SUGESTOES_PADRAO = 10;
+    public static final int SUGESTOES_MAXIMO = 50;
+
+    @Autowired
+    private ObjetoRepository objetoRepository;
+
+    @Autowired
+    private AmbienteRepository ambienteRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private final IndiceTrigramas objetosPorNome = new IndiceTrigramas();
+    private final IndiceTrigramas objetosPorTipo = new IndiceTrigramas();
+    private final IndiceTrigramas ambientesPorNome = new IndiceTrigramas();
+    private final IndiceTrigramas ambientesPorDescricao = new IndiceTrigramas();
+    private final IndiceTrigramas usuariosPorNome = new IndiceTrigramas();
+
+    private final TriePrefixos prefixosNomeObjeto = new TriePrefixos();
+    private final TriePrefixos prefixosTipoObjeto = new TriePrefixos();
+    private final TriePrefixos prefixosNomeAmbiente = new TriePrefixos();
+    private final TriePrefixos prefixosNomeUsuario = new TriePrefixos();
+
+    private volatile boolean pronto;
+
+    // ============================================================
+    // CARGA E RECONSTRUÇÃO
+    // ============================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        reconstruir();
+    }
+
+    @Scheduled(fixedDelayString = "${ecosmart.busca.intervalo-reconstrucao-ms:1800000}",
+            initialDelayString = "${ecosmart.busca.intervalo-reconstrucao-ms:1800000}")
+    public synchronized void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        List.of(objetosPorNome, objetosPorTipo, ambientesPorNome, ambientesPorDescricao, usuariosPorNome)
+                .forEach(IndiceTrigramas::iniciarReconstrucao);
+        List.of(prefixosNomeObjeto, prefixosTipoObjeto, prefixosNomeAmbiente, prefixosNomeUsuario)
+                .forEach(TriePrefixos::iniciarReconstrucao);
+
+        Map<Integer, String> nomesObjeto = new HashMap<>();
+        Map<Integer, String> tiposObjeto = new HashMap<>();
+        for (Object[] linha : objetoRepository.findTextosIndexaveis()) {
+            nomesObjeto.put((Integer) linha[0], (String) linha[1]);
+            tiposObjeto.put((Integer) linha[0], (String) linha[2]);
+        }
+        objetosPorNome.concluirReconstrucao(nomesObjeto);
+        objetosPorTipo.concluirReconstrucao(tiposObjeto);
+        prefixosNomeObjeto.concluirReconstrucao(nomesObjeto);
+        prefixosTipoObjeto.concluirReconstrucao(tiposObjeto);
+
+        Map<Integer, String> nomesAmbiente = new HashMap<>();
+        Map<Integer, String> descricoesAmbiente = new HashMap<>();
+        for (Object[] linha : ambienteRepository.findTextosIndexaveis()) {
+            nomesAmbiente.put((Integer) linha[0], (String) linha[1]);
+            descricoesAmbiente.put((Integer) linha[0], (String) linha[2]);
+        }
+        ambientesPorNome.concluirReconstrucao(nomesAmbiente);
+        ambientesPorDescricao.concluirReconstrucao(descricoesAmbiente);
+        prefixosNomeAmbiente.concluirReconstrucao(nomesAmbiente);
+
+        Map<Integer, String> nomesUsuario = new HashMap<>();
+        for (Object[] linha : usuarioRepository.findTextosIndexaveis()) {
+            nomesUsuario.put((Integer) linha[0], (String) linha[1]);
+        }
+        usuariosPorNome.concluirReconstrucao(nomesUsuario);
+        prefixosNomeUsuario.concluirReconstrucao(nomesUsuario);
+
+        pronto = true;
+        logger.info(String.format("Índices de busca reconstruídos em %dms (%d objetos, %d ambientes, %d usuários)",
+                System.currentTimeMillis() - inicio, nomesObjeto.size(), nomesAmbiente.size(), nomesUsuario.size()));
+    }
+
+    // ============================================================
+    // ATUALIZAÇÃO (APÓS O COMMIT)
+    // ============================================================
+
+    public void indexarObjeto(Objeto objeto) {
+        Integer id = objeto.getIdObjeto();
+        String nome = objeto.getNomeObjeto();
+        String tipo = objeto.getTipoObjeto();
+        AposCommit.executar(() -> {
+            objetosPorNome.indexar(id, nome);
+            objetosPorTipo.indexar(id, tipo);
+            prefixosNomeObjeto.indexar(id, nome);
+            prefixosTipoObjeto.indexar(id, tipo);
+        });
+    }
+
+    public void removerObjeto(Integer id) {
+        AposCommit.executar(() -> {
+            objetosPorNome.remover(id);
+            objetosPorTipo.remover(id);
+            prefixosNomeObjeto.remover(id);
+            prefixosTipoObjeto.remover(id);
+        });
+    }
+
+    public void indexarAmbiente(Ambiente ambiente) {
+        Integer id = ambiente.getIdAmbiente();
+        String nome = ambiente.getNome();
+        String descricao = ambiente.getDescricao();
+        AposCommit.executar(() -> {
+            ambientesPorNome.indexar(id, nome);
+            ambientesPorDescricao.indexar(id, descricao);
+            prefixosNomeAmbiente.indexar(id, nome);
+        });
+    }
+
+    public void removerAmbiente(Integer id) {
+        AposCommit.executar(() -> {
+            ambientesPorNome.remover(id);
+            ambientesPorDescricao.remover(id);
+            prefixosNomeAmbiente.remover(id);
+        });
+    }
+
+    public void indexarUsuario(Usuario usuario) {
+        Integer id = usuario.getId_usuario();
+        String nome = usuario.getNome();
+        AposCommit.executar(() -> {
+            usuariosPorNome.indexar(id, nome);
+            prefixosNomeUsuario.indexar(id, nome);
+        });
+    }
+
+    public void removerUsuario(Integer id) {
+        AposCommit.executar(() -> {
+            usuariosPorNome.remover(id);
+            prefixosNomeUsuario.remover(id);
+        });
+    }
+
+    // ============================================================
+    // BUSCA
+    // ============================================================
+
+    /**
+     * Objetos com nome contendo o texto - vazio enquanto o índice não foi carregado
+     */
+    public Optional<List<ObjetoResumo>> objetosPorNome(String texto) {
+        return buscar(objetosPorNome, texto, objetoRepository::findResumosPorIds, ObjetoResumo::getIdObjeto,
+                ObjetoResumo::getNomeObjeto);
+    }
+
+    public Optional<List<ObjetoResumo>> objetosPorTipo(String texto) {
+        return buscar(objetosPorTipo, texto, objetoRepository::findResumosPorIds, ObjetoResumo::getIdObjeto,
+                ObjetoResumo::getTipoObjeto);
+    }
+
+    public Optional<List<AmbienteResumo>> ambientesPorNome(String texto) {
+        return buscar(ambientesPorNome, texto, ambienteRepository::findResumosPorIds, AmbienteResumo::getIdAmbiente,
+                AmbienteResumo::getNome);
+    }
+
+    public Optional<List<AmbienteResumo>> ambientesPorDescricao(String texto) {
+        return buscar(ambientesPorDescricao, texto, ambienteRepository::findResumosPorIds, AmbienteResumo::getIdAmbiente,
+                AmbienteResumo::getDescricao);
+    }
+
+    public Optional<List<UsuarioResumo>> usuariosPorNome(String texto) {
+        return buscar(usuariosPorNome, texto, usuarioRepository::findResumosPorIds, UsuarioResumo::getIdUsuario,
+                UsuarioResumo::getNome);
+    }
+
+    // ============================================================
+    // AUTOCOMPLETAR
+    // ============================================================
+
+    /**
+     * Objetos cujo nome começa com o prefixo - vazio enquanto o índice não foi carregado
+     */
+    public Optional<List<Sugestao>> sugerirObjetos(String prefixo, int limite) {
+        return pronto ? Optional.of(prefixosNomeObjeto.sugerir(prefixo, limite)) : Optional.empty();
+    }
+
+    /**
+     * Tipos de objeto distintos que começam com o prefixo
+     */
+    public Optional<List<Sugestao>> sugerirTiposObjeto(String prefixo, int limite) {
+        return pronto ? Optional.of(prefixosTipoObjeto.sugerirDistintos(prefixo, limite)) : Optional.empty();
+    }
+
+    public Optional<List<Sugestao>> sugerirAmbientes(String prefixo, int limite) {
+        return pronto ? Optional.of(prefixosNomeAmbiente.sugerir(prefixo, limite)) : Optional.empty();
+    }
+
+    public Optional<List<Sugestao>> sugerirUsuarios(String prefixo, int limite) {
+        return pronto ? Optional.of(prefixosNomeUsuario.sugerir(prefixo, limite)) : Optional.empty();
+    }
+
+    /**
+     * Limite de sugestões informado na requisição, dentro de [1, SUGESTOES_MAXIMO]
+     */
+    public static int normalizarLimite(Integer limite) {
+        if (limite == null || limite <= 0) {
+            return SUGESTOES_PADRAO;
+        }
+        return Math.min(limite, SUGESTOES_MAXIMO);
+    }
+
+    /**
+     * IDs do índice -> resumos (por chave primária, em blocos), conferidos e ordenados por ID
+     */
+    private <T> Optional<List<T>> buscar(IndiceTrigramas indice, String texto,
+                                         Function<List<Integer>, List<T>> carregador,
+                                         Function<T, Integer> id, Function<T, String> campo) {
+        if (!pronto) {
+            return Optional.empty();
+        }
+
+        List<Integer> ids = indice.buscar(texto);
+        String termo = IndiceTrigramas.normalizar(texto);
+        List<T> resultado = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += IDS_POR_CONSULTA) {
+            for (T item : carregador.apply(ids.subList(i, Math.min(i + IDS_POR_CONSULTA, ids.size())))) {
+                if (IndiceTrigramas.normalizar(campo.apply(item)).contains(termo)) {
+                    resultado.add(item);
+                }
+            }
+        }
+        resultado.sort(Comparator.comparing(id));
+        return Optional.of(resultado);
+    }
+}
@@ -1,15 +1,43 @@
     package com.ecosmart.eco.service;
 
+    import com.ecosmart.eco.HibernateConfig;
+    import com.ecosmart.eco.cache.CacheEntidades;
+    import com.ecosmart.eco.cache.ContadoresObjeto;
+    import com.ecosmart.eco.cache.PainelAmbientes;
+    import com.ecosmart.eco.cache.TravaCorrecoes;
+    import com.ecosmart.eco.dto.ClassificacaoObjeto;
+    import com.ecosmart.eco.dto.ObjetoResumo;
+    import com.ecosmart.eco.dto.PaginaCursor;
+    import com.ecosmart.eco.dto.Sugestao;
+    import com.ecosmart.eco.metricas.InstrumentacaoBusca;
+    import com.ecosmart.eco.model.EventoAuditoria;
     import com.ecosmart.eco.model.Objeto;
     import com.ecosmart.eco.model.Ambiente;
+    import com.ecosmart.eco.repository.AmbienteRepository;
     import com.ecosmart.eco.repository.ObjetoRepository;
+    import com.fasterxml.jackson.core.JsonGenerator;
+    import com.fasterxml.jackson.databind.ObjectMapper;
+    import jakarta.persistence.EntityManager;
+    import jakarta.persistence.PersistenceContext;
     import org.springframework.beans.factory.annotation.Autowired;
     import org.springframework.stereotype.Service;
-
+    import org.springframework.transaction.annotation.Transactional;
+
+    import java.io.IOException;
+    import java.io.OutputStream;
+    import java.util.ArrayList;
+    import java.util.Comparator;
+    import java.util.HashSet;
+    import java.util.Iterator;
+    import java.util.LinkedHashSet;
     import java.util.List;
+    import java.util.Objects;
     import java.util.Optional;
+    import java.util.Set;
     import java.util.function.Supplier;
     import java.util.logging.Logger;
+    import java.util.stream.Collectors;
+    import java.util.stream.Stream;
 
     @Service
     public class ObjetoService {
@@ -17,6 +45,54 @@
         @Autowired
         private ObjetoRepository objetoRepository;
 
+        @Autowired
+        private AmbienteRepository ambienteRepository;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private TelemetriaService telemetriaService;
+
+        @Autowired
+        private EventosObjetoService eventosObjetoService;
+
+        @Autowired
+        private CacheEntidades cacheEntidades;
+
+        @Autowired
+        private ContadoresObjeto contadoresObjeto;
+
+        @Autowired
+        private ContadoresAmbienteService contadoresAmbiente;
+
+        @Autowired
+        private PainelAmbientes painelAmbientes;
+
+        @Autowired
+        private TravaCorrecoes travaCorrecoes;
+
+        @Autowired
+        private IndiceBuscaService indiceBuscaService;
+
+        @Autowired
+        private InstrumentacaoBusca instrumentacaoBusca;
+
+        @Autowired
+        private AuditoriaService auditoriaService;
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        // Máximo de objetos aceitos por chamada de inclusão em lote
+        public static final int MAXIMO_OBJETOS_POR_LOTE = 10_000;
+
+        // Tamanho dos blocos da consulta IN de validação de nomes
+        private static final int NOMES_POR_CONSULTA = 1000;
+
+        // Quantidade de linhas escritas entre cada flush da exportação
+        private static final int LINHAS_POR_FLUSH = 500;
+
         private static final Logger logger = Logger.getLogger(ObjetoService.class.getName());
 
         // =============================================================================
@@ -26,22 +102,21 @@
 
         /**
          * Template Method - Define o algoritmo padrão para operações de busca
-         * Etapas: validação -> log início -> execução -> log resultado -> retorno
+         * Etapas: validação -> execução -> registro da latência e do tamanho do resultado -> retorno
          */
         private <T> T executarOperacaoBusca(String operacao, Supplier<T> busca, Object... parametros) {
             // Etapa 1: Validação dos parâmetros (pode ser sobrescrita)
             validarParametrosBusca(parametros);
 
-            // Etapa 2: Log do início da operação
-            logInicioOperacao(operacao, parametros);
-
-            // Etapa 3: Execução da busca (implementação específica)
+            // Etapa 2: Execução da busca (implementação específica)
+            long inicio = System.nanoTime();
             T resultado = busca.get();
 
-            // Etapa 4: Log do resultado
-            logResultadoOperacao(operacao, resultado);
+            // Etapa 3: Métricas da operação (log só com depuração ou amostragem ligada)
+            instrumentacaoBusca.registrar(logger, operacao, System.nanoTime() - inicio,
+                    tamanhoResultado(resultado), parametros);
 
-            // Etapa 5: Retorno do resultado
+            // Etapa 4: Retorno do resultado
             return resultado;
         }
 
@@ -60,28 +135,16 @@
         }
 
         /**
-         * Etapa do template - Log do início da operação
-         */
-        private void logInicioOperacao(String operacao, Object... parametros) {
-            logger.info(String.format("Iniciando operação: %s com parâmetros: %s",
-                    operacao, java.util.Arrays.toString(parametros)));
-        }
-
-        /**
-         * Etapa do template - Log do resultado
+         * Etapa do template - Quantidade de registros do resultado
          */
-        private void logResultadoOperacao(String operacao, Object resultado) {
-            if (resultado instanceof List) {
-                List<?> lista = (List<?>) resultado;
-                logger.info(String.format("Operação %s concluída. Encontrados %d registros",
-                        operacao, lista.size()));
-            } else if (resultado instanceof Optional) {
-                Optional<?> optional = (Optional<?>) resultado;
-                logger.info(String.format("Operação %s concluída. Registro %s",
-                        operacao, optional.isPresent() ? "encontrado" : "não encontrado"));
-            } else {
-                logger.info(String.format("Operação %s concluída", operacao));
+        private static int tamanhoResultado(Object resultado) {
+            if (resultado instanceof List<?> lista) {
+                return lista.size();
             }
+            if (resultado instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            return resultado != null ? 1 : 0;
         }
 
         // =============================================================================
@@ -89,8 +152,96 @@
         // =============================================================================
 
         // CREATE - Criar objeto
+        @Transactional
         public Objeto salvar(Objeto objeto) {
-            return objetoRepository.save(objeto);
+            ClassificacaoObjeto anterior = classificacaoAtual(objeto.getIdObjeto());
+            Objeto salvo = objetoRepository.save(objeto);
+            cacheEntidades.invalidarObjeto(salvo.getIdObjeto());
+            ClassificacaoObjeto atual = ClassificacaoObjeto.de(salvo);
+            registrarClassificacao(anterior, atual);
+            contadoresAmbiente.mover(ContadoresAmbienteService.Contador.OBJETOS, idAmbiente(anterior), atual.getIdAmbiente());
+            indiceBuscaService.indexarObjeto(salvo);
+            telemetriaService.registrarEstado(salvo);
+            eventosObjetoService.publicar(salvo);
+            auditoriaService.registrar(Objeto.class,
+                    anterior == null ? EventoAuditoria.Operacao.CRIAR : EventoAuditoria.Operacao.ATUALIZAR,
+                    salvo.getIdObjeto());
+            return salvo;
+        }
+
+        /**
+         * CREATE - Inclusão em lote com JDBC batching
+         * Valida nomes (repetidos no lote ou já cadastrados) e ambientes com poucas consultas,
+         * persiste tudo e faz flush/clear a cada bloco para manter o contexto de persistência pequeno
+         * @throws IllegalArgumentException se o lote for inválido (nada é gravado)
+         */
+        @Transactional
+        public List<Integer> salvarEmLote(List<Objeto> objetos) {
+            if (objetos == null || objetos.isEmpty()) {
+                throw new IllegalArgumentException("Lote vazio");
+            }
+            if (objetos.size() > MAXIMO_OBJETOS_POR_LOTE) {
+                throw new IllegalArgumentException("Lote excede o máximo de " + MAXIMO_OBJETOS_POR_LOTE + " objetos");
+            }
+
+            Set<String> nomes = new LinkedHashSet<>();
+            Set<Integer> idsAmbiente = new HashSet<>();
+            for (Objeto objeto : objetos) {
+                if (objeto.getNomeObjeto() == null || objeto.getNomeObjeto().trim().isEmpty()) {
+                    throw new IllegalArgumentException("Nome do objeto é obrigatório");
+                }
+                if (!nomes.add(objeto.getNomeObjeto())) {
+                    throw new IllegalArgumentException("Nome repetido no lote: " + objeto.getNomeObjeto());
+                }
+                if (objeto.getAmbiente() != null && objeto.getAmbiente().getIdAmbiente() != null) {
+                    idsAmbiente.add(objeto.getAmbiente().getIdAmbiente());
+                }
+            }
+
+            List<String> nomesSolicitados = new ArrayList<>(nomes);
+            for (int i = 0; i < nomesSolicitados.size(); i += NOMES_POR_CONSULTA) {
+                List<String> bloco = nomesSolicitados.subList(i, Math.min(i + NOMES_POR_CONSULTA, nomesSolicitados.size()));
+                List<String> existentes = objetoRepository.findNomesExistentes(bloco);
+                if (!existentes.isEmpty()) {
+                    throw new IllegalArgumentException("Nomes já cadastrados: " + existentes);
+                }
+            }
+
+            if (!idsAmbiente.isEmpty() && ambienteRepository.findAllById(idsAmbiente).size() != idsAmbiente.size()) {
+                throw new IllegalArgumentException("Ambiente informado não existe");
+            }
+
+            List<Integer> ids = new ArrayList<>(objetos.size());
+            List<ClassificacaoObjeto> classificacoes = new ArrayList<>(objetos.size());
+            for (int i = 0; i < objetos.size(); i++) {
+                Objeto objeto = objetos.get(i);
+                objeto.setIdObjeto(null);
+                if (objeto.getAmbiente() != null) {
+                    Integer idAmbiente = objeto.getAmbiente().getIdAmbiente();
+                    objeto.setAmbiente(idAmbiente != null ? ambienteRepository.getReferenceById(idAmbiente) : null);
+                }
+                entityManager.persist(objeto);
+                ids.add(objeto.getIdObjeto());
+                classificacoes.add(ClassificacaoObjeto.de(objeto));
+                indiceBuscaService.indexarObjeto(objeto);
+                auditoriaService.registrar(Objeto.class, EventoAuditoria.Operacao.CRIAR, objeto.getIdObjeto(),
+                        null, "Inclusão em lote");
+
+                if ((i + 1) % HibernateConfig.TAMANHO_LOTE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            cacheEntidades.invalidarObjetos(ids);
+            contadoresObjeto.registrarInclusoes(classificacoes);
+            painelAmbientes.registrarInclusoes(classificacoes);
+            contadoresAmbiente.ajustar(ContadoresAmbienteService.Contador.OBJETOS, classificacoes.stream()
+                    .map(ClassificacaoObjeto::getIdAmbiente)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.groupingBy(idAmbiente -> idAmbiente, Collectors.counting())));
+            return ids;
         }
 
         // READ - Buscar todos (usando Template Method)
@@ -99,61 +250,81 @@
                     () -> objetoRepository.findAll());
         }
 
-        // READ - Buscar por ID (usando Template Method)
+        // READ - Buscar página por cursor (usando Template Method)
+        public PaginaCursor<ObjetoResumo> buscarPagina(Integer cursor, Integer limite) {
+            int inicio = PaginaCursor.normalizarCursor(cursor);
+            int tamanho = PaginaCursor.normalizarLimite(limite);
+            List<ObjetoResumo> resultado = executarOperacaoBusca("buscarPagina",
+                    () -> objetoRepository.findResumosAposCursor(inicio, PaginaCursor.consulta(tamanho)),
+                    inicio, tamanho);
+            return PaginaCursor.de(resultado, tamanho, ObjetoResumo::getIdObjeto);
+        }
+
+        // READ - Buscar por ID (usando Template Method; entidade gerenciada - serve às rotas de escrita,
+        // o L2 do Hibernate evita o SELECT)
         public Optional<Objeto> buscarPorId(Integer id) {
-            return executarOperacaoBusca("buscarPorId",
-                    () -> objetoRepository.findById(id), id);
+            return executarOperacaoBusca("buscarPorId", () -> objetoRepository.findById(id), id);
         }
 
         // READ - Buscar por nome (usando Template Method)
-        public List<Objeto> buscarPorNome(String nomeObjeto) {
+        public List<ObjetoResumo> buscarPorNome(String nomeObjeto) {
             return executarOperacaoBusca("buscarPorNome",
-                    () -> objetoRepository.findByNomeObjeto(nomeObjeto), nomeObjeto);
+                    () -> objetoRepository.findResumosPorNome(nomeObjeto), nomeObjeto);
         }
 
-        // READ - Buscar por nome (contém) (usando Template Method)
-        public List<Objeto> buscarPorNomeContendo(String nomeObjeto) {
+        // READ - Buscar por nome (contém) (usando Template Method, pelo índice de trigramas)
+        public List<ObjetoResumo> buscarPorNomeContendo(String nomeObjeto) {
             return executarOperacaoBusca("buscarPorNomeContendo",
-                    () -> objetoRepository.findByNomeObjetoContainingIgnoreCase(nomeObjeto), nomeObjeto);
+                    () -> indiceBuscaService.objetosPorNome(nomeObjeto)
+                            .orElseGet(() -> objetoRepository.findResumosPorNomeContendo(nomeObjeto)),
+                    nomeObjeto);
         }
 
         // READ - Buscar por tipo (usando Template Method)
-        public List<Objeto> buscarPorTipo(String tipoObjeto) {
+        public List<ObjetoResumo> buscarPorTipo(String tipoObjeto) {
             return executarOperacaoBusca("buscarPorTipo",
-                    () -> objetoRepository.findByTipoObjeto(tipoObjeto), tipoObjeto);
+                    () -> objetoRepository.findResumosPorTipo(tipoObjeto), tipoObjeto);
         }
 
-        // READ - Buscar por tipo (contém) (usando Template Method)
-        public List<Objeto> buscarPorTipoContendo(String tipoObjeto) {
+        // READ - Buscar por tipo (contém) (usando Template Method, pelo índice de trigramas)
+        public List<ObjetoResumo> buscarPorTipoContendo(String tipoObjeto) {
             return executarOperacaoBusca("buscarPorTipoContendo",
-                    () -> objetoRepository.findByTipoObjetoContainingIgnoreCase(tipoObjeto), tipoObjeto);
+                    () -> indiceBuscaService.objetosPorTipo(tipoObjeto)
+                            .orElseGet(() -> objetoRepository.findResumosPorTipoContendo(tipoObjeto)),
+                    tipoObjeto);
         }
 
         // READ - Buscar por status (usando Template Method)
-        public List<Objeto> buscarPorStatus(String status) {
+        public List<ObjetoResumo> buscarPorStatus(String status) {
             return executarOperacaoBusca("buscarPorStatus",
-                    () -> objetoRepository.findByStatus(status), status);
+                    () -> objetoRepository.findResumosPorStatus(status), status);
         }
 
         // READ - Buscar objetos ativos (usando Template Method)
-        public List<Objeto> buscarPorAtivo(Integer ativo) {
+        public List<ObjetoResumo> buscarPorAtivo(Integer ativo) {
             return executarOperacaoBusca("buscarPorAtivo",
-                    () -> objetoRepository.findByAtivo(ativo), ativo);
+                    () -> objetoRepository.findResumosPorAtivo(ativo), ativo);
         }
 
         // READ - Buscar por potência (usando Template Method)
-        public List<Objeto> buscarPorPotencia(Integer potencia) {
+        public List<ObjetoResumo> buscarPorPotencia(Integer potencia) {
             return executarOperacaoBusca("buscarPorPotencia",
-                    () -> objetoRepository.findByPotencia(potencia), potencia);
+                    () -> objetoRepository.findResumosPorPotencia(potencia), potencia);
         }
 
         // READ - Buscar por faixa de potência (usando Template Method)
-        public List<Objeto> buscarPorFaixaPotencia(Integer potenciaMin, Integer potenciaMax) {
+        public List<ObjetoResumo> buscarPorFaixaPotencia(Integer potenciaMin, Integer potenciaMax) {
             return executarOperacaoBusca("buscarPorFaixaPotencia",
-                    () -> objetoRepository.findByPotenciaBetween(potenciaMin, potenciaMax),
+                    () -> objetoRepository.findResumosPorFaixaPotencia(potenciaMin, potenciaMax),
                     potenciaMin, potenciaMax);
         }
 
+        // READ - Objetos de um ambiente (usando Template Method, projeção sem carregar o ambiente)
+        public List<ObjetoResumo> buscarPorAmbiente(Integer idAmbiente) {
+            return executarOperacaoBusca("buscarPorAmbiente",
+                    () -> objetoRepository.findResumosPorAmbiente(idAmbiente), idAmbiente);
+        }
+
         // READ - Buscar objeto com ambientes (usando Template Method)
         public Optional<Objeto> buscarPorIdComAmbientes(Integer id) {
             return executarOperacaoBusca("buscarPorIdComAmbientes",
@@ -178,48 +349,133 @@
                     () -> objetoRepository.findByTipoObjetoStartingWithIgnoreCase(tipoObjeto), tipoObjeto);
         }
 
+        // READ - Autocompletar por nome (árvore de prefixos; só ID e nome)
+        public List<Sugestao> sugerirPorNome(String prefixo, Integer limite) {
+            int tamanho = IndiceBuscaService.normalizarLimite(limite);
+            return indiceBuscaService.sugerirObjetos(prefixo, tamanho)
+                    .orElseGet(() -> objetoRepository.findByNomeObjetoStartingWithIgnoreCase(prefixo).stream()
+                            .sorted(Comparator.comparing(Objeto::getNomeObjeto, String.CASE_INSENSITIVE_ORDER))
+                            .limit(tamanho)
+                            .map(objeto -> new Sugestao(objeto.getIdObjeto(), objeto.getNomeObjeto()))
+                            .toList());
+        }
+
+        // READ - Autocompletar tipos distintos de objeto (árvore de prefixos)
+        public List<Sugestao> sugerirTipos(String prefixo, Integer limite) {
+            int tamanho = IndiceBuscaService.normalizarLimite(limite);
+            return indiceBuscaService.sugerirTiposObjeto(prefixo, tamanho)
+                    .orElseGet(() -> objetoRepository.findByTipoObjetoStartingWithIgnoreCase(prefixo).stream()
+                            .map(Objeto::getTipoObjeto)
+                            .distinct()
+                            .sorted(String.CASE_INSENSITIVE_ORDER)
+                            .limit(tamanho)
+                            .map(tipo -> new Sugestao(null, tipo))
+                            .toList());
+        }
+
         // READ - Buscar por potência maior que (usando Template Method)
-        public List<Objeto> buscarPorPotenciaMaiorQue(Integer potencia) {
+        public List<ObjetoResumo> buscarPorPotenciaMaiorQue(Integer potencia) {
             return executarOperacaoBusca("buscarPorPotenciaMaiorQue",
-                    () -> objetoRepository.findByPotenciaGreaterThan(potencia), potencia);
+                    () -> objetoRepository.findResumosPorPotenciaMaiorQue(potencia), potencia);
         }
 
         // READ - Buscar por tempo de uso maior que (usando Template Method)
-        public List<Objeto> buscarPorTempoUsoMaiorQue(Double tempoUso) {
+        public List<ObjetoResumo> buscarPorTempoUsoMaiorQue(Double tempoUso) {
             return executarOperacaoBusca("buscarPorTempoUsoMaiorQue",
-                    () -> objetoRepository.findByTempoUsoGreaterThan(tempoUso), tempoUso);
+                    () -> objetoRepository.findResumosPorTempoUsoMaiorQue(tempoUso), tempoUso);
         }
 
         // READ - Buscar objetos ativos por tipo (usando Template Method)
-        public List<Objeto> buscarPorAtivoETipo(Integer ativo, String tipoObjeto) {
+        public List<ObjetoResumo> buscarPorAtivoETipo(Integer ativo, String tipoObjeto) {
             return executarOperacaoBusca("buscarPorAtivoETipo",
-                    () -> objetoRepository.findByAtivoAndTipoObjeto(ativo, tipoObjeto),
+                    () -> objetoRepository.findResumosPorAtivoETipo(ativo, tipoObjeto),
                     ativo, tipoObjeto);
         }
 
+        // =============================================================================
+        // EXPORTAÇÃO EM MASSA (NDJSON)
+        // =============================================================================
+
+        /**
+         * Escreve todos os objetos (com o ID do ambiente) como JSON delimitado por linha
+         * Lê por stream com fetch size e escreve direto na saída - memória constante
+         * @return quantidade de objetos exportados
+         */
+        @Transactional(readOnly = true)
+        public long exportarNdjson(OutputStream saida) throws IOException {
+            long total = 0;
+            try (Stream<ObjetoResumo> resumos = objetoRepository.streamResumos();
+                 JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Sem separador padrão entre valores raiz - cada linha termina com '\n'
+                gerador.setRootValueSeparator(null);
+
+                Iterator<ObjetoResumo> iterator = resumos.iterator();
+                while (iterator.hasNext()) {
+                    gerador.writeObject(iterator.next());
+                    gerador.writeRaw('\n');
+                    if (++total % LINHAS_POR_FLUSH == 0) {
+                        gerador.flush();
+                    }
+                }
+                gerador.flush();
+            }
+            logger.info(String.format("Exportação NDJSON concluída. %d objetos exportados", total));
+            return total;
+        }
+
         // UPDATE - Atualizar objeto
+        @Transactional
         public Objeto atualizar(Objeto objeto) {
-            return objetoRepository.save(objeto);
+            ClassificacaoObjeto anterior = classificacaoAtual(objeto.getIdObjeto());
+            Objeto atualizado = objetoRepository.save(objeto);
+            cacheEntidades.invalidarObjeto(atualizado.getIdObjeto());
+            ClassificacaoObjeto atual = ClassificacaoObjeto.de(atualizado);
+            registrarClassificacao(anterior, atual);
+            contadoresAmbiente.mover(ContadoresAmbienteService.Contador.OBJETOS, idAmbiente(anterior), atual.getIdAmbiente());
+            indiceBuscaService.indexarObjeto(atualizado);
+            // Cada atualização vira uma leitura no histórico de telemetria
+            telemetriaService.registrarEstado(atualizado);
+            // Assinantes do ambiente recebem a mudança por SSE
+            eventosObjetoService.publicar(atualizado);
+            auditoriaService.registrar(Objeto.class, EventoAuditoria.Operacao.ATUALIZAR, atualizado.getIdObjeto());
+            return atualizado;
         }
 
         // DELETE - Deletar por ID
+        @Transactional
         public void deletarPorId(Integer id) {
+            ClassificacaoObjeto anterior = classificacaoAtual(id);
             objetoRepository.deleteById(id);
+            cacheEntidades.invalidarObjeto(id);
+            registrarClassificacao(anterior, null);
+            contadoresAmbiente.mover(ContadoresAmbienteService.Contador.OBJETOS, idAmbiente(anterior), null);
+            indiceBuscaService.removerObjeto(id);
+            telemetriaService.descartarBuffer(id);
+            auditoriaService.registrar(Objeto.class, EventoAuditoria.Operacao.REMOVER, id);
         }
 
         // DELETE - Deletar objeto
+        @Transactional
         public void deletar(Objeto objeto) {
+            ClassificacaoObjeto anterior = classificacaoAtual(objeto.getIdObjeto());
             objetoRepository.delete(objeto);
+            cacheEntidades.invalidarObjeto(objeto.getIdObjeto());
+            registrarClassificacao(anterior, null);
+            contadoresAmbiente.mover(ContadoresAmbienteService.Contador.OBJETOS, idAmbiente(anterior), null);
+            indiceBuscaService.removerObjeto(objeto.getIdObjeto());
+            telemetriaService.descartarBuffer(objeto.getIdObjeto());
+            auditoriaService.registrar(Objeto.class, EventoAuditoria.Operacao.REMOVER, objeto.getIdObjeto());
         }
 
-        // Verificar se existe por ID
+        // Verificar se existe por ID (resposta em cache - não carrega a entidade)
         public boolean existePorId(Integer id) {
-            return objetoRepository.existsById(id);
+            return cacheEntidades.existeObjeto(id, objetoRepository::existsById);
         }
 
         // Verificar se existe por nome
         public boolean existePorNome(String nomeObjeto) {
-            return objetoRepository.existsByNomeObjeto(nomeObjeto);
+            return cacheEntidades.existeNomeObjeto(nomeObjeto, objetoRepository::existsByNomeObjeto);
         }
 
         // Verificar se existe por tipo
@@ -229,21 +485,52 @@
 
         // Contar objetos
         public long contar() {
-            return objetoRepository.count();
+            return objetoRepository.contarTodos();
         }
 
-        // Contar objetos por tipo
+        // Contar objetos por tipo (contadores em memória; consulta o banco só antes da carga inicial)
         public long contarPorTipo(String tipoObjeto) {
-            return objetoRepository.countByTipoObjeto(tipoObjeto);
+            Long quantidade = contadoresObjeto.contarPorTipo(tipoObjeto);
+            return quantidade != null ? quantidade : objetoRepository.countByTipoObjeto(tipoObjeto);
         }
 
-        // Contar objetos por status
+        // Contar objetos por status (contadores em memória)
         public long contarPorStatus(String status) {
-            return objetoRepository.countByStatus(status);
+            Long quantidade = contadoresObjeto.contarPorStatus(status);
+            return quantidade != null ? quantidade : objetoRepository.countByStatus(status);
         }
 
-        // Contar objetos ativos
+        // Contar objetos ativos (contadores em memória)
         public long contarPorAtivo(Integer ativo) {
-            return objetoRepository.countByAtivo(ativo);
+            Long quantidade = contadoresObjeto.contarPorAtivo(ativo);
+            return quantidade != null ? quantidade : objetoRepository.countByAtivo(ativo);
+        }
+
+        /**
+         * Classificação gravada antes de uma alteração (null para objeto novo ou inexistente)
+         * Lida da entidade que o save()/delete() carregaria de qualquer forma, com a linha bloqueada
+         * até o commit: alterações concorrentes do mesmo objeto esperam, e cada uma parte do estado
+         * deixado pela anterior
+         */
+        private ClassificacaoObjeto classificacaoAtual(Integer id) {
+            return id != null
+                    ? objetoRepository.findByIdParaAlteracao(id).map(ClassificacaoObjeto::de).orElse(null)
+                    : null;
+        }
+
+        // Contadores e painel corrigidos juntos, no mesmo callback após o commit
+        // (com a trava das correções - ver TravaCorrecoes)
+        private void registrarClassificacao(ClassificacaoObjeto anterior, ClassificacaoObjeto atual) {
+            if (Objects.equals(anterior, atual)) {
+                return;
+            }
+            AposCommit.executar(travaCorrecoes.correcoes(), () -> {
+                contadoresObjeto.aplicarAlteracao(anterior, atual);
+                painelAmbientes.aplicarAlteracao(anterior, atual);
+            });
+        }
+
+        private static Integer idAmbiente(ClassificacaoObjeto classificacao) {
+            return classificacao != null ? classificacao.getIdAmbiente() : null;
         }
     }
\ No newline at end of file
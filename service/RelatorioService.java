@@ -1,5 +1,8 @@
 package com.ecosmart.eco.service;
 
+import com.ecosmart.eco.dto.PaginaCursor;
+import com.ecosmart.eco.dto.RelatorioResumo;
+import com.ecosmart.eco.model.EventoAuditoria;
 import com.ecosmart.eco.model.Relatorio;
 import com.ecosmart.eco.model.Ambiente;
 import com.ecosmart.eco.model.Usuario;
@@ -26,13 +29,26 @@ public class RelatorioService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    @Autowired
+    private ContadoresAmbienteService contadoresAmbiente;
+
     // ===== OPERAÇÕES BÁSICAS =====
 
     /**
      * Salva um relatório (criar ou atualizar)
      */
     public Relatorio salvar(Relatorio relatorio) {
-        return relatorioRepository.save(relatorio);
+        boolean novo = relatorio.getIdRelatorio() == null;
+        Integer ambienteAnterior = novo ? null : relatorioRepository.findIdAmbiente(relatorio.getIdRelatorio()).orElse(null);
+        Relatorio salvo = relatorioRepository.save(relatorio);
+        contadoresAmbiente.mover(ContadoresAmbienteService.Contador.RELATORIOS, ambienteAnterior,
+                salvo.getAmbiente() != null ? salvo.getAmbiente().getIdAmbiente() : null);
+        auditoriaService.registrar(Relatorio.class,
+                novo ? EventoAuditoria.Operacao.CRIAR : EventoAuditoria.Operacao.ATUALIZAR, salvo.getIdRelatorio());
+        return salvo;
     }
 
     /**
@@ -51,18 +67,37 @@ public class RelatorioService {
         return relatorioRepository.findAll();
     }
 
+    /**
+     * Busca uma página de relatórios a partir do cursor (keyset no ID)
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<RelatorioResumo> buscarPagina(Integer cursor, Integer limite) {
+        int tamanho = PaginaCursor.normalizarLimite(limite);
+        List<RelatorioResumo> resultado = relatorioRepository.findResumosAposCursor(
+                PaginaCursor.normalizarCursor(cursor), PaginaCursor.consulta(tamanho));
+        return PaginaCursor.de(resultado, tamanho, RelatorioResumo::getIdRelatorio);
+    }
+
     /**
      * Deleta relatório por ID
      */
     public void deletarPorId(Integer id) {
+        Integer ambiente = relatorioRepository.findIdAmbiente(id).orElse(null);
         relatorioRepository.deleteById(id);
+        contadoresAmbiente.mover(ContadoresAmbienteService.Contador.RELATORIOS, ambiente, null);
+        auditoriaService.registrar(Relatorio.class, EventoAuditoria.Operacao.REMOVER, id);
     }
 
     /**
      * Deleta relatório
      */
     public void deletar(Relatorio relatorio) {
+        Integer ambiente = relatorio.getIdRelatorio() != null
+                ? relatorioRepository.findIdAmbiente(relatorio.getIdRelatorio()).orElse(null)
+                : null;
         relatorioRepository.delete(relatorio);
+        contadoresAmbiente.mover(ContadoresAmbienteService.Contador.RELATORIOS, ambiente, null);
+        auditoriaService.registrar(Relatorio.class, EventoAuditoria.Operacao.REMOVER, relatorio.getIdRelatorio());
     }
 
     /**
@@ -87,8 +122,8 @@ public class RelatorioService {
      * Busca relatórios por ID do ambiente
      */
     @Transactional(readOnly = true)
-    public List<Relatorio> buscarPorIdAmbiente(Integer ambienteId) {
-        return relatorioRepository.findByAmbiente_IdAmbiente(ambienteId);
+    public List<RelatorioResumo> buscarPorIdAmbiente(Integer ambienteId) {
+        return relatorioRepository.findResumosPorAmbienteId(ambienteId);
     }
 
     /**
@@ -113,8 +148,8 @@ public class RelatorioService {
      * Busca relatórios por ID do usuário
      */
     @Transactional(readOnly = true)
-    public List<Relatorio> buscarPorIdUsuario(Integer usuarioId) {
-        return relatorioRepository.findByUsuarioId(usuarioId);
+    public List<RelatorioResumo> buscarPorIdUsuario(Integer usuarioId) {
+        return relatorioRepository.findResumosPorUsuarioId(usuarioId);
     }
 
     /**
@@ -139,8 +174,8 @@ public class RelatorioService {
      * Busca relatórios por ID do ambiente e ID do usuário
      */
     @Transactional(readOnly = true)
-    public List<Relatorio> buscarPorIdAmbienteEIdUsuario(Integer ambienteId, Integer usuarioId) {
-        return relatorioRepository.findByAmbienteIdAndUsuarioId(ambienteId, usuarioId);
+    public List<RelatorioResumo> buscarPorIdAmbienteEIdUsuario(Integer ambienteId, Integer usuarioId) {
+        return relatorioRepository.findResumosPorAmbienteIdEUsuarioId(ambienteId, usuarioId);
     }
 
     // ===== VERIFICAÇÕES DE EXISTÊNCIA =====
@@ -232,25 +267,34 @@ public class RelatorioService {
      * Busca relatórios recentes de um usuário (assumindo que existe campo dataGeracao)
      */
     @Transactional(readOnly = true)
-    public List<Relatorio> buscarRelatoriosRecentesDoUsuario(Integer usuarioId) {
+    public List<RelatorioResumo> buscarRelatoriosRecentesDoUsuario(Integer usuarioId) {
         // Esta implementação dependeria de ter um campo de data na entidade Relatorio
         // Por enquanto, retorna todos os relatórios do usuário
         return buscarPorIdUsuario(usuarioId);
     }
 
     /**
-     * Remove todos os relatórios de um ambiente
+     * Remove todos os relatórios de um ambiente com um único DELETE
+     * @return quantidade de relatórios removidos
      */
-    public void removerRelatoriosDoAmbiente(Integer ambienteId) {
-        List<Relatorio> relatorios = buscarPorIdAmbiente(ambienteId);
-        relatorios.forEach(this::deletar);
+    public int removerRelatoriosDoAmbiente(Integer ambienteId) {
+        int removidos = relatorioRepository.deleteByAmbienteId(ambienteId);
+        contadoresAmbiente.ajustar(ContadoresAmbienteService.Contador.RELATORIOS, ambienteId, -removidos);
+        auditoriaService.registrar(Relatorio.class, EventoAuditoria.Operacao.REMOVER, null, null,
+                removidos + " relatórios do ambiente " + ambienteId);
+        return removidos;
     }
 
     /**
-     * Remove todos os relatórios de um usuário
+     * Remove todos os relatórios de um usuário com um único DELETE
+     * @return quantidade de relatórios removidos
      */
-    public void removerRelatoriosDoUsuario(Integer usuarioId) {
-        List<Relatorio> relatorios = buscarPorIdUsuario(usuarioId);
-        relatorios.forEach(this::deletar);
+    public int removerRelatoriosDoUsuario(Integer usuarioId) {
+        List<Object[]> porAmbiente = relatorioRepository.countPorAmbienteDoUsuario(usuarioId);
+        int removidos = relatorioRepository.deleteByUsuarioId(usuarioId);
+        contadoresAmbiente.descontar(ContadoresAmbienteService.Contador.RELATORIOS, porAmbiente);
+        auditoriaService.registrar(Relatorio.class, EventoAuditoria.Operacao.REMOVER, null, null,
+                removidos + " relatórios do usuário " + usuarioId);
+        return removidos;
     }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.ecosmart.eco.service;
+
+import com.ecosmart.eco.dto.StatusRemocao;
+import com.ecosmart.eco.model.EventoAuditoria;
+import com.ecosmart.eco.model.Relatorio;
+import com.ecosmart.eco.repository.RelatorioRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Remoção de relatórios em blocos executada em segundo plano
+ * Cada bloco é apagado em sua própria transação curta, sem segurar
+ * a thread da requisição nem uma transação longa no banco
+ */
+@Service
+public class RemocaoRelatorioService {
+
+    private static final Logger logger = Logger.getLogger(RemocaoRelatorioService.class.getName());
+
+    // Relatórios apagados por transação
+    private static final int TAMANHO_BLOCO = 1000;
+
+    // Tempo que um job finalizado continua consultável
+    private static final long HORAS_RETENCAO_STATUS = 1;
+
+    @Autowired
+    private RelatorioRepository relatorioRepository;
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    @Autowired
+    private ContadoresAmbienteService contadoresAmbiente;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, StatusRemocao> jobs = new ConcurrentHashMap<>();
+
+    // Uma única thread - remoções concorrentes só disputariam os mesmos índices
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "remocao-relatorios");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RemocaoRelatorioService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Agenda a remoção de todos os relatórios de um ambiente
+     */
+    public StatusRemocao agendarRemocaoDoAmbiente(Integer ambienteId) {
+        return agendar("AMBIENTE", ambienteId,
+                () -> relatorioRepository.countByAmbienteId(ambienteId),
+                bloco -> relatorioRepository.findIdsByAmbienteId(ambienteId, bloco));
+    }
+
+    /**
+     * Agenda a remoção de todos os relatórios de um usuário
+     */
+    public StatusRemocao agendarRemocaoDoUsuario(Integer usuarioId) {
+        return agendar("USUARIO", usuarioId,
+                () -> relatorioRepository.countByUsuarioId(usuarioId),
+                bloco -> relatorioRepository.findIdsByUsuarioId(usuarioId, bloco));
+    }
+
+    /**
+     * Consulta a situação de um job de remoção
+     */
+    public Optional<StatusRemocao> buscarStatus(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private StatusRemocao agendar(String alvo, Integer alvoId,
+                                  Supplier<Long> contador,
+                                  Function<PageRequest, List<Integer>> proximoBloco) {
+        descartarJobsAntigos();
+
+        StatusRemocao status = new StatusRemocao(UUID.randomUUID().toString(), alvo, alvoId);
+        jobs.put(status.getId(), status);
+        executor.submit(() -> executar(status, contador, proximoBloco));
+        return status;
+    }
+
+    private void executar(StatusRemocao status,
+                          Supplier<Long> contador,
+                          Function<PageRequest, List<Integer>> proximoBloco) {
+        status.setSituacao(StatusRemocao.Situacao.EXECUTANDO);
+        try {
+            Long total = contador.get();
+            status.setTotal(total != null ? total : 0);
+
+            PageRequest bloco = PageRequest.of(0, TAMANHO_BLOCO);
+            while (true) {
+                Integer removidos = transactionTemplate.execute(tx -> {
+                    List<Integer> ids = proximoBloco.apply(bloco);
+                    if (ids.isEmpty()) {
+                        return 0;
+                    }
+                    List<Object[]> porAmbiente = relatorioRepository.countPorAmbienteDosIds(ids);
+                    int apagados = relatorioRepository.deleteByIdIn(ids);
+                    contadoresAmbiente.descontar(ContadoresAmbienteService.Contador.RELATORIOS, porAmbiente);
+                    auditoriaService.registrar(Relatorio.class, EventoAuditoria.Operacao.REMOVER, null, null,
+                            String.format("%d relatórios (%s %d, job %s)", apagados, status.getAlvo(),
+                                    status.getAlvoId(), status.getId()));
+                    return apagados;
+                });
+                if (removidos == null || removidos == 0) {
+                    break;
+                }
+                status.setRemovidos(status.getRemovidos() + removidos);
+            }
+            status.setSituacao(StatusRemocao.Situacao.CONCLUIDA);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Falha na remoção de relatórios " + status.getId(), e);
+            status.setErro(e.getMessage());
+            status.setSituacao(StatusRemocao.Situacao.FALHOU);
+        } finally {
+            status.setConcluidoEm(LocalDateTime.now());
+        }
+    }
+
+    private void descartarJobsAntigos() {
+        LocalDateTime limite = LocalDateTime.now().minusHours(HORAS_RETENCAO_STATUS);
+        jobs.values().removeIf(job -> job.getConcluidoEm() != null && job.getConcluidoEm().isBefore(limite));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,338 @@
+package com.ecosmart.eco.service;
+
+import com.ecosmart.eco.model.LeituraObjeto;
+import com.ecosmart.eco.model.Objeto;
+import com.ecosmart.eco.repository.LeituraObjetoRepository;
+import com.ecosmart.eco.telemetria.BufferLeituras;
+import com.ecosmart.eco.telemetria.LogTelemetria;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Telemetria dos objetos: histórico de leituras (potência, status e uso)
+ *
+ * Caminho de escrita: a leitura é anexada ao log mapeado em memória (LogTelemetria) e
+ * confirmada logo após a cópia; a durabilidade fica com o fsync em grupo - sem um save() JPA
+ * por leitura. Uma thread de replay
+ * lê o log em ordem e grava as leituras na tabela leitura_objeto em lotes.
+ * As leituras mais recentes de cada objeto ficam em um buffer circular em memória,
+ * que atende os dashboards sem consultar o banco.
+ */
+@Service
+public class TelemetriaService {
+
+    private static final Logger logger = Logger.getLogger(TelemetriaService.class.getName());
+
+    // Máximo de leituras retornadas por consulta de período
+    public static final int MAXIMO_LEITURAS_POR_CONSULTA = 10_000;
+
+    // Leituras gravadas no banco por transação do replay
+    private static final int LEITURAS_POR_LOTE_REPLAY = 1000;
+
+    @Autowired
+    private LeituraObjetoRepository leituraObjetoRepository;
+
+    @Value("${ecosmart.telemetria.leituras-por-objeto:128}")
+    private int leiturasPorObjeto;
+
+    // Limita a memória total - objetos além deste número são atendidos só pelo banco
+    @Value("${ecosmart.telemetria.maximo-objetos-em-memoria:100000}")
+    private int maximoObjetosEmMemoria;
+
+    @Value("${ecosmart.telemetria.wal.diretorio:./data/telemetria-wal}")
+    private String diretorioLog;
+
+    @Value("${ecosmart.telemetria.wal.tamanho-segmento:67108864}")
+    private int tamanhoSegmento;
+
+    // Intervalo do fsync em grupo
+    @Value("${ecosmart.telemetria.wal.intervalo-fsync-micros:2000}")
+    private long intervaloFsyncMicros;
+
+    // Com true o POST de leitura só responde depois do fsync em grupo (a gravação do Objeto nunca espera);
+    // com false (padrão) o POST é confirmado antes de a leitura chegar ao disco - uma queda da
+    // máquina perde as leituras confirmadas no último intervalo de fsync
+    @Value("${ecosmart.telemetria.wal.aguardar-fsync:false}")
+    private boolean aguardarFsync;
+
+    @Value("${ecosmart.telemetria.wal.timeout-fsync-ms:1000}")
+    private long timeoutFsyncMs;
+
+    @Value("${ecosmart.telemetria.wal.intervalo-replay-ms:100}")
+    private long intervaloReplayMs;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Integer, BufferLeituras> buffers = new ConcurrentHashMap<>();
+
+    /**
+     * Até onde o replay chegou: último LSN gravado no banco e posição do próximo lote no log
+     * Publicados juntos (um objeto imutável) para quem lê sem o lock do replay
+     */
+    private record Progresso(long lsnPersistido, LogTelemetria.Posicao cursor) {
+    }
+
+    private LogTelemetria log;
+    private volatile Progresso progresso;
+
+    // Um replay por vez (agendado e encerramento) - ReentrantLock: não prende a thread portadora
+    private final ReentrantLock lockReplay = new ReentrantLock();
+
+    private ScheduledExecutorService agendador;
+
+    public TelemetriaService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ============================================================
+    // CICLO DE VIDA DO LOG
+    // ============================================================
+
+    /**
+     * Abre o log (recuperando o que ficou de uma falha) e inicia fsync em grupo e replay
+     * Registros com LSN já presente no banco são ignorados no replay
+     */
+    @PostConstruct
+    public void iniciar() throws IOException {
+        Long maxSequencia = leituraObjetoRepository.findMaxSequencia();
+        long lsnPersistido = maxSequencia != null ? maxSequencia : 0;
+
+        log = new LogTelemetria(Path.of(diretorioLog), tamanhoSegmento);
+        log.abrir(lsnPersistido + 1);
+        progresso = new Progresso(lsnPersistido, log.inicio());
+        // O que foi recuperado do log vai para o banco antes de qualquer buffer ser carregado
+        replay();
+
+        agendador = Executors.newScheduledThreadPool(2, r -> {
+            Thread thread = new Thread(r, "telemetria-wal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::forcarLog, intervaloFsyncMicros, intervaloFsyncMicros,
+                TimeUnit.MICROSECONDS);
+        agendador.scheduleWithFixedDelay(this::replay, intervaloReplayMs, intervaloReplayMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() throws IOException, InterruptedException {
+        agendador.shutdown();
+        agendador.awaitTermination(5, TimeUnit.SECONDS);
+        log.forcar();
+        replay();
+        log.close();
+    }
+
+    // ============================================================
+    // ESCRITA
+    // ============================================================
+
+    /**
+     * Registra o estado atual de um objeto como leitura (chamado ao salvar/atualizar o objeto)
+     * Anexada só depois do commit e sem aguardar o fsync - a gravação JPA nunca espera pelo log.
+     * O delta de uso é calculado a partir da última leitura em memória, quando existir
+     */
+    public void registrarEstado(Objeto objeto) {
+        LeituraObjeto leitura = new LeituraObjeto();
+        leitura.setIdObjeto(objeto.getIdObjeto());
+        leitura.setPotencia(objeto.getPotencia());
+        leitura.setStatus(objeto.getStatus());
+        leitura.setTempoUso(objeto.getTempoUso());
+        leitura.setInstante(Instant.now());
+        AposCommit.executar(() -> registrar(leitura, false));
+    }
+
+    /**
+     * Registra uma leitura recebida do dispositivo
+     * Sem instante informado, usa o instante atual. A leitura volta com a sequência do log;
+     * o ID da tabela é atribuído quando o replay a grava no banco.
+     * @throws IllegalStateException com aguardar-fsync ligado, se o fsync não confirmar dentro do tempo limite
+     */
+    public LeituraObjeto registrar(LeituraObjeto leitura) {
+        return registrar(leitura, aguardarFsync);
+    }
+
+    private LeituraObjeto registrar(LeituraObjeto leitura, boolean aguardar) {
+        leitura.setIdLeitura(null);
+        if (leitura.getInstante() == null) {
+            leitura.setInstante(Instant.now());
+        }
+
+        BufferLeituras buffer = obterBuffer(leitura.getIdObjeto());
+        LeituraObjeto anterior = buffer != null ? buffer.ultima() : null;
+        if (leitura.getDeltaUso() == null && anterior != null
+                && anterior.getTempoUso() != null && leitura.getTempoUso() != null) {
+            leitura.setDeltaUso(Math.max(0.0, leitura.getTempoUso() - anterior.getTempoUso()));
+        }
+
+        long lsn = log.anexar(leitura);
+        leitura.setSequencia(lsn);
+        if (aguardar) {
+            aguardarDurabilidade(lsn);
+        }
+
+        if (buffer != null) {
+            buffer.adicionar(leitura);
+        }
+        return leitura;
+    }
+
+    private void aguardarDurabilidade(long lsn) {
+        try {
+            if (!log.aguardarDurabilidade(lsn, timeoutFsyncMs)) {
+                throw new IllegalStateException("Tempo esgotado aguardando gravação da leitura no log");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando gravação da leitura no log", e);
+        }
+    }
+
+    private void forcarLog() {
+        try {
+            log.forcar();
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Falha no fsync do log de telemetria", e);
+        }
+    }
+
+    /**
+     * Lê do log o que já está durável e grava no banco em lotes, depois libera os segmentos gravados
+     */
+    private void replay() {
+        lockReplay.lock();
+        try {
+            while (true) {
+                Progresso atual = progresso;
+                LogTelemetria.Lote lote = log.ler(atual.cursor(), LEITURAS_POR_LOTE_REPLAY);
+                List<LeituraObjeto> pendentes = new ArrayList<>(lote.registros().size());
+                long maiorLsn = atual.lsnPersistido();
+                for (LogTelemetria.Registro registro : lote.registros()) {
+                    if (registro.lsn() > atual.lsnPersistido()) {
+                        pendentes.add(registro.leitura());
+                        maiorLsn = registro.lsn();
+                    }
+                }
+
+                if (!pendentes.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(tx -> leituraObjetoRepository.saveAll(pendentes));
+                }
+                progresso = new Progresso(maiorLsn, lote.proxima());
+                log.descartarAte(maiorLsn);
+
+                if (lote.registros().size() < LEITURAS_POR_LOTE_REPLAY) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            // O cursor não avança - o lote é tentado de novo no próximo ciclo
+            logger.log(Level.WARNING, "Falha no replay do log de telemetria", e);
+        } finally {
+            lockReplay.unlock();
+        }
+    }
+
+    // ============================================================
+    // CONSULTAS
+    // ============================================================
+
+    /**
+     * Leituras mais recentes de um objeto, da mais nova para a mais antiga
+     */
+    public List<LeituraObjeto> buscarRecentes(Integer idObjeto, int limite) {
+        BufferLeituras buffer = obterBuffer(idObjeto);
+        if (buffer != null && limite <= buffer.capacidade()) {
+            return buffer.recentes(limite);
+        }
+        return leituraObjetoRepository.findByIdObjetoOrderByInstanteDesc(idObjeto,
+                PageRequest.of(0, Math.min(limite, MAXIMO_LEITURAS_POR_CONSULTA)));
+    }
+
+    /**
+     * Leituras de um objeto no período [inicio, fim], em ordem cronológica
+     * Atendida pela memória quando o buffer cobre o início do período
+     */
+    public List<LeituraObjeto> buscarPorPeriodo(Integer idObjeto, Instant inicio, Instant fim) {
+        BufferLeituras buffer = obterBuffer(idObjeto);
+        if (buffer != null && buffer.cobre(inicio)) {
+            return buffer.periodo(inicio, fim);
+        }
+        return leituraObjetoRepository.findByIdObjetoAndInstanteBetweenOrderByInstanteAsc(idObjeto, inicio, fim,
+                PageRequest.of(0, MAXIMO_LEITURAS_POR_CONSULTA));
+    }
+
+    /**
+     * Descarta as leituras em memória de um objeto removido (o histórico no banco é mantido)
+     */
+    public void descartarBuffer(Integer idObjeto) {
+        buffers.remove(idObjeto);
+    }
+
+    /**
+     * Buffer do objeto, carregado do banco na primeira vez com as últimas leituras
+     * Retorna null quando o limite de objetos em memória foi atingido
+     */
+    private BufferLeituras obterBuffer(Integer idObjeto) {
+        BufferLeituras buffer = buffers.get(idObjeto);
+        if (buffer != null || buffers.size() >= maximoObjetosEmMemoria) {
+            return buffer;
+        }
+        // Carregado fora do computeIfAbsent: a consulta e a leitura do log não seguram o lock
+        // do mapa. Duas cargas simultâneas do mesmo objeto ficam com o primeiro buffer publicado
+        BufferLeituras carregado = carregarBuffer(idObjeto);
+        BufferLeituras existente = buffers.putIfAbsent(idObjeto, carregado);
+        return existente != null ? existente : carregado;
+    }
+
+    /**
+     * Leituras que ainda estão no log aguardando o replay mais as últimas do banco
+     * Sem o lock do replay: o log é lido primeiro, a partir do progresso publicado, e o banco
+     * depois - um lote gravado no meio aparece nas duas leituras (o buffer ignora a repetida
+     * pela sequência), e um segmento descartado no meio já estava no banco antes da consulta
+     */
+    private BufferLeituras carregarBuffer(Integer idObjeto) {
+        BufferLeituras buffer = new BufferLeituras(leiturasPorObjeto);
+        Progresso inicio = progresso;
+        List<LeituraObjeto> doLog = new ArrayList<>();
+        LogTelemetria.Posicao posicao = inicio.cursor();
+        while (true) {
+            LogTelemetria.Lote lote = log.ler(posicao, LEITURAS_POR_LOTE_REPLAY);
+            for (LogTelemetria.Registro registro : lote.registros()) {
+                if (registro.lsn() > inicio.lsnPersistido() && idObjeto.equals(registro.leitura().getIdObjeto())) {
+                    doLog.add(registro.leitura());
+                }
+            }
+            posicao = lote.proxima();
+            if (lote.registros().size() < LEITURAS_POR_LOTE_REPLAY) {
+                break;
+            }
+        }
+
+        List<LeituraObjeto> ultimas = new ArrayList<>(leituraObjetoRepository.findByIdObjetoOrderByInstanteDesc(
+                idObjeto, PageRequest.of(0, leiturasPorObjeto)));
+        Collections.reverse(ultimas);
+        ultimas.forEach(buffer::adicionar);
+        doLog.forEach(buffer::adicionar);
+        return buffer;
+    }
+}
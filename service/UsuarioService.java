@@ -1,11 +1,27 @@
 package com.ecosmart.eco.service;
 
+import com.ecosmart.eco.cache.CacheEntidades;
+import com.ecosmart.eco.dto.PaginaCursor;
+import com.ecosmart.eco.dto.Sugestao;
+import com.ecosmart.eco.dto.UsuarioCompleto;
+import com.ecosmart.eco.dto.UsuarioResumo;
+import com.ecosmart.eco.model.Ambiente;
+import com.ecosmart.eco.model.EventoAuditoria;
 import com.ecosmart.eco.model.Usuario;
+import com.ecosmart.eco.repository.AmbienteRepository;
+import com.ecosmart.eco.repository.RelatorioRepository;
 import com.ecosmart.eco.repository.UsuarioRepository;
+import com.ecosmart.eco.seguranca.TokensSessao;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -14,9 +30,38 @@ public class UsuarioService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private AmbienteRepository ambienteRepository;
+
+    @Autowired
+    private RelatorioRepository relatorioRepository;
+
+    @Autowired
+    private IndiceBuscaService indiceBuscaService;
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    @Autowired
+    private CacheEntidades cacheEntidades;
+
+    @Autowired
+    private ContadoresAmbienteService contadoresAmbiente;
+
+    @Autowired
+    private TokensSessao tokensSessao;
+
     // CREATE - Criar usuário
     public Usuario salvar(Usuario usuario) {
-        return usuarioRepository.save(usuario);
+        boolean novo = usuario.getId_usuario() == null;
+        List<Integer> ambientesAnteriores = novo ? List.of() : usuarioRepository.findIdsAmbientes(usuario.getId_usuario());
+        Usuario salvo = usuarioRepository.save(usuario);
+        contadoresAmbiente.trocarVinculos(ContadoresAmbienteService.Contador.USUARIOS, ambientesAnteriores, idsAmbientes(salvo));
+        indiceBuscaService.indexarUsuario(salvo);
+        cacheEntidades.invalidarBuscasUsuario();
+        auditoriaService.registrar(Usuario.class,
+                novo ? EventoAuditoria.Operacao.CRIAR : EventoAuditoria.Operacao.ATUALIZAR, salvo.getId_usuario());
+        return salvo;
     }
 
     // READ - Buscar todos
@@ -24,11 +69,45 @@ public class UsuarioService {
         return usuarioRepository.findAll();
     }
 
+    // READ - Buscar página por cursor (keyset no ID)
+    public PaginaCursor<UsuarioResumo> buscarPagina(Integer cursor, Integer limite) {
+        int tamanho = PaginaCursor.normalizarLimite(limite);
+        List<UsuarioResumo> resultado = usuarioRepository.findResumosAposCursor(
+                PaginaCursor.normalizarCursor(cursor), PaginaCursor.consulta(tamanho));
+        return PaginaCursor.de(resultado, tamanho, UsuarioResumo::getIdUsuario);
+    }
+
     // READ - Buscar por ID
     public Optional<Usuario> buscarPorId(Integer id) {
         return usuarioRepository.findById(id);
     }
 
+    // READ - Usuário completo para a API (projeções, uma consulta por coleção - sem produto cartesiano)
+    @Transactional(readOnly = true)
+    public Optional<UsuarioCompleto> buscarCompleto(Integer id) {
+        return usuarioRepository.findResumoPorId(id)
+                .map(usuario -> new UsuarioCompleto(usuario.getIdUsuario(), usuario.getNome(), usuario.getEmail(),
+                        ambienteRepository.findResumosPorUsuario(id),
+                        relatorioRepository.findResumosPorUsuarioId(id)));
+    }
+
+    // READ - Buscar por nome (contém) - pelo índice de trigramas
+    public List<UsuarioResumo> buscarPorNomeContendo(String nome) {
+        return indiceBuscaService.usuariosPorNome(nome)
+                .orElseGet(() -> usuarioRepository.findResumosPorNomeContendo(nome));
+    }
+
+    // READ - Autocompletar por nome (árvore de prefixos; só ID e nome)
+    public List<Sugestao> sugerirPorNome(String prefixo, Integer limite) {
+        int tamanho = IndiceBuscaService.normalizarLimite(limite);
+        return indiceBuscaService.sugerirUsuarios(prefixo, tamanho)
+                .orElseGet(() -> usuarioRepository.findByNomeStartingWithIgnoreCase(prefixo).stream()
+                        .sorted(Comparator.comparing(Usuario::getNome, String.CASE_INSENSITIVE_ORDER))
+                        .limit(tamanho)
+                        .map(usuario -> new Sugestao(usuario.getId_usuario(), usuario.getNome()))
+                        .toList());
+    }
+
     // READ - Buscar por email
     public Optional<Usuario> buscarPorEmail(String email) {
         return usuarioRepository.findByEmail(email);
@@ -36,17 +115,48 @@ public class UsuarioService {
 
     // UPDATE - Atualizar usuário
     public Usuario atualizar(Usuario usuario) {
-        return usuarioRepository.save(usuario);
+        // Troca de email ou senha encerra as sessões já emitidas
+        boolean credenciaisAlteradas = usuarioRepository.findById(usuario.getId_usuario())
+                .map(atual -> !Objects.equals(atual.getEmail(), usuario.getEmail())
+                        || !Objects.equals(atual.getSenha(), usuario.getSenha()))
+                .orElse(false);
+        List<Integer> ambientesAnteriores = usuarioRepository.findIdsAmbientes(usuario.getId_usuario());
+        Usuario atualizado = usuarioRepository.save(usuario);
+        contadoresAmbiente.trocarVinculos(ContadoresAmbienteService.Contador.USUARIOS, ambientesAnteriores, idsAmbientes(atualizado));
+        if (credenciaisAlteradas) {
+            AposCommit.executar(() -> tokensSessao.revogarUsuario(atualizado.getId_usuario()));
+        }
+        indiceBuscaService.indexarUsuario(atualizado);
+        cacheEntidades.invalidarBuscasUsuario();
+        auditoriaService.registrar(Usuario.class, EventoAuditoria.Operacao.ATUALIZAR, atualizado.getId_usuario());
+        return atualizado;
     }
 
     // DELETE - Deletar por ID
     public void deletarPorId(Integer id) {
+        // Vínculos e relatórios saem junto com o usuário (cascata)
+        List<Integer> ambientes = usuarioRepository.findIdsAmbientes(id);
+        List<Object[]> relatoriosPorAmbiente = relatorioRepository.countPorAmbienteDoUsuario(id);
         usuarioRepository.deleteById(id);
+        contadoresAmbiente.trocarVinculos(ContadoresAmbienteService.Contador.USUARIOS, ambientes, List.of());
+        contadoresAmbiente.descontar(ContadoresAmbienteService.Contador.RELATORIOS, relatoriosPorAmbiente);
+        AposCommit.executar(() -> tokensSessao.revogarUsuario(id));
+        indiceBuscaService.removerUsuario(id);
+        cacheEntidades.invalidarBuscasUsuario();
+        auditoriaService.registrar(Usuario.class, EventoAuditoria.Operacao.REMOVER, id);
     }
 
     // DELETE - Deletar usuário
     public void deletar(Usuario usuario) {
+        List<Integer> ambientes = usuarioRepository.findIdsAmbientes(usuario.getId_usuario());
+        List<Object[]> relatoriosPorAmbiente = relatorioRepository.countPorAmbienteDoUsuario(usuario.getId_usuario());
         usuarioRepository.delete(usuario);
+        contadoresAmbiente.trocarVinculos(ContadoresAmbienteService.Contador.USUARIOS, ambientes, List.of());
+        contadoresAmbiente.descontar(ContadoresAmbienteService.Contador.RELATORIOS, relatoriosPorAmbiente);
+        AposCommit.executar(() -> tokensSessao.revogarUsuario(usuario.getId_usuario()));
+        indiceBuscaService.removerUsuario(usuario.getId_usuario());
+        cacheEntidades.invalidarBuscasUsuario();
+        auditoriaService.registrar(Usuario.class, EventoAuditoria.Operacao.REMOVER, usuario.getId_usuario());
     }
 
     // Verificar se existe
@@ -64,15 +174,25 @@ public class UsuarioService {
         return usuarioRepository.count();
     }
 
+    // IDs dos ambientes vinculados depois do save (coleção nula = sem vínculos)
+    private static List<Integer> idsAmbientes(Usuario usuario) {
+        return usuario.getAmbientes() == null ? List.of() : usuario.getAmbientes().stream()
+                .map(Ambiente::getIdAmbiente)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     // STRATEGY PATTERN - TIPO COMPORTAMENTAL
     // Define diferentes estratégias de busca de usuários baseadas em critérios específicos
     // Permite escolher o algoritmo de busca em tempo de execução sem alterar o código cliente
+    // As estratégias não têm estado e ficam em um registro imutável - a escolha é feita a cada
+    // chamada, então requisições concorrentes nunca usam a estratégia uma da outra
 
     /**
      * Interface Strategy para diferentes estratégias de busca de usuários
      */
     public interface UsuarioBuscaStrategy {
-        List<Usuario> buscar(String criterio);
+        List<UsuarioResumo> buscar(String criterio);
     }
 
     /**
@@ -80,8 +200,8 @@ public class UsuarioService {
      */
     private class BuscaPorNomeStrategy implements UsuarioBuscaStrategy {
         @Override
-        public List<Usuario> buscar(String nome) {
-            return usuarioRepository.findByNomeContainingIgnoreCase(nome);
+        public List<UsuarioResumo> buscar(String nome) {
+            return buscarPorNomeContendo(nome);
         }
     }
 
@@ -90,8 +210,8 @@ public class UsuarioService {
      */
     private class BuscaPorNomeExatoStrategy implements UsuarioBuscaStrategy {
         @Override
-        public List<Usuario> buscar(String nome) {
-            return usuarioRepository.findByNome(nome);
+        public List<UsuarioResumo> buscar(String nome) {
+            return usuarioRepository.findResumosPorNome(nome);
         }
     }
 
@@ -100,30 +220,61 @@ public class UsuarioService {
      */
     private class BuscaPorInicioNomeStrategy implements UsuarioBuscaStrategy {
         @Override
-        public List<Usuario> buscar(String nome) {
-            return usuarioRepository.findByNomeStartingWithIgnoreCase(nome);
+        public List<UsuarioResumo> buscar(String nome) {
+            return usuarioRepository.findResumosPorNomeIniciandoCom(nome);
+        }
+    }
+
+    /**
+     * Decorator de Strategy: guarda o resultado de cada critério no cache de leitura
+     * (um cache por estratégia, limpo a cada gravação de usuário)
+     */
+    private class BuscaComCacheStrategy implements UsuarioBuscaStrategy {
+        private final String nome;
+        private final UsuarioBuscaStrategy estrategia;
+
+        BuscaComCacheStrategy(TipoBusca tipo, UsuarioBuscaStrategy estrategia) {
+            this.nome = tipo.name();
+            this.estrategia = estrategia;
+        }
+
+        @Override
+        public List<UsuarioResumo> buscar(String criterio) {
+            return cacheEntidades.buscaUsuarios(nome, criterio, estrategia::buscar);
         }
     }
 
-    // Context - usa as strategies
-    private UsuarioBuscaStrategy buscaStrategy;
+    // Enum para facilitar a escolha da estratégia
+    public enum TipoBusca {
+        NOME_CONTEM,
+        NOME_EXATO,
+        NOME_INICIA_COM
+    }
+
+    // Context - registro imutável das strategies, montado uma única vez
+    private final Map<TipoBusca, UsuarioBuscaStrategy> strategies = criarStrategies();
+
+    private Map<TipoBusca, UsuarioBuscaStrategy> criarStrategies() {
+        Map<TipoBusca, UsuarioBuscaStrategy> registro = new EnumMap<>(TipoBusca.class);
+        registro.put(TipoBusca.NOME_CONTEM, new BuscaComCacheStrategy(TipoBusca.NOME_CONTEM, new BuscaPorNomeStrategy()));
+        registro.put(TipoBusca.NOME_EXATO, new BuscaComCacheStrategy(TipoBusca.NOME_EXATO, new BuscaPorNomeExatoStrategy()));
+        registro.put(TipoBusca.NOME_INICIA_COM,
+                new BuscaComCacheStrategy(TipoBusca.NOME_INICIA_COM, new BuscaPorInicioNomeStrategy()));
+        return Collections.unmodifiableMap(registro);
+    }
 
     /**
-     * Define a estratégia de busca a ser utilizada
+     * Executa a busca com a estratégia padrão (nome contém)
      */
-    public void setBuscaStrategy(UsuarioBuscaStrategy strategy) {
-        this.buscaStrategy = strategy;
+    public List<UsuarioResumo> buscarComStrategy(String criterio) {
+        return buscarPorTipo(criterio, TipoBusca.NOME_CONTEM);
     }
 
     /**
-     * Executa a busca usando a estratégia definida
+     * Executa a busca com uma estratégia informada pelo chamador (sem cache)
      */
-    public List<Usuario> buscarComStrategy(String criterio) {
-        if (buscaStrategy == null) {
-            // Strategy padrão se nenhuma for definida
-            buscaStrategy = new BuscaPorNomeStrategy();
-        }
-        return buscaStrategy.buscar(criterio);
+    public List<UsuarioResumo> buscarComStrategy(String criterio, UsuarioBuscaStrategy strategy) {
+        return strategy.buscar(criterio);
     }
 
     // Métodos de conveniência para usar as strategies diretamente
@@ -132,46 +283,28 @@ public class UsuarioService {
     /**
      * Busca usuários por nome (contém) usando Strategy Pattern
      */
-    public List<Usuario> buscarPorNomeComStrategy(String nome) {
-        setBuscaStrategy(new BuscaPorNomeStrategy());
-        return buscarComStrategy(nome);
+    public List<UsuarioResumo> buscarPorNomeComStrategy(String nome) {
+        return buscarPorTipo(nome, TipoBusca.NOME_CONTEM);
     }
 
     /**
      * Busca usuários por nome exato usando Strategy Pattern
      */
-    public List<Usuario> buscarPorNomeExatoComStrategy(String nome) {
-        setBuscaStrategy(new BuscaPorNomeExatoStrategy());
-        return buscarComStrategy(nome);
+    public List<UsuarioResumo> buscarPorNomeExatoComStrategy(String nome) {
+        return buscarPorTipo(nome, TipoBusca.NOME_EXATO);
     }
 
     /**
      * Busca usuários por início do nome usando Strategy Pattern
      */
-    public List<Usuario> buscarPorInicioNomeComStrategy(String nome) {
-        setBuscaStrategy(new BuscaPorInicioNomeStrategy());
-        return buscarComStrategy(nome);
-    }
-
-    // Enum para facilitar a escolha da estratégia
-    public enum TipoBusca {
-        NOME_CONTEM,
-        NOME_EXATO,
-        NOME_INICIA_COM
+    public List<UsuarioResumo> buscarPorInicioNomeComStrategy(String nome) {
+        return buscarPorTipo(nome, TipoBusca.NOME_INICIA_COM);
     }
 
     /**
-     * Método utilitário que aceita enum para escolher a estratégia
+     * Método utilitário que aceita enum para escolher a estratégia (padrão: nome contém)
      */
-    public List<Usuario> buscarPorTipo(String criterio, TipoBusca tipoBusca) {
-        switch (tipoBusca) {
-            case NOME_EXATO:
-                return buscarPorNomeExatoComStrategy(criterio);
-            case NOME_INICIA_COM:
-                return buscarPorInicioNomeComStrategy(criterio);
-            case NOME_CONTEM:
-            default:
-                return buscarPorNomeComStrategy(criterio);
-        }
+    public List<UsuarioResumo> buscarPorTipo(String criterio, TipoBusca tipoBusca) {
+        return strategies.get(tipoBusca != null ? tipoBusca : TipoBusca.NOME_CONTEM).buscar(criterio);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package com.ecosmart.eco.telemetria;
+
+import com.ecosmart.eco.model.LeituraObjeto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffer circular com as leituras mais recentes de um objeto
+ * Capacidade fixa - ao encher, a leitura mais antiga é sobrescrita
+ * Guarda leituras contíguas: tudo que é mais novo que a mais antiga do buffer está nele
+ */
+public class BufferLeituras {
+
+    private final LeituraObjeto[] leituras;
+    private int inicio;
+    private int tamanho;
+
+    public BufferLeituras(int capacidade) {
+        this.leituras = new LeituraObjeto[capacidade];
+    }
+
+    /**
+     * Adiciona mantendo a ordem cronológica
+     * Leituras fora de ordem são inseridas na posição certa; se forem mais antigas
+     * que todo o buffer cheio, são ignoradas (ficam apenas no banco). Uma leitura com a
+     * mesma sequência de outra já presente (lida do log e do banco) também é ignorada
+     */
+    public synchronized void adicionar(LeituraObjeto leitura) {
+        int posicao = tamanho;
+        while (posicao > 0 && leituras[(inicio + posicao - 1) % leituras.length].getInstante()
+                .isAfter(leitura.getInstante())) {
+            posicao--;
+        }
+        if (leitura.getSequencia() != null) {
+            // A repetida tem o mesmo instante - fica logo antes da posição encontrada
+            for (int i = posicao - 1; i >= 0; i--) {
+                LeituraObjeto existente = leituras[(inicio + i) % leituras.length];
+                if (!existente.getInstante().equals(leitura.getInstante())) {
+                    break;
+                }
+                if (leitura.getSequencia().equals(existente.getSequencia())) {
+                    return;
+                }
+            }
+        }
+        if (tamanho == leituras.length) {
+            if (posicao == 0) {
+                return;
+            }
+            // Descarta a mais antiga para abrir espaço
+            inicio = (inicio + 1) % leituras.length;
+            tamanho--;
+            posicao--;
+        }
+        for (int i = tamanho; i > posicao; i--) {
+            leituras[(inicio + i) % leituras.length] = leituras[(inicio + i - 1) % leituras.length];
+        }
+        leituras[(inicio + posicao) % leituras.length] = leitura;
+        tamanho++;
+    }
+
+    public synchronized LeituraObjeto ultima() {
+        return tamanho == 0 ? null : leituras[(inicio + tamanho - 1) % leituras.length];
+    }
+
+    /**
+     * Verdadeiro se o buffer tem todas as leituras a partir do instante informado
+     */
+    public synchronized boolean cobre(Instant instante) {
+        return tamanho > 0 && !leituras[inicio].getInstante().isAfter(instante);
+    }
+
+    /**
+     * Leituras com instante no período [de, ate], em ordem cronológica
+     */
+    public synchronized List<LeituraObjeto> periodo(Instant de, Instant ate) {
+        List<LeituraObjeto> resultado = new ArrayList<>();
+        for (int i = 0; i < tamanho; i++) {
+            LeituraObjeto leitura = leituras[(inicio + i) % leituras.length];
+            if (!leitura.getInstante().isBefore(de) && !leitura.getInstante().isAfter(ate)) {
+                resultado.add(leitura);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Até 'limite' leituras mais recentes, da mais nova para a mais antiga
+     */
+    public synchronized List<LeituraObjeto> recentes(int limite) {
+        int quantidade = Math.min(limite, tamanho);
+        List<LeituraObjeto> resultado = new ArrayList<>(quantidade);
+        for (int i = tamanho - 1; i >= tamanho - quantidade; i--) {
+            resultado.add(leituras[(inicio + i) % leituras.length]);
+        }
+        return resultado;
+    }
+
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    public int capacidade() {
+        return leituras.length;
+    }
+}
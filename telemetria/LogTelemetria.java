@@ -0,0 +1,509 @@
+package com.ecosmart.eco.telemetria;
+
+import com.ecosmart.eco.model.LeituraObjeto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Log de escrita antecipada (write-ahead log) das leituras de telemetria
+ *
+ * Arquivos de segmento de tamanho fixo mapeados em memória (mmap), somente de anexação.
+ * Cada registro recebe um número de sequência (LSN) crescente e tem o formato:
+ *   [int tamanho][int crc32c][payload]
+ * O tamanho é gravado por último, então um registro incompleto aparece como tamanho 0
+ * ou com CRC inválido e é descartado na recuperação.
+ *
+ * A durabilidade é feita em grupo: uma thread externa chama {@link #forcar()} periodicamente
+ * e todos os registros anexados desde a última chamada vão para o disco com um único fsync.
+ * Quem precisa de confirmação aguarda com {@link #aguardarDurabilidade(long, long)}.
+ */
+public class LogTelemetria implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(LogTelemetria.class.getName());
+
+    private static final String PREFIXO = "segmento-";
+    private static final String SUFIXO = ".log";
+    private static final int CABECALHO = 8;
+
+    // lsn + idObjeto + segundos + nanos + potencia + tempoUso + deltaUso + tamanho do status
+    private static final int PAYLOAD_FIXO = 8 + 4 + 8 + 4 + 4 + 8 + 8 + 2;
+
+    private static final int POTENCIA_NULA = Integer.MIN_VALUE;
+
+    /**
+     * Posição no log: segmento (LSN base do arquivo) e deslocamento dentro dele
+     */
+    public record Posicao(long segmento, int offset) {
+    }
+
+    /**
+     * Registro lido do log
+     */
+    public record Registro(long lsn, LeituraObjeto leitura) {
+    }
+
+    /**
+     * Resultado de uma leitura sequencial: registros e a posição para continuar
+     */
+    public record Lote(List<Registro> registros, Posicao proxima) {
+    }
+
+    private static final class Segmento {
+        final long base;
+        final Path arquivo;
+        final FileChannel canal;
+        final MappedByteBuffer buffer;
+        int posicaoEscrita;
+        volatile int posicaoForcada;
+
+        Segmento(long base, Path arquivo, FileChannel canal, MappedByteBuffer buffer) {
+            this.base = base;
+            this.arquivo = arquivo;
+            this.canal = canal;
+            this.buffer = buffer;
+        }
+    }
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+
+    // Protege o segmento ativo, o mapa de segmentos e o próximo LSN
+    private final ReentrantLock lockEscrita = new ReentrantLock();
+    private final TreeMap<Long, Segmento> segmentos = new TreeMap<>();
+    private Segmento ativo;
+    private long proximoLsn;
+    private long ultimoLsnEscrito;
+
+    // Durabilidade publicada pela thread de fsync
+    private final ReentrantLock lockDurabilidade = new ReentrantLock();
+    private final Condition duravel = lockDurabilidade.newCondition();
+    private volatile long lsnDuravel;
+    private volatile Posicao limiteDuravel;
+
+    public LogTelemetria(Path diretorio, int tamanhoSegmento) {
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+    }
+
+    // ============================================================
+    // ABERTURA E RECUPERAÇÃO
+    // ============================================================
+
+    /**
+     * Abre o log, validando os segmentos existentes (recuperação após falha)
+     * @param lsnMinimo menor LSN aceitável para novos registros (ex.: último persistido no banco + 1)
+     */
+    public void abrir(long lsnMinimo) throws IOException {
+        Files.createDirectories(diretorio);
+
+        List<Path> arquivos = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(diretorio, PREFIXO + "*" + SUFIXO)) {
+            stream.forEach(arquivos::add);
+        }
+        arquivos.sort(null);
+
+        long ultimoLsnValido = 0;
+        boolean truncado = false;
+        for (Path arquivo : arquivos) {
+            if (truncado) {
+                // Segmentos depois de um ponto corrompido não são confiáveis
+                logger.warning("Descartando segmento posterior a registro inválido: " + arquivo);
+                Files.delete(arquivo);
+                continue;
+            }
+            Segmento segmento = mapear(arquivo, baseDoArquivo(arquivo));
+            segmentos.put(segmento.base, segmento);
+
+            // A base do arquivo é o LSN do seu primeiro registro; dentro do segmento os LSNs são contíguos
+            int offset = 0;
+            long esperado = segmento.base;
+            if (segmento.base <= ultimoLsnValido) {
+                truncado = true;
+            }
+            while (!truncado) {
+                Registro registro = lerRegistro(segmento.buffer, offset, tamanhoSegmento);
+                if (registro == null) {
+                    break;
+                }
+                if (registro.lsn() != esperado) {
+                    truncado = true;
+                    break;
+                }
+                ultimoLsnValido = registro.lsn();
+                esperado++;
+                offset += CABECALHO + tamanhoPayload(segmento.buffer, offset);
+            }
+            if (offset + CABECALHO <= tamanhoSegmento && segmento.buffer.getInt(offset) != 0) {
+                // Registro incompleto ou corrompido - o log termina aqui
+                truncado = true;
+            }
+            if (truncado) {
+                zerar(segmento.buffer, offset);
+                logger.warning("Log de telemetria truncado em " + arquivo + " offset " + offset);
+            }
+            segmento.posicaoEscrita = offset;
+            segmento.posicaoForcada = offset;
+        }
+
+        proximoLsn = Math.max(ultimoLsnValido + 1, lsnMinimo);
+        ultimoLsnEscrito = proximoLsn - 1;
+        ativo = segmentos.isEmpty() ? null : segmentos.lastEntry().getValue();
+        if (ativo != null && ativo.posicaoEscrita == 0 && ativo.base != proximoLsn) {
+            // Segmento vazio com base que não corresponde ao próximo LSN
+            descartar(ativo);
+            ativo = null;
+        }
+        if (ativo == null || ultimoLsnValido + 1 != proximoLsn && ativo.posicaoEscrita > 0) {
+            // Sem segmento ou com salto de LSN - começa um novo segmento com base no próximo LSN
+            ativo = criarSegmento(proximoLsn);
+        }
+        lsnDuravel = ultimoLsnEscrito;
+        limiteDuravel = new Posicao(ativo.base, ativo.posicaoEscrita);
+    }
+
+    /**
+     * Posição do primeiro registro disponível no log
+     */
+    public Posicao inicio() {
+        lockEscrita.lock();
+        try {
+            return new Posicao(segmentos.firstKey(), 0);
+        } finally {
+            lockEscrita.unlock();
+        }
+    }
+
+    // ============================================================
+    // ESCRITA
+    // ============================================================
+
+    /**
+     * Anexa uma leitura ao log (apenas cópia para a memória mapeada - sem fsync)
+     * @return LSN atribuído ao registro
+     */
+    public long anexar(LeituraObjeto leitura) {
+        byte[] status = leitura.getStatus() != null ? leitura.getStatus().getBytes(StandardCharsets.UTF_8) : null;
+        int tamanhoPayload = PAYLOAD_FIXO + (status != null ? status.length : 0);
+        if (CABECALHO + tamanhoPayload > tamanhoSegmento) {
+            throw new IllegalArgumentException("Registro maior que o segmento do log");
+        }
+
+        lockEscrita.lock();
+        try {
+            long lsn = proximoLsn;
+            if (tamanhoSegmento - ativo.posicaoEscrita < CABECALHO + tamanhoPayload) {
+                rolar(lsn);
+            }
+
+            int offset = ativo.posicaoEscrita;
+            ByteBuffer payload = ativo.buffer.slice(offset + CABECALHO, tamanhoPayload);
+            Instant instante = leitura.getInstante();
+            payload.putLong(lsn)
+                    .putInt(leitura.getIdObjeto())
+                    .putLong(instante.getEpochSecond())
+                    .putInt(instante.getNano())
+                    .putInt(leitura.getPotencia() != null ? leitura.getPotencia() : POTENCIA_NULA)
+                    .putDouble(leitura.getTempoUso() != null ? leitura.getTempoUso() : Double.NaN)
+                    .putDouble(leitura.getDeltaUso() != null ? leitura.getDeltaUso() : Double.NaN)
+                    .putShort((short) (status != null ? status.length : -1));
+            if (status != null) {
+                payload.put(status);
+            }
+            payload.rewind();
+
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            ativo.buffer.putInt(offset + 4, (int) crc.getValue());
+            // Tamanho por último: até aqui o registro é invisível para a recuperação
+            ativo.buffer.putInt(offset, tamanhoPayload);
+
+            ativo.posicaoEscrita = offset + CABECALHO + tamanhoPayload;
+            proximoLsn = lsn + 1;
+            ultimoLsnEscrito = lsn;
+            return lsn;
+        } finally {
+            lockEscrita.unlock();
+        }
+    }
+
+    /**
+     * Fsync em grupo: grava no disco tudo que foi anexado desde a última chamada
+     * e acorda quem aguarda durabilidade. Chamado periodicamente por uma única thread.
+     */
+    public void forcar() {
+        Segmento segmento;
+        int ate;
+        long lsn;
+        lockEscrita.lock();
+        try {
+            segmento = ativo;
+            ate = segmento.posicaoEscrita;
+            lsn = ultimoLsnEscrito;
+        } finally {
+            lockEscrita.unlock();
+        }
+        if (lsn <= lsnDuravel) {
+            return;
+        }
+
+        int de = segmento.posicaoForcada;
+        if (ate > de) {
+            segmento.buffer.force(de, ate - de);
+            segmento.posicaoForcada = ate;
+        }
+        publicarDurabilidade(lsn, new Posicao(segmento.base, ate));
+    }
+
+    /**
+     * Aguarda até o registro estar no disco
+     * @return false se o tempo limite expirar antes
+     */
+    public boolean aguardarDurabilidade(long lsn, long timeoutMs) throws InterruptedException {
+        if (lsnDuravel >= lsn) {
+            return true;
+        }
+        long restante = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        lockDurabilidade.lock();
+        try {
+            while (lsnDuravel < lsn) {
+                if (restante <= 0) {
+                    return false;
+                }
+                restante = duravel.awaitNanos(restante);
+            }
+            return true;
+        } finally {
+            lockDurabilidade.unlock();
+        }
+    }
+
+    public long getLsnDuravel() {
+        return lsnDuravel;
+    }
+
+    // ============================================================
+    // LEITURA (REPLAY)
+    // ============================================================
+
+    /**
+     * Lê sequencialmente a partir da posição informada, apenas registros já duráveis
+     */
+    public Lote ler(Posicao de, int maximo) {
+        Posicao limite = limiteDuravel;
+        List<Registro> registros = new ArrayList<>();
+        Posicao atual = de;
+
+        while (registros.size() < maximo && !atual.equals(limite)) {
+            Segmento segmento = segmentoEmOuApos(atual);
+            if (segmento == null) {
+                break;
+            }
+            if (segmento.base != atual.segmento()) {
+                atual = new Posicao(segmento.base, 0);
+                continue;
+            }
+
+            boolean segmentoDoLimite = segmento.base == limite.segmento();
+            int fim = segmentoDoLimite ? limite.offset() : tamanhoSegmento;
+            Registro registro = atual.offset() < fim ? lerRegistro(segmento.buffer, atual.offset(), fim) : null;
+            if (registro == null) {
+                if (segmentoDoLimite) {
+                    break;
+                }
+                Segmento proximo = proximoSegmento(segmento.base);
+                if (proximo == null) {
+                    break;
+                }
+                atual = new Posicao(proximo.base, 0);
+                continue;
+            }
+
+            registros.add(registro);
+            atual = new Posicao(segmento.base,
+                    atual.offset() + CABECALHO + tamanhoPayload(segmento.buffer, atual.offset()));
+        }
+        return new Lote(registros, atual);
+    }
+
+    /**
+     * Remove os segmentos cujos registros já foram todos persistidos (LSN <= lsnPersistido)
+     * O segmento ativo nunca é removido
+     */
+    public void descartarAte(long lsnPersistido) {
+        lockEscrita.lock();
+        try {
+            while (segmentos.size() > 1) {
+                Map.Entry<Long, Segmento> primeiro = segmentos.firstEntry();
+                Long baseSeguinte = segmentos.higherKey(primeiro.getKey());
+                if (baseSeguinte == null || baseSeguinte > lsnPersistido + 1) {
+                    break;
+                }
+                segmentos.remove(primeiro.getKey());
+                descartar(primeiro.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lockEscrita.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        forcar();
+        lockEscrita.lock();
+        try {
+            for (Segmento segmento : segmentos.values()) {
+                segmento.canal.close();
+            }
+            segmentos.clear();
+        } finally {
+            lockEscrita.unlock();
+        }
+    }
+
+    // ============================================================
+    // AUXILIARES
+    // ============================================================
+
+    private void rolar(long baseNovo) {
+        // O segmento que sai vai inteiro para o disco antes do próximo começar
+        ativo.buffer.force(ativo.posicaoForcada, ativo.posicaoEscrita - ativo.posicaoForcada);
+        ativo.posicaoForcada = ativo.posicaoEscrita;
+        try {
+            ativo = criarSegmento(baseNovo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Segmento criarSegmento(long base) throws IOException {
+        Path arquivo = diretorio.resolve(String.format("%s%020d%s", PREFIXO, base, SUFIXO));
+        Segmento segmento = mapear(arquivo, base);
+        segmentos.put(base, segmento);
+        return segmento;
+    }
+
+    private Segmento mapear(Path arquivo, long base) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoSegmento);
+        return new Segmento(base, arquivo, canal, buffer);
+    }
+
+    private void descartar(Segmento segmento) throws IOException {
+        segmentos.remove(segmento.base);
+        segmento.canal.close();
+        Files.deleteIfExists(segmento.arquivo);
+    }
+
+    private Segmento segmentoEmOuApos(Posicao posicao) {
+        lockEscrita.lock();
+        try {
+            Map.Entry<Long, Segmento> entrada = segmentos.ceilingEntry(posicao.segmento());
+            return entrada != null ? entrada.getValue() : null;
+        } finally {
+            lockEscrita.unlock();
+        }
+    }
+
+    private Segmento proximoSegmento(long base) {
+        lockEscrita.lock();
+        try {
+            Map.Entry<Long, Segmento> entrada = segmentos.higherEntry(base);
+            return entrada != null ? entrada.getValue() : null;
+        } finally {
+            lockEscrita.unlock();
+        }
+    }
+
+    private void publicarDurabilidade(long lsn, Posicao posicao) {
+        lockDurabilidade.lock();
+        try {
+            if (lsn > lsnDuravel) {
+                limiteDuravel = posicao;
+                lsnDuravel = lsn;
+                duravel.signalAll();
+            }
+        } finally {
+            lockDurabilidade.unlock();
+        }
+    }
+
+    private static int tamanhoPayload(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset);
+    }
+
+    /**
+     * Lê e valida o registro no offset; null se não houver registro íntegro até 'fim'
+     */
+    private static Registro lerRegistro(ByteBuffer buffer, int offset, int fim) {
+        if (offset + CABECALHO > fim) {
+            return null;
+        }
+        int tamanho = buffer.getInt(offset);
+        if (tamanho < PAYLOAD_FIXO || offset + CABECALHO + tamanho > fim) {
+            return null;
+        }
+
+        ByteBuffer payload = buffer.slice(offset + CABECALHO, tamanho);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+            return null;
+        }
+
+        long lsn = payload.getLong();
+        LeituraObjeto leitura = new LeituraObjeto();
+        leitura.setIdObjeto(payload.getInt());
+        long segundos = payload.getLong();
+        leitura.setInstante(Instant.ofEpochSecond(segundos, payload.getInt()));
+        int potencia = payload.getInt();
+        leitura.setPotencia(potencia != POTENCIA_NULA ? potencia : null);
+        double tempoUso = payload.getDouble();
+        leitura.setTempoUso(Double.isNaN(tempoUso) ? null : tempoUso);
+        double deltaUso = payload.getDouble();
+        leitura.setDeltaUso(Double.isNaN(deltaUso) ? null : deltaUso);
+        short tamanhoStatus = payload.getShort();
+        if (tamanhoStatus >= 0) {
+            byte[] status = new byte[tamanhoStatus];
+            payload.get(status);
+            leitura.setStatus(new String(status, StandardCharsets.UTF_8));
+        }
+        leitura.setSequencia(lsn);
+        return new Registro(lsn, leitura);
+    }
+
+    private void zerar(MappedByteBuffer buffer, int offset) {
+        byte[] zeros = new byte[8192];
+        for (int posicao = offset; posicao < tamanhoSegmento; posicao += zeros.length) {
+            buffer.put(posicao, zeros, 0, Math.min(zeros.length, tamanhoSegmento - posicao));
+        }
+        buffer.force();
+    }
+
+    private static long baseDoArquivo(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+}